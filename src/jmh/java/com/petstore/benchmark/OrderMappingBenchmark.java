@@ -0,0 +1,125 @@
+package com.petstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.petstore.client.BaseApiClient;
+import com.petstore.client.ObjectMapperProvider;
+import com.petstore.client.StreamingResponseDecoder;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import com.petstore.inventory.InventorySnapshot;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson mapping of {@link Order} and the inventory in isolation: the shared ObjectMapper the
+ * clients use, its pre-computed readers/writer, and the streaming decoder. The cold benchmark
+ * prices a freshly created mapper's first call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ObjectReader orderReader;
+  private ObjectWriter orderWriter;
+  private ObjectReader inventoryReader;
+  private Order order;
+  private byte[] orderJson;
+  private byte[] inventoryJson;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    ObjectMapperProvider mappers = ObjectMapperProvider.getInstance();
+    objectMapper = mappers.getObjectMapper();
+    orderReader = mappers.getOrderReader();
+    orderWriter = mappers.getOrderWriter();
+    inventoryReader = mappers.getInventoryReader();
+    order =
+        Order.builder()
+            .id(12345L)
+            .petId(1L)
+            .quantity(2)
+            .shipDate(OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+            .status(OrderStatus.PLACED)
+            .complete(true)
+            .build();
+    orderJson = objectMapper.writeValueAsBytes(order);
+    inventoryJson =
+        ("{\"available\":250,\"pending\":20,\"sold\":80,"
+                + "\"placed\":12,\"approved\":3,\"delivered\":7}")
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] serializeToBytes() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public String serializeToString() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(order);
+  }
+
+  @Benchmark
+  public Order deserializeFromBytes() throws IOException {
+    return objectMapper.readValue(orderJson, Order.class);
+  }
+
+  @Benchmark
+  public byte[] serializeWithWriter() throws JsonProcessingException {
+    return orderWriter.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public Order deserializeWithReader() throws IOException {
+    return orderReader.readValue(orderJson);
+  }
+
+  @Benchmark
+  public Order deserializeStreaming() throws IOException {
+    return StreamingResponseDecoder.decodeOrder(new ByteArrayInputStream(orderJson));
+  }
+
+  @Benchmark
+  public Map<String, Integer> inventoryWithReader() throws IOException {
+    return inventoryReader.readValue(inventoryJson);
+  }
+
+  @Benchmark
+  public InventorySnapshot inventoryStreaming() throws IOException {
+    return StreamingResponseDecoder.decodeInventory(new ByteArrayInputStream(inventoryJson));
+  }
+
+  /** New mapper plus its first round trip, as every client construction used to pay */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 20)
+  public Order coldMapperRoundTrip() throws IOException {
+    ObjectMapper coldMapper = BaseApiClient.createObjectMapper();
+    return coldMapper.readValue(coldMapper.writeValueAsBytes(order), Order.class);
+  }
+}
@@ -0,0 +1,126 @@
+package com.petstore.benchmark;
+
+import com.petstore.client.StoreApiClient;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import com.petstore.stub.StubStoreServer;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-call cost of each {@link StoreApiClient} operation against the in-process stub server, so
+ * the numbers reflect the framework (spec assembly, Jackson mapping, filters, pooling) rather than
+ * the network. Run with the gc profiler to see allocation per operation. Orders placed during an
+ * iteration are dropped from the stub after it, so its order map does not grow across the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-DENV=local")
+public class StoreApiClientBenchmark {
+
+  /**
+   * "allure" installs the AllureRestAssured filter that BaseTest uses for every test run. Outside a
+   * running test Allure drops the attachments, so this measures request/response capture only.
+   */
+  @Param({"none", "allure"})
+  public String filter;
+
+  /**
+   * "true" sends the typed calls ({@link #placeOrderAsObject()}, {@link #getOrderByIdAsObject()},
+   * {@link #getInventoryAsMap()}) as prepared requests; the others are unaffected.
+   */
+  @Param({"false", "true"})
+  public boolean prepared;
+
+  private StubStoreServer stub;
+  private StoreApiClient client;
+  private Order order;
+  private Long existingOrderId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    stub = StubStoreServer.startSharedIfEnabled();
+    if (stub == null) {
+      throw new IllegalStateException("Benchmarks need the local stub: run with -DENV=local");
+    }
+    RestAssured.replaceFiltersWith(
+        "allure".equals(filter) ? List.of(new AllureRestAssured()) : List.of());
+    client = new StoreApiClient(false, prepared);
+    order =
+        Order.builder()
+            .petId(1L)
+            .quantity(2)
+            .shipDate(OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+            .status(OrderStatus.PLACED)
+            .complete(false)
+            .build();
+  }
+
+  @Setup(Level.Iteration)
+  public void placeExistingOrder() {
+    existingOrderId = client.placeOrderAsObject(order).getId();
+  }
+
+  /** Forget every order placed by the iteration, outside the measured time */
+  @TearDown(Level.Iteration)
+  public void resetStub() {
+    stub.reset();
+  }
+
+  @Benchmark
+  public Response getInventory() {
+    return client.getInventory();
+  }
+
+  @Benchmark
+  public Response placeOrder() {
+    return client.placeOrder(order);
+  }
+
+  @Benchmark
+  public Response getOrderById() {
+    return client.getOrderById(existingOrderId);
+  }
+
+  /** Deletes an unknown id, so every call takes the same 404 path without consuming orders */
+  @Benchmark
+  public Response deleteOrder() {
+    return client.deleteOrder(Long.MAX_VALUE);
+  }
+
+  @Benchmark
+  public Order placeOrderAsObject() {
+    return client.placeOrderAsObject(order);
+  }
+
+  @Benchmark
+  public Order getOrderByIdAsObject() {
+    return client.getOrderByIdAsObject(existingOrderId);
+  }
+
+  @Benchmark
+  public Object getInventoryAsMap() {
+    return client.getInventoryAsMap();
+  }
+}
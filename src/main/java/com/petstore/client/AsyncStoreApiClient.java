@@ -0,0 +1,145 @@
+package com.petstore.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.petstore.config.ConfigurationManager;
+import com.petstore.dto.ErrorResponse;
+import com.petstore.dto.Order;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non-blocking Store API Client built on the JDK {@link HttpClient}. Offers the same operations as
+ * {@link StoreApiClient} but returns futures, so a single JVM can keep thousands of requests in
+ * flight without dedicating a thread to each. Non-2xx responses complete the future exceptionally
+ * with a {@link StoreApiException}
+ */
+public class AsyncStoreApiClient {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncStoreApiClient.class);
+  private static final String JSON = "application/json";
+
+  private final HttpClient httpClient;
+  private final ObjectMapperProvider mappers = ObjectMapperProvider.getInstance();
+  private final String baseUrl;
+  private final ConfigurationManager config = ConfigurationManager.getInstance();
+
+  public AsyncStoreApiClient() {
+    this(
+        HttpClient.newBuilder()
+            .connectTimeout(
+                Duration.ofMillis(ConfigurationManager.getInstance().getConnectionTimeoutMs()))
+            .build());
+  }
+
+  public AsyncStoreApiClient(HttpClient httpClient) {
+    this.httpClient = httpClient;
+    this.baseUrl = config.getBaseUrl();
+  }
+
+  /** GET /store/inventory Returns pet inventories by status */
+  public CompletableFuture<Map<String, Integer>> getInventory() {
+    HttpRequest request = newRequest(StoreEndpoint.INVENTORY, null).GET().build();
+    return send(StoreEndpoint.INVENTORY, request)
+        .thenApply(body -> readValue(body, mappers.getInventoryReader(), "inventory"));
+  }
+
+  /** POST /store/order Place an order for a pet */
+  public CompletableFuture<Order> placeOrder(Order order) {
+    byte[] payload;
+    try {
+      payload = mappers.getOrderWriter().writeValueAsBytes(order);
+    } catch (JsonProcessingException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    HttpRequest request =
+        newRequest(StoreEndpoint.PLACE_ORDER, null)
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+            .build();
+    return send(StoreEndpoint.PLACE_ORDER, request).thenApply(this::readOrder);
+  }
+
+  /** GET /store/order/{orderId} Find purchase order by ID */
+  public CompletableFuture<Order> getOrderById(Long orderId) {
+    HttpRequest request = newRequest(StoreEndpoint.GET_ORDER, orderId).GET().build();
+    return send(StoreEndpoint.GET_ORDER, request).thenApply(this::readOrder);
+  }
+
+  /** DELETE /store/order/{orderId} Delete purchase order by ID */
+  public CompletableFuture<Void> deleteOrder(Long orderId) {
+    return deleteOrder(orderId, requestTimeout(StoreEndpoint.DELETE_ORDER));
+  }
+
+  /**
+   * @param timeout request timeout replacing request.timeout.delete-order; when it elapses the
+   *     HttpClient aborts the exchange and fails the future with an HttpTimeoutException
+   */
+  public CompletableFuture<Void> deleteOrder(Long orderId, Duration timeout) {
+    HttpRequest request =
+        newRequest(StoreEndpoint.DELETE_ORDER, orderId).timeout(timeout).DELETE().build();
+    return send(StoreEndpoint.DELETE_ORDER, request).thenApply(body -> null);
+  }
+
+  private HttpRequest.Builder newRequest(StoreEndpoint endpoint, Long orderId) {
+    String path = endpoint.getPath();
+    if (orderId != null) {
+      path = path.replace("{orderId}", orderId.toString());
+    }
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(requestTimeout(endpoint))
+        .header("Accept", JSON);
+  }
+
+  /** Read per request, so request.timeout.* follows a configuration reload */
+  private Duration requestTimeout(StoreEndpoint endpoint) {
+    return Duration.ofMillis(config.getRequestTimeoutMs(endpoint.getConfigKey()));
+  }
+
+  private CompletableFuture<byte[]> send(StoreEndpoint endpoint, HttpRequest request) {
+    return httpClient
+        .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+        .thenApply(
+            response -> {
+              int status = response.statusCode();
+              log.debug("{} {} -> {}", request.method(), request.uri(), status);
+              if (status < 200 || status >= 300) {
+                throw new StoreApiException(endpoint, status, readError(response.body()));
+              }
+              return response.body();
+            });
+  }
+
+  private Order readOrder(byte[] body) {
+    return readValue(body, mappers.getOrderReader(), "Order");
+  }
+
+  private static <T> T readValue(byte[] body, ObjectReader reader, String description) {
+    try {
+      return reader.readValue(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to parse " + description, e);
+    }
+  }
+
+  private ErrorResponse readError(byte[] body) {
+    if (body == null || body.length == 0) {
+      return null;
+    }
+    try {
+      return mappers.getErrorResponseReader().readValue(body);
+    } catch (IOException e) {
+      log.debug("Error body is not an ErrorResponse: {}", e.getMessage());
+      return null;
+    }
+  }
+}
@@ -4,17 +4,24 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.petstore.config.ConfigSnapshot;
 import com.petstore.config.ConfigurationManager;
-import io.restassured.RestAssured;
+import com.petstore.metrics.MetricsFilter;
+import com.petstore.util.RetryPolicy;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.LogConfig;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.Getter;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.params.CoreConnectionPNames;
 
 /**
  * Base API Client using Template Method pattern Provides common configuration for all API clients
@@ -23,40 +30,129 @@ public abstract class BaseApiClient {
   protected ConfigurationManager config;
 
   /** -- GETTER -- Get request specification */
-  @Getter protected RequestSpecification requestSpec;
+  @Getter protected volatile RequestSpecification requestSpec;
 
   /** -- GETTER -- Get response specification */
-  @Getter protected ResponseSpecification responseSpec;
+  @Getter protected volatile ResponseSpecification responseSpec;
+
+  /** -- GETTER -- REST Assured configuration with the default request timeout applied */
+  @Getter protected volatile RestAssuredConfig restAssuredConfig;
+
+  /** -- GETTER -- Retry policy shared by all clients, so they draw on one retry budget */
+  @Getter protected RetryPolicy retryPolicy;
+
+  /** Configuration the specifications were built from */
+  private volatile ConfigSnapshot configuredFrom;
+
+  private final ReentrantLock reconfigureLock = new ReentrantLock();
 
   public BaseApiClient() {
     this.config = ConfigurationManager.getInstance();
+    this.retryPolicy = RetryPolicyHolder.INSTANCE;
+    ConfigSnapshot snapshot = config.getSnapshot();
+    setupSpecifications();
+    this.configuredFrom = snapshot;
+  }
+
+  private void setupSpecifications() {
     setupJacksonConfiguration();
     setupRequestSpecification();
     setupResponseSpecification();
   }
 
+  /**
+   * Rebuild the specifications if the configuration was reloaded since they were built, so request
+   * timeouts and request/response logging follow a hot reload. Subclasses call this before every
+   * request; when nothing changed it costs one volatile read.
+   */
+  protected void refreshIfReloaded() {
+    if (config.getSnapshot() == configuredFrom) {
+      return;
+    }
+    reconfigureLock.lock();
+    try {
+      ConfigSnapshot snapshot = config.getSnapshot();
+      if (snapshot != configuredFrom) {
+        setupSpecifications();
+        reconfigure();
+        configuredFrom = snapshot;
+      }
+    } finally {
+      reconfigureLock.unlock();
+    }
+  }
+
+  /** Hook for subclasses to rebuild their own derived settings after a reload */
+  protected void reconfigure() {
+    // Default implementation - can be overridden by subclasses
+  }
+
   /** Configure Jackson to handle date serialization properly */
   private void setupJacksonConfiguration() {
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new JavaTimeModule());
-    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    // Shared, pre-warmed mapper: a new one per client would discard Jackson's serializer caches
+    ObjectMapper objectMapper = ObjectMapperProvider.getInstance().getObjectMapper();
 
-    // Configure RestAssured to use this ObjectMapper
+    // Configure RestAssured to use this ObjectMapper, the shared connection pool and timeouts
 
-    RestAssured.config =
+    // Kept per client instead of assigned to RestAssured.config, so parallel tests cannot race
+    RestAssuredConfig base =
         RestAssuredConfig.config()
             .objectMapperConfig(
                 ObjectMapperConfig.objectMapperConfig()
                     .jackson2ObjectMapperFactory((cls, charset) -> objectMapper));
+    if (config.isAsyncLoggingEnabled()) {
+      // Request/response logs go to SLF4J as one event each instead of straight to System.out
+      base = base.logConfig(LogConfig.logConfig().defaultStream(HttpLogStream.getInstance()));
+    }
+    this.restAssuredConfig = withRequestTimeout(base, config.getRequestTimeoutMs());
+  }
+
+  /**
+   * Copy of the client configuration with a different read (socket) timeout, for operations that
+   * need a tighter or looser budget than the environment default. The result owns its own pooled
+   * HttpClient, so it should be built once and reused rather than created per call.
+   */
+  protected RestAssuredConfig configWithRequestTimeout(int requestTimeoutMs) {
+    return withRequestTimeout(restAssuredConfig, requestTimeoutMs);
+  }
+
+  private RestAssuredConfig withRequestTimeout(RestAssuredConfig base, int requestTimeoutMs) {
+    int connectionTimeoutMs = config.getConnectionTimeoutMs();
+    return base.httpClient(
+        HttpClientConfig.httpClientConfig()
+            .reuseHttpClientInstance()
+            .httpClientFactory(HttpConnectionPool.getInstance()::newHttpClient)
+            .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectionTimeoutMs)
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, requestTimeoutMs)
+            // Waiting for a free pooled connection counts against the connect budget
+            .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, (long) connectionTimeoutMs));
+  }
+
+  /** New mapper with the framework settings; prefer the shared {@link ObjectMapperProvider} */
+  public static ObjectMapper createObjectMapper() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    return objectMapper;
   }
 
   /** Template method for setting up request specification */
   private void setupRequestSpecification() {
     RequestSpecBuilder builder =
-        new RequestSpecBuilder().setBaseUri(config.getBaseUrl()).setContentType(ContentType.JSON);
+        new RequestSpecBuilder()
+            .setBaseUri(config.getBaseUrl())
+            .setContentType(ContentType.JSON)
+            .setConfig(restAssuredConfig);
     //            .addFilter(new Allure());
 
+    // Runs first, so the metrics filter below times the call and not the wait for a permit
+    builder.addFilter(LimiterFilterHolder.INSTANCE);
+
+    if (config.isMetricsEnabled()) {
+      builder.addFilter(MetricsFilter.INSTANCE);
+    }
+
     // Add logging based on configuration
     if (config.isRequestLoggingEnabled()) {
       builder.log(LogDetail.ALL);
@@ -66,9 +162,6 @@ public abstract class BaseApiClient {
     addCustomHeaders(builder);
 
     this.requestSpec = builder.build();
-
-    // Set global REST Assured configuration
-    RestAssured.requestSpecification = requestSpec;
   }
 
   /** Template method for setting up response specification */
@@ -101,4 +194,16 @@ public abstract class BaseApiClient {
   protected String getBaseUrl() {
     return config.getBaseUrl();
   }
+
+  /** Lazily built on first client construction, after the configuration has been loaded */
+  private static final class RetryPolicyHolder {
+    private static final RetryPolicy INSTANCE =
+        RetryPolicy.fromConfiguration(ConfigurationManager.getInstance());
+  }
+
+  /** Limits apply to all clients together, as they all call the same backend */
+  static final class LimiterFilterHolder {
+    static final ClientLimiterFilter INSTANCE =
+        ClientLimiterFilter.fromConfiguration(ConfigurationManager.getInstance());
+  }
 }
@@ -0,0 +1,169 @@
+package com.petstore.client;
+
+import com.petstore.config.ConfigSnapshot;
+import com.petstore.config.ConfigurationManager;
+import com.petstore.metrics.ClientMetrics;
+import com.petstore.metrics.MetricsFilter;
+import com.petstore.util.AdaptiveConcurrencyLimiter;
+import com.petstore.util.TokenBucketRateLimiter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * REST Assured filter that holds outbound calls back until the token bucket and the adaptive
+ * concurrency limit let them through. It runs before every other filter, so {@link MetricsFilter}
+ * only times the call itself; the time spent waiting here is recorded separately as limiter wait.
+ * Retries pass through the filter again, so they are limited like first attempts.
+ *
+ * <p>429 and 503 responses and calls without a response count as dropped and shrink the
+ * concurrency limit. One instance is shared by all clients, since the limits protect one backend.
+ *
+ * <p>The rate limit follows configuration reloads: a changed limiter.rate.per.second or
+ * limiter.rate.burst replaces the token bucket on the next call, and a rate of 0 turns it off. The
+ * concurrency limit adapts by itself and its limiter.concurrency.* settings are read once.
+ */
+final class ClientLimiterFilter implements OrderedFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(ClientLimiterFilter.class);
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  private final ConfigurationManager config;
+  private final AtomicReference<RateLimit> rateLimit;
+
+  // Null when the concurrency limit is disabled
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+  private ClientLimiterFilter(
+      ConfigurationManager config, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    this.config = config;
+    this.rateLimit = new AtomicReference<>(RateLimit.of(config, null));
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  /** Filter configured from limiter.* properties; calls pass straight through while both are off */
+  static ClientLimiterFilter fromConfiguration(ConfigurationManager config) {
+    AdaptiveConcurrencyLimiter concurrencyLimiter =
+        config.isConcurrencyLimiterEnabled()
+            ? new AdaptiveConcurrencyLimiter(
+                config.getConcurrencyLimiterInitial(),
+                config.getConcurrencyLimiterMin(),
+                config.getConcurrencyLimiterMax(),
+                config.getConcurrencyLimiterLatencyTolerance(),
+                config.getConcurrencyLimiterBackoffRatio())
+            : null;
+    return new ClientLimiterFilter(config, concurrencyLimiter);
+  }
+
+  @Override
+  public int getOrder() {
+    return HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    String endpoint =
+        MetricsFilter.endpointOf(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+    long acquired = acquire(endpoint);
+    if (concurrencyLimiter == null) {
+      return ctx.next(requestSpec, responseSpec);
+    }
+    boolean dropped = true;
+    try {
+      Response response = ctx.next(requestSpec, responseSpec);
+      dropped = isDropped(response.getStatusCode());
+      return response;
+    } finally {
+      concurrencyLimiter.release(acquired, dropped);
+    }
+  }
+
+  /**
+   * Block until the call of the endpoint may go out, for calls made without REST Assured. Every
+   * call must be followed by {@link #release(long, int)} with the returned value.
+   */
+  long acquire(String endpoint) {
+    long waitStart = System.nanoTime();
+    TokenBucketRateLimiter rateLimiter = currentRateLimiter();
+    if (rateLimiter == null && concurrencyLimiter == null) {
+      return waitStart;
+    }
+    if (rateLimiter != null) {
+      rateLimiter.acquire();
+    }
+    long acquired = concurrencyLimiter != null ? concurrencyLimiter.acquire() : System.nanoTime();
+    ClientMetrics.getInstance().recordLimiterWait(endpoint, acquired - waitStart);
+    return acquired;
+  }
+
+  /** @param statusCode status of the response, or a negative value when none was received */
+  void release(long acquired, int statusCode) {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.release(acquired, statusCode < 0 || isDropped(statusCode));
+    }
+  }
+
+  /** Token bucket for the current configuration, or null when the rate limit is off */
+  private TokenBucketRateLimiter currentRateLimiter() {
+    RateLimit current = rateLimit.get();
+    ConfigSnapshot snapshot = config.getSnapshot();
+    if (current.snapshot == snapshot) {
+      return current.limiter;
+    }
+    // Losing the race means another caller already installed the limit of a newer snapshot
+    RateLimit updated = RateLimit.of(config, current);
+    return rateLimit.compareAndSet(current, updated) ? updated.limiter : rateLimit.get().limiter;
+  }
+
+  private static boolean isDropped(int statusCode) {
+    return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode == HttpURLConnection.HTTP_UNAVAILABLE;
+  }
+
+  /** Rate limit settings of one configuration snapshot */
+  private static final class RateLimit {
+    private final ConfigSnapshot snapshot;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final TokenBucketRateLimiter limiter;
+
+    private RateLimit(
+        ConfigSnapshot snapshot,
+        double permitsPerSecond,
+        int burst,
+        TokenBucketRateLimiter limiter) {
+      this.snapshot = snapshot;
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+      this.limiter = limiter;
+    }
+
+    /** Keeps the previous token bucket, and the tokens in it, if the settings did not change */
+    private static RateLimit of(ConfigurationManager config, RateLimit previous) {
+      ConfigSnapshot snapshot = config.getSnapshot();
+      double permitsPerSecond = Math.max(0, config.getLimiterRatePerSecond());
+      int burst = config.getLimiterRateBurst();
+      if (previous != null
+          && previous.permitsPerSecond == permitsPerSecond
+          && previous.burst == burst) {
+        return new RateLimit(snapshot, permitsPerSecond, burst, previous.limiter);
+      }
+      TokenBucketRateLimiter limiter =
+          permitsPerSecond > 0 ? new TokenBucketRateLimiter(permitsPerSecond, burst) : null;
+      if (previous != null && limiter == null) {
+        log.info("Client rate limit turned off");
+      } else if (previous != null) {
+        log.info("Client rate limit changed to {}/s, burst {}", permitsPerSecond, burst);
+      }
+      return new RateLimit(snapshot, permitsPerSecond, burst, limiter);
+    }
+  }
+}
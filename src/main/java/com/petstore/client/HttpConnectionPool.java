@@ -0,0 +1,118 @@
+package com.petstore.client;
+
+import com.petstore.config.ConfigurationManager;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide HTTP connection pool shared by all {@link BaseApiClient} subclasses (Singleton).
+ *
+ * <p>REST Assured requires an Apache HttpClient 4 {@code AbstractHttpClient}, so the pool is built
+ * on {@link PoolingClientConnectionManager}. Every client created through {@link #newHttpClient()}
+ * leases connections from the same manager, which keeps connections alive across clients and test
+ * classes instead of re-opening them per spec.
+ */
+public class HttpConnectionPool {
+
+  private static final Logger log = LoggerFactory.getLogger(HttpConnectionPool.class);
+  private static volatile HttpConnectionPool instance;
+
+  private final PoolingClientConnectionManager connectionManager;
+  private final ConnectionKeepAliveStrategy keepAliveStrategy;
+  private final ScheduledExecutorService evictor;
+  private final boolean staleCheckEnabled;
+
+  private HttpConnectionPool(ConfigurationManager config) {
+    this.connectionManager =
+        new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+    connectionManager.setMaxTotal(config.getPoolMaxTotal());
+    connectionManager.setDefaultMaxPerRoute(config.getPoolMaxPerRoute());
+
+    long keepAliveMs = config.getPoolKeepAliveMs();
+    this.keepAliveStrategy =
+        (response, context) -> {
+          long serverKeepAlive =
+              DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+          return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+        };
+    this.staleCheckEnabled = config.isPoolStaleCheckEnabled();
+
+    long idleTimeoutMs = config.getPoolIdleTimeoutMs();
+    long intervalMs = config.getPoolEvictionIntervalMs();
+    this.evictor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "http-pool-evictor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    evictor.scheduleWithFixedDelay(
+        () -> evictConnections(idleTimeoutMs), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+    log.info(
+        "HTTP connection pool initialised: maxTotal={}, maxPerRoute={}, keepAlive={}ms, idleTimeout={}ms",
+        config.getPoolMaxTotal(),
+        config.getPoolMaxPerRoute(),
+        keepAliveMs,
+        idleTimeoutMs);
+  }
+
+  public static HttpConnectionPool getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (HttpConnectionPool.class) {
+      if (instance == null) {
+        instance = new HttpConnectionPool(ConfigurationManager.getInstance());
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Create an HttpClient backed by the shared connection manager. Intended as a REST Assured {@code
+   * HttpClientFactory} together with {@code reuseHttpClientInstance()}, otherwise REST Assured
+   * would shut the shared manager down after each request.
+   */
+  public HttpClient newHttpClient() {
+    DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+    httpClient.setKeepAliveStrategy(keepAliveStrategy);
+    // HttpClient 4's legacy API has no validate-after-inactivity, only a stale check per lease
+    HttpConnectionParams.setStaleCheckingEnabled(httpClient.getParams(), staleCheckEnabled);
+    return httpClient;
+  }
+
+  /** Leased / available / pending / max counters across all routes */
+  public PoolStats getStats() {
+    return connectionManager.getTotalStats();
+  }
+
+  /** Close connections whose keep-alive expired or that sat idle longer than the timeout */
+  public void evictConnections(long idleTimeoutMs) {
+    try {
+      connectionManager.closeExpiredConnections();
+      connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+      log.trace("Connection pool after eviction: {}", getStats());
+    } catch (RuntimeException e) {
+      log.warn("Connection eviction failed: {}", e.getMessage());
+    }
+  }
+
+  /** Close all pooled connections; clients created afterwards will fail */
+  public void shutdown() {
+    evictor.shutdownNow();
+    connectionManager.shutdown();
+    log.info("HTTP connection pool shut down");
+  }
+}
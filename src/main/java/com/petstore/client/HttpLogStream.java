@@ -0,0 +1,87 @@
+package com.petstore.client;
+
+import com.petstore.config.ConfigurationManager;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Print stream handed to REST Assured's request/response logging when {@code log.async} is on.
+ * REST Assured renders each request or response into one string and prints it; this stream turns
+ * that into a single DEBUG event on the {@code com.petstore.http} logger instead of a locked,
+ * line-by-line write to System.out, so the console I/O happens on the async appender's thread.
+ * Messages longer than {@code log.body.max.chars} are truncated before they are queued.
+ */
+final class HttpLogStream extends PrintStream {
+
+  /** Logger every request and response is written to; configure its appender in logback */
+  static final String LOGGER_NAME = "com.petstore.http";
+
+  private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+  private static volatile HttpLogStream instance;
+
+  private final int maxChars;
+
+  private HttpLogStream(int maxChars) {
+    // Anything not printed as a whole message is collected per thread and logged per line
+    super(new LineLogger(), true);
+    this.maxChars = maxChars;
+  }
+
+  static HttpLogStream getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (HttpLogStream.class) {
+      if (instance == null) {
+        instance = new HttpLogStream(ConfigurationManager.getInstance().getLogBodyMaxChars());
+      }
+      return instance;
+    }
+  }
+
+  @Override
+  public void println(String message) {
+    if (log.isDebugEnabled()) {
+      log.debug(truncate(message, maxChars));
+    }
+  }
+
+  @Override
+  public void println(Object message) {
+    if (log.isDebugEnabled()) {
+      log.debug(truncate(String.valueOf(message), maxChars));
+    }
+  }
+
+  static String truncate(String message, int maxChars) {
+    if (message == null || maxChars <= 0 || message.length() <= maxChars) {
+      return message;
+    }
+    return message.substring(0, maxChars)
+        + "... ["
+        + (message.length() - maxChars)
+        + " more chars truncated]";
+  }
+
+  private static final class LineLogger extends OutputStream {
+    private final ThreadLocal<ByteArrayOutputStream> line =
+        ThreadLocal.withInitial(ByteArrayOutputStream::new);
+
+    @Override
+    public void write(int b) {
+      ByteArrayOutputStream buffer = line.get();
+      if (b != '\n') {
+        buffer.write(b);
+        return;
+      }
+      if (log.isDebugEnabled()) {
+        log.debug(buffer.toString(StandardCharsets.UTF_8).replace("\r", ""));
+      }
+      buffer.reset();
+    }
+  }
+}
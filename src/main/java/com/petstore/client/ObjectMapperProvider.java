@@ -0,0 +1,88 @@
+package com.petstore.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.petstore.config.ConfigurationManager;
+import com.petstore.dto.ErrorResponse;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide Jackson mapper using Singleton pattern. ObjectMapper, ObjectReader and ObjectWriter
+ * are thread-safe, so every client shares one instance and its serializer caches instead of
+ * rebuilding them per client. The DTO readers and writers are resolved and exercised once at
+ * start-up, so the first real request does not pay for introspection.
+ */
+@Getter
+public class ObjectMapperProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(ObjectMapperProvider.class);
+  private static volatile ObjectMapperProvider instance;
+
+  private final ObjectMapper objectMapper;
+  private final ObjectReader orderReader;
+  private final ObjectWriter orderWriter;
+  private final ObjectReader errorResponseReader;
+  private final ObjectReader inventoryReader;
+
+  private ObjectMapperProvider() {
+    long start = System.nanoTime();
+    ObjectMapper mapper = BaseApiClient.createObjectMapper();
+    if (ConfigurationManager.getInstance().isJacksonBlackbirdEnabled()) {
+      // Generated accessors instead of reflection; the Java 11+ successor of Afterburner
+      mapper.registerModule(new BlackbirdModule());
+    }
+    this.objectMapper = mapper;
+    this.orderReader = mapper.readerFor(Order.class);
+    this.orderWriter = mapper.writerFor(Order.class);
+    this.errorResponseReader = mapper.readerFor(ErrorResponse.class);
+    this.inventoryReader = mapper.readerFor(new TypeReference<Map<String, Integer>>() {});
+    warmUp();
+    log.debug("Shared ObjectMapper ready in {}ms", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  public static ObjectMapperProvider getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (ObjectMapperProvider.class) {
+      if (instance == null) {
+        instance = new ObjectMapperProvider();
+      }
+    }
+    return instance;
+  }
+
+  /** Round-trip each DTO once so serializers and deserializers are built and cached up front */
+  private void warmUp() {
+    try {
+      for (OrderStatus status : OrderStatus.values()) {
+        Order order =
+            Order.builder()
+                .id(1L)
+                .petId(1L)
+                .quantity(1)
+                .shipDate(OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+                .status(status)
+                .complete(true)
+                .build();
+        orderReader.readValue(orderWriter.writeValueAsBytes(order));
+      }
+      errorResponseReader.readValue(
+          objectMapper.writeValueAsBytes(new ErrorResponse(1, "error", "warm-up")));
+      inventoryReader.readValue("{\"available\":1}");
+    } catch (IOException e) {
+      log.warn("ObjectMapper warm-up failed: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package com.petstore.client;
+
+import com.petstore.config.ConfigurationManager;
+import com.petstore.dto.ErrorResponse;
+import com.petstore.metrics.ClientMetrics;
+import com.petstore.metrics.EndpointMetrics;
+import com.petstore.metrics.MetricsFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+/**
+ * Store requests on the shared {@link HttpConnectionPool}, bound to prepared per-endpoint templates
+ * instead of being assembled from REST Assured specifications. A template holds everything that is
+ * the same for every call - method, URI up to the order id, headers, timeouts and metrics key - and
+ * is shared by all threads, so a call only binds the order id or body. Bodies are decoded straight
+ * from the connection's socket stream, as REST Assured reads every body into a byte array before
+ * it returns the response. Calls take the shared limiter permits and are recorded in {@link
+ * ClientMetrics} like REST Assured calls, but are not logged or attached to the Allure report.
+ */
+final class PreparedRequests {
+
+  /** Decodes a 2xx body from the live connection stream */
+  @FunctionalInterface
+  interface BodyDecoder<T> {
+    T decode(InputStream body) throws IOException;
+  }
+
+  /** Decoded body of a 2xx response, otherwise the status and error document, if there was one */
+  static final class Result<T> {
+    final int statusCode;
+    final T body;
+    final ErrorResponse error;
+
+    private Result(int statusCode, T body, ErrorResponse error) {
+      this.statusCode = statusCode;
+      this.body = body;
+      this.error = error;
+    }
+  }
+
+  private final ConfigurationManager config;
+  private final HttpClient httpClient;
+
+  /** Templates for the current configuration, replaced by {@link #rebuild()} */
+  private volatile Map<StoreEndpoint, Template> templates;
+
+  PreparedRequests(ConfigurationManager config) {
+    this.config = config;
+    this.httpClient = HttpConnectionPool.getInstance().newHttpClient();
+    this.templates = buildTemplates();
+  }
+
+  /** Rebuild every template from the current configuration, e.g. after a reload */
+  void rebuild() {
+    this.templates = buildTemplates();
+  }
+
+  private Map<StoreEndpoint, Template> buildTemplates() {
+    Map<StoreEndpoint, Template> byEndpoint = new EnumMap<>(StoreEndpoint.class);
+    for (StoreEndpoint endpoint : StoreEndpoint.values()) {
+      byEndpoint.put(endpoint, new Template(endpoint, config));
+    }
+    return byEndpoint;
+  }
+
+  /**
+   * @param orderId path parameter, null for endpoints without one
+   * @param body JSON request body, null for endpoints without one
+   */
+  <T> Result<T> execute(StoreEndpoint endpoint, Long orderId, byte[] body, BodyDecoder<T> decoder) {
+    Template template = templates.get(endpoint);
+    HttpRequestBase request = template.bind(orderId, body);
+
+    ClientLimiterFilter limiter = BaseApiClient.LimiterFilterHolder.INSTANCE;
+    long acquired = limiter.acquire(template.metricsKey);
+    EndpointMetrics metrics =
+        config.isMetricsEnabled()
+            ? ClientMetrics.getInstance().endpoint(template.metricsKey)
+            : null;
+    int statusCode = -1;
+    if (metrics != null) {
+      metrics.onStart();
+    }
+    long start = System.nanoTime();
+    try {
+      HttpResponse response = httpClient.execute(request);
+      statusCode = response.getStatusLine().getStatusCode();
+      Result<T> result = read(statusCode, response.getEntity(), decoder);
+      if (metrics != null) {
+        metrics.onResponse(statusCode, System.nanoTime() - start);
+      }
+      return result;
+    } catch (IOException e) {
+      if (metrics != null) {
+        metrics.onFailure(System.nanoTime() - start, MetricsFilter.isTimeout(e));
+      }
+      throw new UncheckedIOException(endpoint + " failed", e);
+    } finally {
+      if (metrics != null) {
+        metrics.onFinish();
+      }
+      limiter.release(acquired, statusCode);
+    }
+  }
+
+  /** Closing the content stream drains what is left and hands the connection back to the pool */
+  private static <T> Result<T> read(int statusCode, HttpEntity entity, BodyDecoder<T> decoder)
+      throws IOException {
+    if (entity == null) {
+      return new Result<>(statusCode, null, null);
+    }
+    try (InputStream body = entity.getContent()) {
+      if (statusCode >= 200 && statusCode < 300) {
+        return new Result<>(statusCode, decoder.decode(body), null);
+      }
+      return new Result<>(statusCode, null, errorBodyOf(body));
+    }
+  }
+
+  /** Error document of a failed response, or null when it is not a JSON error document */
+  private static ErrorResponse errorBodyOf(InputStream body) {
+    try {
+      return ObjectMapperProvider.getInstance().getErrorResponseReader().readValue(body);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Everything about an endpoint's requests except the order id and body; never modified */
+  private static final class Template {
+    private static final Header[] ACCEPT_JSON = {
+      new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType())
+    };
+
+    private final String method;
+    private final String uriPrefix;
+
+    /** Complete URI of endpoints without a path parameter */
+    private final URI uri;
+
+    private final HttpParams params;
+    private final String metricsKey;
+
+    private Template(StoreEndpoint endpoint, ConfigurationManager config) {
+      String path = endpoint.getPath();
+      int parameter = path.indexOf('{');
+      this.method = endpoint.getMethod();
+      this.uriPrefix = config.getBaseUrl() + (parameter < 0 ? path : path.substring(0, parameter));
+      this.uri = parameter < 0 ? URI.create(uriPrefix) : null;
+      this.metricsKey = MetricsFilter.endpointOf(method, path);
+
+      // Same budgets as REST Assured calls: waiting for a pooled connection counts as connecting.
+      // Request execution only reads these, through a read-only parameter stack
+      int connectionTimeoutMs = config.getConnectionTimeoutMs();
+      this.params = new BasicHttpParams();
+      HttpConnectionParams.setConnectionTimeout(params, connectionTimeoutMs);
+      HttpConnectionParams.setSoTimeout(
+          params, config.getRequestTimeoutMs(endpoint.getConfigKey()));
+      params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, connectionTimeoutMs);
+    }
+
+    HttpRequestBase bind(Long orderId, byte[] body) {
+      URI target = uri != null ? uri : URI.create(uriPrefix + orderId);
+      HttpRequestBase request;
+      switch (method) {
+        case HttpPost.METHOD_NAME:
+          HttpPost post = new HttpPost(target);
+          post.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+          request = post;
+          break;
+        case HttpDelete.METHOD_NAME:
+          request = new HttpDelete(target);
+          break;
+        default:
+          request = new HttpGet(target);
+      }
+      request.setHeaders(ACCEPT_JSON);
+      request.setParams(params);
+      return request;
+    }
+  }
+}
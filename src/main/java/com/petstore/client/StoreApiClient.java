@@ -2,11 +2,26 @@ package com.petstore.client;
 
 import static io.restassured.RestAssured.given;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.petstore.config.ConfigurationManager;
 import com.petstore.dto.ErrorResponse;
 import com.petstore.dto.Order;
-import com.petstore.util.RetryUtils;
+import com.petstore.inventory.InventorySnapshot;
+import com.petstore.metrics.ClientMetrics;
+import com.petstore.metrics.MetricsFilter;
+import com.petstore.util.CircuitBreaker;
+import com.petstore.util.CircuitBreakerConfig;
+import com.petstore.util.ReadThroughCache;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Store API Client - handles store-related endpoints Extends BaseApiClient to inherit common
@@ -14,70 +29,283 @@ import java.util.Map;
  */
 public class StoreApiClient extends BaseApiClient {
 
-  private static final String STORE_BASE_PATH = "/store";
-  private static final String INVENTORY_PATH = STORE_BASE_PATH + "/inventory";
-  private static final String ORDER_PATH = STORE_BASE_PATH + "/order";
+  static final String STORE_BASE_PATH = "/store";
+  static final String INVENTORY_PATH = STORE_BASE_PATH + "/inventory";
+  static final String ORDER_PATH = STORE_BASE_PATH + "/order";
 
-  /** GET /store/inventory Returns pet inventories by status */
+  /** Per-endpoint configs carrying request.timeout.{endpoint} overrides; rebuilt on reload */
+  private volatile Map<StoreEndpoint, RestAssuredConfig> endpointConfigs;
+
+  private final ObjectMapperProvider mappers = ObjectMapperProvider.getInstance();
+
+  /** Serve inventory reads from the shared {@link InventoryCache} */
+  private final boolean inventoryCacheEnabled;
+
+  /** Set once any client caches inventory; until then writes have no cache to invalidate */
+  private static volatile boolean inventoryCacheInUse;
+
+  /** Send typed calls through {@link #preparedRequests} rather than REST Assured */
+  private final boolean preparedRequestsEnabled;
+
+  /** Requests bound to per-endpoint templates, decoded from the socket stream */
+  private final PreparedRequests preparedRequests = new PreparedRequests(config);
+
+  public StoreApiClient() {
+    this(ConfigurationManager.getInstance().isInventoryCacheEnabled());
+  }
+
+  /**
+   * @param useInventoryCache serve {@link #getInventory()} from the cache shared by all clients
+   *     that use it, as inventory.cache.enabled does for the default constructor
+   */
+  public StoreApiClient(boolean useInventoryCache) {
+    this(useInventoryCache, ConfigurationManager.getInstance().isPreparedRequestsEnabled());
+  }
+
+  /**
+   * @param usePreparedRequests send the typed calls - {@link #getInventoryAsMap()}, {@link
+   *     #getOrderByIdAsObject(Long)} and {@link #placeOrderAsObject(Order)} - as prepared requests
+   *     that skip REST Assured's per-call specification assembly, as request.prepared.enabled does
+   *     for the other constructors. Prepared calls are not logged or attached to the Allure report
+   */
+  public StoreApiClient(boolean useInventoryCache, boolean usePreparedRequests) {
+    this.endpointConfigs = buildEndpointConfigs();
+    this.inventoryCacheEnabled = useInventoryCache;
+    this.preparedRequestsEnabled = usePreparedRequests;
+    if (useInventoryCache) {
+      inventoryCacheInUse = true;
+    }
+  }
+
+  private Map<StoreEndpoint, RestAssuredConfig> buildEndpointConfigs() {
+    Map<StoreEndpoint, RestAssuredConfig> configs = new EnumMap<>(StoreEndpoint.class);
+    for (StoreEndpoint endpoint : StoreEndpoint.values()) {
+      int timeoutMs = config.getRequestTimeoutMs(endpoint.getConfigKey());
+      configs.put(
+          endpoint,
+          timeoutMs == config.getRequestTimeoutMs()
+              ? restAssuredConfig
+              : configWithRequestTimeout(timeoutMs));
+    }
+    return configs;
+  }
+
+  @Override
+  protected void reconfigure() {
+    this.endpointConfigs = buildEndpointConfigs();
+    preparedRequests.rebuild();
+  }
+
+  /**
+   * GET /store/inventory Returns pet inventories by status. With inventory.cache.enabled, served
+   * from a short-lived cache shared by all caching clients, and concurrent calls share one
+   * request.
+   */
   public Response getInventory() {
-    return given()
-        .spec(requestSpec)
-        .when()
-        .get(INVENTORY_PATH)
-        .then()
-        .spec(responseSpec)
-        .extract()
-        .response();
+    return getInventory(false);
+  }
+
+  /**
+   * @param bypassCache always call the backend, e.g. to observe the effect of a write or to time
+   *     the endpoint; the result still refreshes the cache
+   */
+  public Response getInventory(boolean bypassCache) {
+    if (!inventoryCacheEnabled) {
+      return fetchInventory();
+    }
+    if (bypassCache) {
+      InventoryCache.INSTANCE.invalidate(config.getBaseUrl());
+    }
+    return InventoryCache.INSTANCE.get(
+        config.getBaseUrl(),
+        () -> buffered(fetchInventory()),
+        response -> response.getStatusCode() == HttpURLConnection.HTTP_OK);
+  }
+
+  private Response fetchInventory() {
+    return call(
+        StoreEndpoint.INVENTORY,
+        () ->
+            given()
+                .spec(requestSpec)
+                .config(endpointConfigs.get(StoreEndpoint.INVENTORY))
+                .when()
+                .get(INVENTORY_PATH)
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response());
+  }
+
+  /** Read the body into memory, so the response can be shared by threads and read repeatedly */
+  private static Response buffered(Response response) {
+    response.asByteArray();
+    return response;
   }
 
   /** POST /store/order Place an order for a pet */
   public Response placeOrder(Order order) {
-    return given()
-        .spec(requestSpec)
-        .body(order)
-        .when()
-        .post(ORDER_PATH)
-        .then()
-        .spec(responseSpec)
-        .extract()
-        .response();
+    return call(
+        StoreEndpoint.PLACE_ORDER,
+        () ->
+            given()
+                .spec(requestSpec)
+                .config(endpointConfigs.get(StoreEndpoint.PLACE_ORDER))
+                .body(order)
+                .when()
+                .post(ORDER_PATH)
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response());
   }
 
   /** GET /store/order/{orderId} Find purchase order by ID */
   public Response getOrderById(Long orderId) {
-    return given()
-        .spec(requestSpec)
-        .pathParam("orderId", orderId)
-        .when()
-        .get(ORDER_PATH + "/{orderId}")
-        .then()
-        .spec(responseSpec)
-        .extract()
-        .response();
+    return call(
+        StoreEndpoint.GET_ORDER,
+        () ->
+            given()
+                .spec(requestSpec)
+                .config(endpointConfigs.get(StoreEndpoint.GET_ORDER))
+                .pathParam("orderId", orderId)
+                .when()
+                .get(ORDER_PATH + "/{orderId}")
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response());
   }
 
   /** DELETE /store/order/{orderId} Delete purchase order by ID */
   public Response deleteOrder(Long orderId) {
-    return given()
-        .spec(requestSpec)
-        .pathParam("orderId", orderId)
-        .when()
-        .delete(ORDER_PATH + "/{orderId}")
-        .then()
-        .spec(responseSpec)
-        .extract()
-        .response();
+    return call(
+        StoreEndpoint.DELETE_ORDER,
+        () ->
+            given()
+                .spec(requestSpec)
+                .config(endpointConfigs.get(StoreEndpoint.DELETE_ORDER))
+                .pathParam("orderId", orderId)
+                .when()
+                .delete(ORDER_PATH + "/{orderId}")
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response());
+  }
+
+  /** Circuit breaker guarding the endpoint, or null when circuit.breaker.enabled is false */
+  public CircuitBreaker getCircuitBreaker(StoreEndpoint endpoint) {
+    return CircuitBreakers.BY_ENDPOINT.get(endpoint);
+  }
+
+  /**
+   * Run the request through the endpoint's breaker; 5xx responses count as failures. Order writes
+   * from any client drop the cached inventory, so this process reads its own writes.
+   */
+  private Response call(StoreEndpoint endpoint, Supplier<Response> request) {
+    return call(
+        endpoint,
+        request,
+        response -> response.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR);
+  }
+
+  /** Specifications are refreshed first, so the request picks up a reloaded configuration */
+  private <T> T call(StoreEndpoint endpoint, Supplier<T> request, Predicate<T> isFailure) {
+    refreshIfReloaded();
+    CircuitBreaker breaker = getCircuitBreaker(endpoint);
+    try {
+      if (breaker == null) {
+        return request.get();
+      }
+      return breaker.execute(request, isFailure);
+    } finally {
+      if (isOrderWrite(endpoint) && inventoryCacheInUse) {
+        InventoryCache.INSTANCE.invalidateAll();
+      }
+    }
+  }
+
+  /** Prepared request, guarded by the same breaker as the REST Assured call */
+  private <T> PreparedRequests.Result<T> prepared(
+      StoreEndpoint endpoint, Long orderId, byte[] body, PreparedRequests.BodyDecoder<T> decoder) {
+    return call(
+        endpoint,
+        () -> preparedRequests.execute(endpoint, orderId, body, decoder),
+        result -> result.statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR);
+  }
+
+  /** Body of a 200 response, otherwise a StoreApiException with the status and error body */
+  private static <T> T bodyOf(StoreEndpoint endpoint, PreparedRequests.Result<T> result) {
+    if (result.statusCode != HttpURLConnection.HTTP_OK) {
+      throw new StoreApiException(endpoint, result.statusCode, result.error);
+    }
+    return result.body;
+  }
+
+  private static boolean isOrderWrite(StoreEndpoint endpoint) {
+    return endpoint == StoreEndpoint.PLACE_ORDER || endpoint == StoreEndpoint.DELETE_ORDER;
   }
 
   // Convenience methods for typed responses
 
   /** Get inventory as Map */
-  public Map getInventoryAsMap() {
-    return RetryUtils.retry(() -> getInventory().as(Map.class), 3, 1000); // 3 attempts, 1s delay
+  public Map<String, Integer> getInventoryAsMap() {
+    return getInventoryAsMap(false);
+  }
+
+  /** @param bypassCache see {@link #getInventory(boolean)} */
+  public Map<String, Integer> getInventoryAsMap(boolean bypassCache) {
+    if (preparedRequestsEnabled && !inventoryCacheEnabled) {
+      PreparedRequests.BodyDecoder<Map<String, Integer>> decoder =
+          mappers.getInventoryReader()::readValue;
+      return withRetries(
+          StoreEndpoint.INVENTORY,
+          () ->
+              bodyOf(
+                  StoreEndpoint.INVENTORY, prepared(StoreEndpoint.INVENTORY, null, null, decoder)));
+    }
+    return withRetries(
+        StoreEndpoint.INVENTORY,
+        () -> {
+          Response response = getInventory(bypassCache);
+          if (response.getStatusCode() == 200) {
+            return response.as(new TypeRef<Map<String, Integer>>() {});
+          }
+          throw new StoreApiException(
+              StoreEndpoint.INVENTORY, response.getStatusCode(), errorBodyOf(response));
+        });
+  }
+
+  /**
+   * Inventory decoded by the streaming parser while it is read from the connection, without a
+   * String body or boxed map, into a compact snapshot for sampling, diffing and delta encoding.
+   * Always calls the backend: the inventory cache holds REST Assured responses. {@link
+   * #getInventoryAsMap()} remains the compatibility path.
+   */
+  public InventorySnapshot getInventorySnapshot() {
+    return bodyOf(
+        StoreEndpoint.INVENTORY,
+        prepared(StoreEndpoint.INVENTORY, null, null, StreamingResponseDecoder::decodeInventory));
+  }
+
+  /**
+   * Streaming counterpart of {@link #getOrderByIdAsObject(Long)}, decoded while it is read from
+   * the connection; null when not found
+   */
+  public Order getOrderByIdStreamed(Long orderId) {
+    PreparedRequests.Result<Order> result =
+        prepared(StoreEndpoint.GET_ORDER, orderId, null, StreamingResponseDecoder::decodeOrder);
+    return result.statusCode == HttpURLConnection.HTTP_OK ? result.body : null;
   }
 
   /** Get order by ID and return as Order object */
   public Order getOrderByIdAsObject(Long orderId) {
+    if (preparedRequestsEnabled) {
+      PreparedRequests.Result<Order> result =
+          prepared(StoreEndpoint.GET_ORDER, orderId, null, mappers.getOrderReader()::readValue);
+      return result.statusCode == HttpURLConnection.HTTP_OK ? result.body : null;
+    }
     Response response = getOrderById(orderId);
     if (response.getStatusCode() == 200) {
       return response.as(Order.class);
@@ -96,15 +324,84 @@ public class StoreApiClient extends BaseApiClient {
 
   /** Place order and return as Order object */
   public Order placeOrderAsObject(Order order) {
-    return RetryUtils.retry(
+    if (preparedRequestsEnabled) {
+      byte[] body = orderBody(order);
+      return withRetries(
+          StoreEndpoint.PLACE_ORDER,
+          () ->
+              bodyOf(
+                  StoreEndpoint.PLACE_ORDER,
+                  prepared(
+                      StoreEndpoint.PLACE_ORDER, null, body, mappers.getOrderReader()::readValue)));
+    }
+    return withRetries(
+        StoreEndpoint.PLACE_ORDER,
         () -> {
           Response response = placeOrder(order);
           if (response.getStatusCode() == 200) {
             return response.as(Order.class);
           }
-          throw new RuntimeException("Failed to place order: " + response.getStatusLine());
-        },
-        3,
-        1000);
+          throw new StoreApiException(
+              StoreEndpoint.PLACE_ORDER, response.getStatusCode(), errorBodyOf(response));
+        });
+  }
+
+  private byte[] orderBody(Order order) {
+    try {
+      return mappers.getOrderWriter().writeValueAsBytes(order);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Failed to serialise " + order, e);
+    }
+  }
+
+  /** Run the attempt under the retry policy, counting its retries against the endpoint */
+  private <T> T withRetries(StoreEndpoint endpoint, Supplier<T> attempt) {
+    if (!config.isMetricsEnabled()) {
+      return retryPolicy.execute(attempt);
+    }
+    String metricsKey = MetricsFilter.endpointOf(endpoint.getMethod(), endpoint.getPath());
+    return retryPolicy.execute(attempt, ClientMetrics.getInstance().retries(metricsKey));
+  }
+
+  /** Error body of a failed response, or null when it is not a JSON error document */
+  private static ErrorResponse errorBodyOf(Response response) {
+    try {
+      return response.as(ErrorResponse.class);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /** Inventory responses keyed by base URL, shared by all clients so their reads coalesce */
+  private static final class InventoryCache {
+    private static final ReadThroughCache<String, Response> INSTANCE = create();
+
+    private static ReadThroughCache<String, Response> create() {
+      ConfigurationManager config = ConfigurationManager.getInstance();
+      return new ReadThroughCache<>(
+          Duration.ofMillis(config.getInventoryCacheTtlMs()),
+          config.getInventoryCacheMaxEntries(),
+          ClientMetrics.getInstance().cache("inventory"));
+    }
+  }
+
+  /** Breakers are shared by all client instances, so every thread sees the same endpoint health */
+  private static final class CircuitBreakers {
+    private static final Map<StoreEndpoint, CircuitBreaker> BY_ENDPOINT = create();
+
+    private static Map<StoreEndpoint, CircuitBreaker> create() {
+      Map<StoreEndpoint, CircuitBreaker> breakers = new EnumMap<>(StoreEndpoint.class);
+      ConfigurationManager config = ConfigurationManager.getInstance();
+      if (config.isCircuitBreakerEnabled()) {
+        for (StoreEndpoint endpoint : StoreEndpoint.values()) {
+          breakers.put(
+              endpoint,
+              new CircuitBreaker(
+                  endpoint.toString(),
+                  CircuitBreakerConfig.fromConfiguration(config, endpoint.getConfigKey())));
+        }
+      }
+      return breakers;
+    }
   }
 }
@@ -0,0 +1,41 @@
+package com.petstore.client;
+
+import com.petstore.dto.ErrorResponse;
+import com.petstore.util.HttpStatusCarrier;
+import java.net.HttpURLConnection;
+import lombok.Getter;
+
+/**
+ * Thrown (or used to complete a future exceptionally) when a store call returns a non-2xx status
+ */
+@Getter
+public class StoreApiException extends RuntimeException implements HttpStatusCarrier {
+
+  private static final long serialVersionUID = 1L;
+
+  private final StoreEndpoint endpoint;
+  private final int statusCode;
+
+  /** Parsed error body, or null when the server did not return one */
+  private final ErrorResponse errorResponse;
+
+  public StoreApiException(StoreEndpoint endpoint, int statusCode, ErrorResponse errorResponse) {
+    super(
+        String.format(
+            "%s failed with status %d%s",
+            endpoint,
+            statusCode,
+            errorResponse != null ? ": " + errorResponse.getMessage() : ""));
+    this.endpoint = endpoint;
+    this.statusCode = statusCode;
+    this.errorResponse = errorResponse;
+  }
+
+  public boolean isNotFound() {
+    return statusCode == HttpURLConnection.HTTP_NOT_FOUND;
+  }
+
+  public boolean isServerError() {
+    return statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+  }
+}
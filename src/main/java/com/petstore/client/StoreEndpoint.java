@@ -0,0 +1,25 @@
+package com.petstore.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Store API endpoints - one constant per operation exposed by {@link StoreApiClient} */
+@Getter
+@RequiredArgsConstructor
+public enum StoreEndpoint {
+  INVENTORY("GET", StoreApiClient.INVENTORY_PATH, "inventory"),
+  PLACE_ORDER("POST", StoreApiClient.ORDER_PATH, "place-order"),
+  GET_ORDER("GET", StoreApiClient.ORDER_PATH + "/{orderId}", "get-order"),
+  DELETE_ORDER("DELETE", StoreApiClient.ORDER_PATH + "/{orderId}", "delete-order");
+
+  private final String method;
+  private final String path;
+
+  /** Suffix used for per-endpoint configuration keys, e.g. request.timeout.inventory */
+  private final String configKey;
+
+  @Override
+  public String toString() {
+    return method + " " + path;
+  }
+}
@@ -0,0 +1,147 @@
+package com.petstore.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import com.petstore.inventory.InventorySnapshot;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+
+/**
+ * Decodes store responses token by token from an input stream with Jackson's streaming parser, so
+ * the body is never materialised as a String and no databind tree or reflection is involved. Field
+ * names come from the parser's canonicalised symbol table, numbers are read as primitives, and
+ * dates and statuses are parsed straight from the parser's character buffer.
+ */
+public final class StreamingResponseDecoder {
+
+  /** ISO date-time with either +HH:MM or the Petstore's +HHMM offset */
+  private static final DateTimeFormatter SHIP_DATE_FORMAT =
+      new DateTimeFormatterBuilder()
+          .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+          .optionalStart()
+          .appendOffset("+HH:MM", "Z")
+          .optionalEnd()
+          .optionalStart()
+          .appendOffset("+HHMM", "Z")
+          .optionalEnd()
+          .toFormatter();
+
+  private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+  private StreamingResponseDecoder() {}
+
+  private static JsonFactory jsonFactory() {
+    return ObjectMapperProvider.getInstance().getObjectMapper().getFactory();
+  }
+
+  /** Decode a GET /store/inventory body; counts beyond the int range are saturated */
+  public static InventorySnapshot decodeInventory(InputStream body) throws IOException {
+    try (JsonParser parser = jsonFactory().createParser(body)) {
+      expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+      InventorySnapshot.Builder counts = new InventorySnapshot.Builder();
+      String status;
+      while ((status = parser.nextFieldName()) != null) {
+        JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+          counts.put(status, saturatedInt(parser));
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return counts.build();
+    }
+  }
+
+  /** Decode an {@link Order} body; unknown fields are skipped as with the databind path */
+  public static Order decodeOrder(InputStream body) throws IOException {
+    try (JsonParser parser = jsonFactory().createParser(body)) {
+      expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+      Order order = new Order();
+      String field;
+      while ((field = parser.nextFieldName()) != null) {
+        JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_NULL) {
+          continue;
+        }
+        switch (field) {
+          case "id":
+            order.setId(parser.getLongValue());
+            break;
+          case "petId":
+            order.setPetId(parser.getLongValue());
+            break;
+          case "quantity":
+            order.setQuantity(parser.getIntValue());
+            break;
+          case "shipDate":
+            order.setShipDate(parseShipDate(parser));
+            break;
+          case "status":
+            order.setStatus(parseStatus(parser));
+            break;
+          case "complete":
+            order.setComplete(parser.getBooleanValue());
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+      return order;
+    }
+  }
+
+  private static int saturatedInt(JsonParser parser) throws IOException {
+    if (parser.getNumberType() == JsonParser.NumberType.INT) {
+      return parser.getIntValue();
+    }
+    return parser.getBigIntegerValue().signum() < 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+  }
+
+  private static OffsetDateTime parseShipDate(JsonParser parser) throws IOException {
+    CharBuffer text =
+        CharBuffer.wrap(
+            parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    // Normalised to UTC, as the databind path does with Jackson's default context time zone
+    return SHIP_DATE_FORMAT.parse(text, OffsetDateTime::from).withOffsetSameInstant(ZoneOffset.UTC);
+  }
+
+  private static OrderStatus parseStatus(JsonParser parser) throws IOException {
+    char[] chars = parser.getTextCharacters();
+    int offset = parser.getTextOffset();
+    int length = parser.getTextLength();
+    for (OrderStatus status : STATUSES) {
+      if (matches(status.getValue(), chars, offset, length)) {
+        return status;
+      }
+    }
+    throw new JsonParseException(parser, "Unknown order status: " + parser.getText());
+  }
+
+  private static boolean matches(String value, char[] chars, int offset, int length) {
+    if (value.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.petstore.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a callback whenever one file changes, using an NIO {@link WatchService} on its directory.
+ * Editors often save in several steps (truncate, write, rename), so events arriving within {@link
+ * #SETTLE_MS} of each other are collapsed into one callback.
+ */
+final class ConfigFileWatcher implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ConfigFileWatcher.class);
+
+  static final long SETTLE_MS = 200;
+
+  private final Path file;
+  private final Runnable onChange;
+  private final WatchService watchService;
+  private final Thread thread;
+
+  private ConfigFileWatcher(Path file, Runnable onChange) throws IOException {
+    this.file = file.toAbsolutePath().normalize();
+    this.onChange = onChange;
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.file
+        .getParent()
+        .register(
+            watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+    this.thread = new Thread(this::run, "config-file-watcher");
+    thread.setDaemon(true);
+  }
+
+  /** Start watching {@code file}; its directory has to exist */
+  static ConfigFileWatcher start(Path file, Runnable onChange) throws IOException {
+    ConfigFileWatcher watcher = new ConfigFileWatcher(file, onChange);
+    watcher.thread.start();
+    log.info("Watching {} for configuration changes", watcher.file);
+    return watcher;
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        if (!concernsFile(watchService.take())) {
+          continue;
+        }
+        // Swallow the rest of a multi-step save before reloading
+        WatchKey next;
+        while ((next = watchService.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+          concernsFile(next);
+        }
+        try {
+          onChange.run();
+        } catch (RuntimeException e) {
+          log.warn("Reloading {} failed: {}", file, e.getMessage());
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // close() was called
+    }
+  }
+
+  private boolean concernsFile(WatchKey key) {
+    boolean matched = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      Object context = event.context();
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW
+          || (context instanceof Path && file.getFileName().equals(context))) {
+        matched = true;
+      }
+    }
+    key.reset();
+    return matched;
+  }
+
+  @Override
+  public void close() {
+    thread.interrupt();
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      log.debug("Could not close watch service: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.petstore.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.Getter;
+
+/**
+ * Immutable view of the configuration at one point in time. Every value is parsed once when the
+ * snapshot is built, so the typed getters are a map lookup; {@link ConfigurationManager} swaps in a
+ * new snapshot when the configuration is reloaded instead of mutating this one.
+ *
+ * <p>Invalid numbers are collected once, when the snapshot is built, and the numeric getters fall
+ * back to their default. A key counts as numeric when any layer sets it to a number or its value
+ * starts like one, e.g. {@code 30s}.
+ *
+ * <p>Layers, lowest precedence first: the environment properties file, the optional override file
+ * ({@code config.file}), environment variables with the {@value #ENV_PREFIX} prefix, and system
+ * properties. Environment variables map to keys by dropping the prefix, lower-casing and turning
+ * {@code __} into {@code -} and {@code _} into {@code .}, e.g. {@code PETSTORE_REQUEST_TIMEOUT} is
+ * {@code request.timeout} and {@code PETSTORE_REQUEST_TIMEOUT_PLACE__ORDER} is {@code
+ * request.timeout.place-order}. Of the last two layers only framework keys are taken: keys set in
+ * a properties file or under one of the {@link #NAMESPACES}, so JVM properties such as {@code
+ * java.version} are neither layered nor validated.
+ */
+public final class ConfigSnapshot {
+
+  /** Prefix of environment variables that override configuration keys */
+  public static final String ENV_PREFIX = "PETSTORE_";
+
+  /** First segments of the keys the framework reads, e.g. request for request.timeout.inventory */
+  static final Set<String> NAMESPACES =
+      Set.of(
+          "allure",
+          "await",
+          "base",
+          "circuit",
+          "cleanup",
+          "config",
+          "connection",
+          "executor",
+          "inventory",
+          "jackson",
+          "limiter",
+          "load",
+          "log",
+          "metrics",
+          "pool",
+          "request",
+          "retry",
+          "stub");
+
+  private final Map<String, Value> values;
+
+  /** -- GETTER -- Raw values of numeric keys that do not parse, sorted by key */
+  @Getter private final Map<String, String> invalidNumbers;
+
+  /** -- GETTER -- Incremented on every reload, 1 for the snapshot loaded at start-up */
+  @Getter private final long version;
+
+  private ConfigSnapshot(Map<String, String> merged, Set<String> numericKeys, long version) {
+    Map<String, Value> parsed = new HashMap<>(merged.size() * 2);
+    Map<String, String> invalid = new TreeMap<>();
+    merged.forEach(
+        (key, raw) -> {
+          Value value = new Value(raw);
+          parsed.put(key, value);
+          if (!value.blank
+              && value.asDouble == null
+              && (numericKeys.contains(key) || looksNumeric(raw.trim()))) {
+            invalid.put(key, raw);
+          }
+        });
+    this.values = Collections.unmodifiableMap(parsed);
+    this.invalidNumbers = Collections.unmodifiableMap(invalid);
+    this.version = version;
+  }
+
+  /** Merge the layers in precedence order; later maps override earlier ones */
+  @SafeVarargs
+  static ConfigSnapshot of(long version, Map<String, String>... layers) {
+    Map<String, String> merged = new LinkedHashMap<>();
+    Set<String> numericKeys = new HashSet<>();
+    for (Map<String, String> layer : layers) {
+      merged.putAll(layer);
+      layer.forEach(
+          (key, raw) -> {
+            if (Value.parseDouble(raw.trim()) != null) {
+              numericKeys.add(key);
+            }
+          });
+    }
+    return new ConfigSnapshot(merged, numericKeys, version);
+  }
+
+  static Map<String, String> toMap(Properties properties) {
+    Map<String, String> map = new LinkedHashMap<>();
+    for (String key : properties.stringPropertyNames()) {
+      map.put(key, properties.getProperty(key));
+    }
+    return map;
+  }
+
+  /** Configuration keys set through {@value #ENV_PREFIX}* environment variables */
+  static Map<String, String> fromEnvironment(Map<String, String> environment) {
+    Map<String, String> map = new LinkedHashMap<>();
+    environment.forEach(
+        (name, value) -> {
+          if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+            map.put(toKey(name.substring(ENV_PREFIX.length())), value);
+          }
+        });
+    return map;
+  }
+
+  /** Entries of the layer that are set in a properties file or under a framework namespace */
+  static Map<String, String> frameworkKeys(Map<String, String> layer, Set<String> fileKeys) {
+    Map<String, String> map = new LinkedHashMap<>();
+    layer.forEach(
+        (key, value) -> {
+          if (fileKeys.contains(key) || isFrameworkKey(key)) {
+            map.put(key, value);
+          }
+        });
+    return map;
+  }
+
+  private static boolean isFrameworkKey(String key) {
+    int dot = key.indexOf('.');
+    return dot > 0 && NAMESPACES.contains(key.substring(0, dot));
+  }
+
+  static String toKey(String envName) {
+    return envName.toLowerCase(Locale.ROOT).replace("__", "-").replace('_', '.');
+  }
+
+  public boolean contains(String key) {
+    return values.containsKey(key);
+  }
+
+  /** Raw value, or {@code defaultValue} when the key is not set */
+  public String getString(String key, String defaultValue) {
+    Value value = values.get(key);
+    return value == null ? defaultValue : value.raw;
+  }
+
+  /** Same rules as {@link Boolean#parseBoolean}: anything but "true" is false */
+  public boolean getBoolean(String key, boolean defaultValue) {
+    Value value = values.get(key);
+    return value == null ? defaultValue : value.asBoolean;
+  }
+
+  public int getInt(String key, int defaultValue) {
+    return (int) getLong(key, defaultValue);
+  }
+
+  public long getLong(String key, long defaultValue) {
+    Value value = values.get(key);
+    return value == null || value.asLong == null ? defaultValue : value.asLong;
+  }
+
+  public double getDouble(String key, double defaultValue) {
+    Value value = values.get(key);
+    return value == null || value.asDouble == null ? defaultValue : value.asDouble;
+  }
+
+  /** Keys whose value differs between this snapshot and {@code other}, sorted */
+  public Set<String> changedKeys(ConfigSnapshot other) {
+    Set<String> changed = new TreeSet<>();
+    for (String key : values.keySet()) {
+      Value theirs = other.values.get(key);
+      if (theirs == null || !theirs.raw.equals(values.get(key).raw)) {
+        changed.add(key);
+      }
+    }
+    for (String key : other.values.keySet()) {
+      if (!values.containsKey(key)) {
+        changed.add(key);
+      }
+    }
+    return changed;
+  }
+
+  /** Starts with a digit, optionally signed or after a decimal point, e.g. "30s" or "-1,5" */
+  private static boolean looksNumeric(String value) {
+    int i = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+    if (i < value.length() && value.charAt(i) == '.') {
+      i++;
+    }
+    return i < value.length() && Character.isDigit(value.charAt(i));
+  }
+
+  /** A raw value together with every typed form it parses to */
+  private static final class Value {
+    private final String raw;
+    private final boolean blank;
+    private final boolean asBoolean;
+    private final Long asLong;
+    private final Double asDouble;
+
+    private Value(String raw) {
+      String trimmed = raw.trim();
+      this.raw = raw;
+      this.blank = trimmed.isEmpty();
+      this.asBoolean = Boolean.parseBoolean(trimmed);
+      this.asLong = parseLong(trimmed);
+      this.asDouble = parseDouble(trimmed);
+    }
+
+    private static Long parseLong(String value) {
+      try {
+        return Long.parseLong(value);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    private static Double parseDouble(String value) {
+      try {
+        return Double.parseDouble(value);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+}
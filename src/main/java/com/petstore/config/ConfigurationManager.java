@@ -2,35 +2,62 @@ package com.petstore.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Configuration Manager using Singleton pattern Manages environment-specific properties */
+/**
+ * Configuration Manager using Singleton pattern Manages environment-specific properties. The
+ * getters read an immutable {@link ConfigSnapshot}; with {@code config.reload.enabled} the {@code
+ * config.file} override is watched and a changed file swaps in a new snapshot atomically.
+ */
 public class ConfigurationManager {
 
   private static final Logger log = LoggerFactory.getLogger(ConfigurationManager.class);
-  private static ConfigurationManager instance;
+  // A lock rather than synchronized: a virtual thread blocked on a monitor pins its carrier thread
+  private static final ReentrantLock INSTANCE_LOCK = new ReentrantLock();
+  private static volatile ConfigurationManager instance;
+  private final ReentrantLock reloadLock = new ReentrantLock();
   private Properties properties;
+  private volatile ConfigSnapshot snapshot;
   @Getter private final String environment;
 
   private ConfigurationManager() {
     // Read from system property ENV (matching your workflow: -DENV=staging)
     this.environment = System.getProperty("ENV", "dev"); // Default to dev if not specified
     loadProperties();
+    this.snapshot = buildSnapshot(1);
+    snapshot.getInvalidNumbers().forEach(ConfigurationManager::warnInvalidNumber);
+    startWatcherIfEnabled();
   }
 
   public static ConfigurationManager getInstance() {
     if (instance != null) {
       return instance;
     }
-    synchronized (ConfigurationManager.class) {
+    INSTANCE_LOCK.lock();
+    try {
       if (instance == null) {
         instance = new ConfigurationManager();
       }
+      return instance;
+    } finally {
+      INSTANCE_LOCK.unlock();
     }
-    return instance;
   }
 
   private void loadProperties() {
@@ -68,24 +95,513 @@ public class ConfigurationManager {
     }
   }
 
+  /** The configuration currently in effect; hold on to it to read several consistent values */
+  public ConfigSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Re-read the override file, environment variables and system properties and swap in a new
+   * snapshot if anything changed. Clients rebuild their timeouts and logging on their next request
+   * and the client rate limit is replaced; settings of shared components created once, such as the
+   * connection pool, circuit breakers and caches, keep their start-up values.
+   *
+   * @return true if the configuration changed
+   */
+  public boolean reload() {
+    reloadLock.lock();
+    try {
+      ConfigSnapshot current = snapshot;
+      ConfigSnapshot reloaded = buildSnapshot(current.getVersion() + 1);
+      Set<String> changed = reloaded.changedKeys(current);
+      if (changed.isEmpty()) {
+        return false;
+      }
+      snapshot = reloaded;
+      log.info("Configuration reloaded (version {}), changed: {}", reloaded.getVersion(), changed);
+      // Unchanged invalid values were reported when they were first loaded
+      reloaded
+          .getInvalidNumbers()
+          .forEach(
+              (key, value) -> {
+                if (changed.contains(key)) {
+                  warnInvalidNumber(key, value);
+                }
+              });
+      return true;
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Layers the override file, environment variables and system properties over the env file. Only
+   * framework keys are taken from the last two, see {@link ConfigSnapshot#frameworkKeys}.
+   */
+  private ConfigSnapshot buildSnapshot(long version) {
+    Map<String, String> fileLayer = ConfigSnapshot.toMap(properties);
+    Map<String, String> environment = ConfigSnapshot.fromEnvironment(System.getenv());
+    Map<String, String> systemProperties = ConfigSnapshot.toMap(System.getProperties());
+    Path overrideFile =
+        getOverrideFile(
+            ConfigSnapshot.of(
+                version,
+                fileLayer,
+                ConfigSnapshot.frameworkKeys(environment, fileLayer.keySet()),
+                ConfigSnapshot.frameworkKeys(systemProperties, fileLayer.keySet())));
+    Map<String, String> overrideLayer = loadOverrideFile(overrideFile);
+    Set<String> fileKeys = new HashSet<>(fileLayer.keySet());
+    fileKeys.addAll(overrideLayer.keySet());
+    return ConfigSnapshot.of(
+        version,
+        fileLayer,
+        overrideLayer,
+        ConfigSnapshot.frameworkKeys(environment, fileKeys),
+        ConfigSnapshot.frameworkKeys(systemProperties, fileKeys));
+  }
+
+  private static void warnInvalidNumber(String key, String value) {
+    log.warn("Invalid numeric value '{}' for {}, using the default", value, key);
+  }
+
+  private static Path getOverrideFile(ConfigSnapshot layers) {
+    String file = layers.getString("config.file", "").trim();
+    return file.isEmpty() ? null : Paths.get(file);
+  }
+
+  private static Map<String, String> loadOverrideFile(Path file) {
+    if (file == null) {
+      return Collections.emptyMap();
+    }
+    Properties overrides = new Properties();
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      overrides.load(reader);
+    } catch (IOException e) {
+      log.warn("Could not read configuration override {}: {}", file, e.getMessage());
+    }
+    return ConfigSnapshot.toMap(overrides);
+  }
+
+  private void startWatcherIfEnabled() {
+    if (!snapshot.getBoolean("config.reload.enabled", false)) {
+      return;
+    }
+    Path overrideFile = getOverrideFile(snapshot);
+    if (overrideFile == null) {
+      log.warn("config.reload.enabled is set, but there is no config.file to watch");
+      return;
+    }
+    try {
+      // Daemon thread for the lifetime of the JVM, like the singleton itself
+      ConfigFileWatcher.start(overrideFile, this::reload);
+    } catch (IOException e) {
+      log.warn("Hot reload disabled, cannot watch {}: {}", overrideFile, e.toString());
+    }
+  }
+
   private void setHardcodedDefaults() {
     log.warn("Using hardcoded default values");
     properties.setProperty("base.url", "https://petstore.swagger.io/v2");
     properties.setProperty("request.timeout", "30000");
     properties.setProperty("connection.timeout", "10000");
+    properties.setProperty("request.prepared.enabled", "false");
     properties.setProperty("log.requests", "true");
     properties.setProperty("log.responses", "true");
+    properties.setProperty("log.async", "false");
+    properties.setProperty("log.body.max.chars", "0");
+    properties.setProperty("pool.max.total", "200");
+    properties.setProperty("pool.max.per.route", "50");
+    properties.setProperty("pool.keep.alive.ms", "30000");
+    properties.setProperty("pool.idle.timeout.ms", "30000");
+    properties.setProperty("pool.eviction.interval.ms", "5000");
+    properties.setProperty("pool.stale.check.enabled", "false");
+    properties.setProperty("cleanup.concurrency", "16");
+    properties.setProperty("cleanup.request.timeout.ms", "10000");
+    properties.setProperty("cleanup.max.retries", "2");
+    properties.setProperty("cleanup.retry.delay.ms", "200");
+    properties.setProperty("retry.max.attempts", "3");
+    properties.setProperty("retry.base.delay.ms", "100");
+    properties.setProperty("retry.max.delay.ms", "2000");
+    properties.setProperty("retry.budget.ratio", "0.1");
+    properties.setProperty("retry.budget.initial.tokens", "10");
+    properties.setProperty("retry.budget.max.tokens", "100");
+    properties.setProperty("circuit.breaker.enabled", "true");
+    properties.setProperty("stub.enabled", "false");
+    properties.setProperty("jackson.blackbird.enabled", "false");
+    properties.setProperty("allure.mode", "full");
+    properties.setProperty("allure.sample.rate", "0.01");
+    properties.setProperty("metrics.enabled", "true");
+    properties.setProperty("metrics.export.interval.ms", "10000");
+    properties.setProperty("metrics.prometheus.file", "target/metrics/petstore-client.prom");
+    properties.setProperty("metrics.console.enabled", "false");
+    properties.setProperty("inventory.monitor.interval.ms", "1000");
+    properties.setProperty("inventory.monitor.monotonic.statuses", "placed");
+    properties.setProperty("config.reload.enabled", "false");
+    properties.setProperty("executor.mode", "platform");
+    properties.setProperty("await.timeout.ms", "10000");
+    properties.setProperty("await.poll.initial.ms", "25");
+    properties.setProperty("await.poll.max.ms", "1000");
+    properties.setProperty("limiter.rate.per.second", "0");
+    properties.setProperty("limiter.concurrency.enabled", "false");
+    properties.setProperty("inventory.cache.enabled", "false");
+    properties.setProperty("load.target.rps", "10");
   }
 
   public String getBaseUrl() {
-    return properties.getProperty("base.url", "https://petstore.swagger.io/v2");
+    return snapshot.getString("base.url", "https://petstore.swagger.io/v2");
   }
 
   public boolean isRequestLoggingEnabled() {
-    return Boolean.parseBoolean(properties.getProperty("log.requests", "true"));
+    return snapshot.getBoolean("log.requests", true);
   }
 
   public boolean isResponseLoggingEnabled() {
-    return Boolean.parseBoolean(properties.getProperty("log.responses", "true"));
+    return snapshot.getBoolean("log.responses", true);
+  }
+
+  /** Hand request/response logs to SLF4J (and its async appender) instead of System.out */
+  public boolean isAsyncLoggingEnabled() {
+    return snapshot.getBoolean("log.async", false);
+  }
+
+  /** Longest logged request/response in characters before it is truncated; 0 = unlimited */
+  public int getLogBodyMaxChars() {
+    return getInt("log.body.max.chars", 0);
+  }
+
+  /** Register Jackson's Blackbird module on the shared ObjectMapper */
+  public boolean isJacksonBlackbirdEnabled() {
+    return snapshot.getBoolean("jackson.blackbird.enabled", false);
+  }
+
+  /** Threads load runs use unless their profile says otherwise: platform or virtual (Java 21+) */
+  public String getExecutorMode() {
+    return snapshot.getString("executor.mode", "platform");
+  }
+
+  // ==================== TIMEOUTS ====================
+
+  /** Read (socket) timeout applied to every request unless overridden per operation */
+  public int getRequestTimeoutMs() {
+    return getInt("request.timeout", 30000);
+  }
+
+  /** Per-operation read timeout from request.timeout.{operationKey}, else the default */
+  public int getRequestTimeoutMs(String operationKey) {
+    return getInt("request.timeout." + operationKey, getRequestTimeoutMs());
+  }
+
+  public int getConnectionTimeoutMs() {
+    return getInt("connection.timeout", 10000);
+  }
+
+  /** Send StoreApiClient's typed calls as prepared requests instead of through REST Assured */
+  public boolean isPreparedRequestsEnabled() {
+    return snapshot.getBoolean("request.prepared.enabled", false);
+  }
+
+  // ==================== CONNECTION POOL ====================
+
+  public int getPoolMaxTotal() {
+    return getInt("pool.max.total", 200);
+  }
+
+  public int getPoolMaxPerRoute() {
+    return getInt("pool.max.per.route", 50);
+  }
+
+  public long getPoolKeepAliveMs() {
+    return getLong("pool.keep.alive.ms", 30000L);
+  }
+
+  public long getPoolIdleTimeoutMs() {
+    return getLong("pool.idle.timeout.ms", 30000L);
+  }
+
+  public long getPoolEvictionIntervalMs() {
+    return getLong("pool.eviction.interval.ms", 5000L);
+  }
+
+  /**
+   * Check a pooled connection for staleness every time it is leased. HttpClient 4's legacy API
+   * cannot limit this to connections idle for some time, so it is a plain on/off switch.
+   */
+  public boolean isPoolStaleCheckEnabled() {
+    return snapshot.getBoolean("pool.stale.check.enabled", false);
+  }
+
+  // ==================== CLEANUP ====================
+
+  /** Maximum number of order deletions in flight during batch cleanup */
+  public int getCleanupConcurrency() {
+    return getInt("cleanup.concurrency", 16);
+  }
+
+  public long getCleanupRequestTimeoutMs() {
+    return getLong("cleanup.request.timeout.ms", 10000L);
+  }
+
+  public int getCleanupMaxRetries() {
+    return getInt("cleanup.max.retries", 2);
+  }
+
+  public long getCleanupRetryDelayMs() {
+    return getLong("cleanup.retry.delay.ms", 200L);
+  }
+
+  // ==================== RETRY ====================
+
+  /** Total attempts per call, including the first one */
+  public int getRetryMaxAttempts() {
+    return getInt("retry.max.attempts", 3);
+  }
+
+  public long getRetryBaseDelayMs() {
+    return getLong("retry.base.delay.ms", 100L);
+  }
+
+  public long getRetryMaxDelayMs() {
+    return getLong("retry.max.delay.ms", 2000L);
+  }
+
+  /** Retries allowed per request across all clients, e.g. 0.1 caps retry traffic at ~10% */
+  public double getRetryBudgetRatio() {
+    return getDouble("retry.budget.ratio", 0.1);
+  }
+
+  public int getRetryBudgetInitialTokens() {
+    return getInt("retry.budget.initial.tokens", 10);
+  }
+
+  public int getRetryBudgetMaxTokens() {
+    return getInt("retry.budget.max.tokens", 100);
+  }
+
+  // ==================== CIRCUIT BREAKER ====================
+  // Each setting can be overridden per endpoint: circuit.breaker.{endpointKey}.{setting}
+
+  public boolean isCircuitBreakerEnabled() {
+    return snapshot.getBoolean("circuit.breaker.enabled", true);
+  }
+
+  public int getCircuitBreakerWindowSize(String endpointKey) {
+    return getInt(
+        circuitBreakerKey(endpointKey, "window.size"), getInt("circuit.breaker.window.size", 20));
+  }
+
+  public int getCircuitBreakerMinimumCalls(String endpointKey) {
+    return getInt(
+        circuitBreakerKey(endpointKey, "minimum.calls"),
+        getInt("circuit.breaker.minimum.calls", 10));
+  }
+
+  /** Failure percentage that opens the breaker */
+  public float getCircuitBreakerFailureRateThreshold(String endpointKey) {
+    return (float)
+        getDouble(
+            circuitBreakerKey(endpointKey, "failure.rate.threshold"),
+            getDouble("circuit.breaker.failure.rate.threshold", 50));
+  }
+
+  /** Slow-call percentage that opens the breaker */
+  public float getCircuitBreakerSlowCallRateThreshold(String endpointKey) {
+    return (float)
+        getDouble(
+            circuitBreakerKey(endpointKey, "slow.call.rate.threshold"),
+            getDouble("circuit.breaker.slow.call.rate.threshold", 80));
+  }
+
+  public long getCircuitBreakerSlowCallMs(String endpointKey) {
+    return getLong(
+        circuitBreakerKey(endpointKey, "slow.call.ms"),
+        getLong("circuit.breaker.slow.call.ms", 5000L));
+  }
+
+  /** How long an open breaker fails fast before allowing trial calls */
+  public long getCircuitBreakerOpenMs(String endpointKey) {
+    return getLong(
+        circuitBreakerKey(endpointKey, "open.ms"), getLong("circuit.breaker.open.ms", 10000L));
+  }
+
+  public int getCircuitBreakerHalfOpenCalls(String endpointKey) {
+    return getInt(
+        circuitBreakerKey(endpointKey, "half.open.calls"),
+        getInt("circuit.breaker.half.open.calls", 3));
+  }
+
+  private static String circuitBreakerKey(String endpointKey, String setting) {
+    return "circuit.breaker." + endpointKey + "." + setting;
+  }
+
+  // ==================== LOCAL STUB SERVER ====================
+
+  /** Serve the store API in-process on base.url instead of calling a remote backend */
+  public boolean isStubServerEnabled() {
+    return snapshot.getBoolean("stub.enabled", false);
+  }
+
+  public long getStubLatencyMs() {
+    return getLong("stub.latency.ms", 0L);
+  }
+
+  public long getStubLatencyJitterMs() {
+    return getLong("stub.latency.jitter.ms", 0L);
+  }
+
+  /** Fraction of stub responses replaced by a 500 error */
+  public double getStubErrorRate() {
+    return getDouble("stub.error.rate", 0.0);
+  }
+
+  public int getStubThreads() {
+    return getInt("stub.threads", 32);
+  }
+
+  // ==================== ALLURE REPORTING ====================
+
+  /** Default Allure mode (full or sampled) for suites that do not set allure.mode themselves */
+  public String getAllureMode() {
+    return snapshot.getString("allure.mode", "full");
+  }
+
+  /** Fraction of successful calls attached in sampled mode; failed calls are always attached */
+  public double getAllureSampleRate() {
+    return getDouble("allure.sample.rate", 0.01);
+  }
+
+  /** Attachments waiting to be written before request threads write them themselves */
+  public int getAllureAttachmentQueueCapacity() {
+    return getInt("allure.attachment.queue.capacity", 1000);
+  }
+
+  public long getAllureFlushTimeoutMs() {
+    return getLong("allure.flush.timeout.ms", 30000L);
+  }
+
+  // ==================== CLIENT METRICS ====================
+
+  /** Record every API call in ClientMetrics through the MetricsFilter */
+  public boolean isMetricsEnabled() {
+    return snapshot.getBoolean("metrics.enabled", true);
+  }
+
+  public long getMetricsExportIntervalMs() {
+    return getLong("metrics.export.interval.ms", 10000L);
+  }
+
+  /** Prometheus text file rewritten on every export; empty disables the file export */
+  public String getMetricsPrometheusFile() {
+    return snapshot.getString("metrics.prometheus.file", "").trim();
+  }
+
+  /** Log the metrics table on every export */
+  public boolean isMetricsConsoleEnabled() {
+    return snapshot.getBoolean("metrics.console.enabled", false);
+  }
+
+  // ==================== INVENTORY DRIFT MONITOR ====================
+
+  /** Delay between the end of one inventory poll and the start of the next */
+  public long getInventoryMonitorIntervalMs() {
+    return getLong("inventory.monitor.interval.ms", 1000L);
+  }
+
+  /** Comma-separated statuses whose inventory count must never decrease */
+  public Set<String> getInventoryMonitorMonotonicStatuses() {
+    String value = snapshot.getString("inventory.monitor.monotonic.statuses", "placed");
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(status -> !status.isEmpty())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  // ==================== AWAITING ====================
+
+  /** Longest time Awaiter polls an eventually consistent condition before failing */
+  public long getAwaitTimeoutMs() {
+    return getLong("await.timeout.ms", 10000L);
+  }
+
+  /** Delay after the first unsuccessful poll; doubles up to await.poll.max.ms */
+  public long getAwaitInitialPollMs() {
+    return getLong("await.poll.initial.ms", 25L);
+  }
+
+  public long getAwaitMaxPollMs() {
+    return getLong("await.poll.max.ms", 1000L);
+  }
+
+  // ==================== CLIENT LIMITER ====================
+
+  /** Sustained client-side request rate across all clients; 0 disables the rate limit */
+  public double getLimiterRatePerSecond() {
+    return getDouble("limiter.rate.per.second", 0);
+  }
+
+  /** Requests that may be sent back to back after an idle period */
+  public int getLimiterRateBurst() {
+    return getInt("limiter.rate.burst", 10);
+  }
+
+  /** Whether requests in flight are capped by a limit that adapts to latency and throttling */
+  public boolean isConcurrencyLimiterEnabled() {
+    return snapshot.getBoolean("limiter.concurrency.enabled", false);
+  }
+
+  public int getConcurrencyLimiterInitial() {
+    return getInt("limiter.concurrency.initial", 20);
+  }
+
+  public int getConcurrencyLimiterMin() {
+    return getInt("limiter.concurrency.min", 2);
+  }
+
+  public int getConcurrencyLimiterMax() {
+    return getInt("limiter.concurrency.max", 100);
+  }
+
+  /** Latency, as a multiple of the lowest recently observed, above which the limit backs off */
+  public double getConcurrencyLimiterLatencyTolerance() {
+    return getDouble("limiter.concurrency.latency.tolerance", 2.0);
+  }
+
+  /** Factor applied to the concurrency limit on congestion */
+  public double getConcurrencyLimiterBackoffRatio() {
+    return getDouble("limiter.concurrency.backoff.ratio", 0.9);
+  }
+
+  // ==================== INVENTORY CACHE ====================
+
+  /** Serve GET /store/inventory from a short-lived cache and coalesce concurrent identical calls */
+  public boolean isInventoryCacheEnabled() {
+    return snapshot.getBoolean("inventory.cache.enabled", false);
+  }
+
+  /** How long a cached inventory is served; read once, when the cache is created */
+  public long getInventoryCacheTtlMs() {
+    return getLong("inventory.cache.ttl.ms", 250L);
+  }
+
+  public int getInventoryCacheMaxEntries() {
+    return getInt("inventory.cache.max.entries", 16);
+  }
+
+  // ==================== LOAD GENERATION ====================
+
+  /** Arrival rate of load profiles that do not set their own; live with followConfiguredRate */
+  public double getLoadTargetRps() {
+    return getDouble("load.target.rps", 10);
+  }
+
+  private int getInt(String key, int defaultValue) {
+    return snapshot.getInt(key, defaultValue);
+  }
+
+  private long getLong(String key, long defaultValue) {
+    return snapshot.getLong(key, defaultValue);
+  }
+
+  private double getDouble(String key, double defaultValue) {
+    return snapshot.getDouble(key, defaultValue);
   }
 }
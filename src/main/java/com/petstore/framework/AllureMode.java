@@ -0,0 +1,20 @@
+package com.petstore.framework;
+
+/** How much detail Allure records for API calls and steps, see {@link AllureReporting} */
+public enum AllureMode {
+  /** Every request and response attached, every step kept - the default for functional suites */
+  FULL,
+  /**
+   * Attachments only for failed calls plus a random sample of the rest, written off the request
+   * thread, and repeated sibling steps collapsed into one - meant for load and high-volume suites
+   */
+  SAMPLED;
+
+  /** Mode for a suite parameter or property value, case-insensitive; FULL when blank */
+  public static AllureMode from(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return FULL;
+    }
+    return valueOf(value.trim().toUpperCase());
+  }
+}
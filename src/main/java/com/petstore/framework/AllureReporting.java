@@ -0,0 +1,65 @@
+package com.petstore.framework;
+
+import com.petstore.config.ConfigurationManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Installs the global REST Assured Allure filter for an {@link AllureMode}. FULL keeps the stock
+ * {@code AllureRestAssured}; SAMPLED installs a {@link SampledAllureFilter} with an {@link
+ * AsyncAttachmentWriter} and switches on {@link StepAggregationListener}. Suites choose the mode
+ * with an {@code allure.mode} parameter in their XML, falling back to the environment properties.
+ */
+public final class AllureReporting {
+
+  private static final Logger log = LoggerFactory.getLogger(AllureReporting.class);
+
+  /** Suite parameter and property name selecting the mode */
+  public static final String MODE_PARAMETER = "allure.mode";
+
+  private static volatile AllureMode mode = AllureMode.FULL;
+  private static AsyncAttachmentWriter writer;
+
+  private AllureReporting() {}
+
+  public static AllureMode getMode() {
+    return mode;
+  }
+
+  /** Replace all global REST Assured filters with the Allure filter of the mode */
+  public static synchronized void configure(AllureMode newMode) {
+    ConfigurationManager config = ConfigurationManager.getInstance();
+    if (newMode == AllureMode.SAMPLED) {
+      if (writer == null) {
+        writer =
+            new AsyncAttachmentWriter(
+                Allure.getLifecycle(), config.getAllureAttachmentQueueCapacity());
+        AsyncAttachmentWriter shutdownWriter = writer;
+        Runtime.getRuntime()
+            .addShutdownHook(
+                new Thread(
+                    () -> shutdownWriter.close(config.getAllureFlushTimeoutMs()),
+                    "allure-attachment-writer-shutdown"));
+      }
+      RestAssured.replaceFiltersWith(new SampledAllureFilter(config.getAllureSampleRate(), writer));
+    } else {
+      RestAssured.replaceFiltersWith(new AllureRestAssured());
+    }
+    mode = newMode;
+    log.info(
+        "Allure reporting mode: {}{}",
+        newMode,
+        newMode == AllureMode.SAMPLED ? " (sample rate " + config.getAllureSampleRate() + ")" : "");
+  }
+
+  /** Wait for attachments still being written; call before the results are collected */
+  public static synchronized void flush() {
+    if (writer != null) {
+      writer.flush(ConfigurationManager.getInstance().getAllureFlushTimeoutMs());
+      log.info("Allure attachments written asynchronously: {}", writer.getWrittenCount());
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.petstore.framework;
+
+import io.qameta.allure.AllureLifecycle;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders and writes Allure attachments on a single background thread. The caller reserves the
+ * attachment with {@link AllureLifecycle#prepareAttachment}, which only links a file name to the
+ * current test or step, and hands the expensive part - template rendering and file I/O - to this
+ * writer. When the queue is full the caller writes the attachment itself, which bounds memory and
+ * slows producers down instead of dropping attachments that are already linked.
+ */
+public class AsyncAttachmentWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncAttachmentWriter.class);
+
+  private final AllureLifecycle lifecycle;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder written = new LongAdder();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  public AsyncAttachmentWriter(AllureLifecycle lifecycle, int queueCapacity) {
+    this.lifecycle = lifecycle;
+    this.executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "allure-attachment-writer");
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /** Write the content produced by {@code render} into the prepared attachment {@code source} */
+  public void write(String source, Supplier<String> render) {
+    pending.incrementAndGet();
+    executor.execute(
+        () -> {
+          try {
+            byte[] content = render.get().getBytes(StandardCharsets.UTF_8);
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+            written.increment();
+          } catch (RuntimeException e) {
+            log.warn("Could not write Allure attachment {}: {}", source, e.getMessage());
+          } finally {
+            pending.decrementAndGet();
+          }
+        });
+  }
+
+  public long getWrittenCount() {
+    return written.sum();
+  }
+
+  /** Wait until every attachment queued so far has been written; the writer stays usable */
+  public void flush(long timeoutMs) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    while (pending.get() > 0) {
+      if (System.nanoTime() - deadline >= 0) {
+        log.warn("{} Allure attachments still pending after {}ms", pending.get(), timeoutMs);
+        return;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+  }
+
+  /** Stop accepting attachments and wait until every queued one has been written */
+  public void close(long timeoutMs) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+        log.warn("{} Allure attachments still pending after {}ms", pending.get(), timeoutMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.petstore.framework;
+
+import com.petstore.client.AsyncStoreApiClient;
+import com.petstore.client.StoreApiException;
+import com.petstore.config.ConfigurationManager;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes many orders concurrently through the non-blocking client. At most {@code concurrency}
+ * deletions are in flight at any time, and 5xx responses or transport failures are retried. Each
+ * request is bounded by the HTTP request timeout, which aborts the exchange itself, so a permit is
+ * only released once its request has really finished. Cleanup time therefore grows with orders /
+ * concurrency instead of with the number of orders. Safe to share across threads; share one per
+ * suite, as every instance built by {@link #fromConfiguration} owns an HttpClient and its threads.
+ */
+public class BatchOrderCleaner {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchOrderCleaner.class);
+
+  /** Status used for failures that never produced an HTTP response, e.g. timeouts */
+  private static final int NO_RESPONSE = -1;
+
+  private final AsyncStoreApiClient client;
+  private final int concurrency;
+  private final Duration requestTimeout;
+  private final int maxRetries;
+  private final Duration retryDelay;
+
+  public BatchOrderCleaner(
+      AsyncStoreApiClient client,
+      int concurrency,
+      Duration requestTimeout,
+      int maxRetries,
+      Duration retryDelay) {
+    this.client = client;
+    this.concurrency = concurrency;
+    this.requestTimeout = requestTimeout;
+    this.maxRetries = maxRetries;
+    this.retryDelay = retryDelay;
+  }
+
+  /** Cleaner configured from cleanup.* properties */
+  public static BatchOrderCleaner fromConfiguration(ConfigurationManager config) {
+    return new BatchOrderCleaner(
+        new AsyncStoreApiClient(),
+        config.getCleanupConcurrency(),
+        Duration.ofMillis(config.getCleanupRequestTimeoutMs()),
+        config.getCleanupMaxRetries(),
+        Duration.ofMillis(config.getCleanupRetryDelayMs()));
+  }
+
+  /**
+   * Delete all given orders and block until every deletion has finished or given up.
+   *
+   * @param isSuccessfulCleanup decides which final status codes count as cleaned up; successful
+   *     codes other than 200 are reported as already gone
+   */
+  public CleanupSummary cleanup(Collection<Long> orderIds, IntPredicate isSuccessfulCleanup) {
+    long start = System.nanoTime();
+    Map<Long, Integer> finalStatuses = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> deletions = new ArrayList<>(orderIds.size());
+    Semaphore permits = new Semaphore(concurrency);
+
+    for (Long orderId : orderIds) {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn(
+            "Cleanup interrupted, {} orders were not scheduled",
+            orderIds.size() - deletions.size());
+        break;
+      }
+      deletions.add(
+          deleteWithRetry(orderId, 0)
+              .thenAccept(status -> finalStatuses.put(orderId, status))
+              .whenComplete((ignored, error) -> permits.release()));
+    }
+    CompletableFuture.allOf(deletions.toArray(new CompletableFuture<?>[0])).join();
+
+    int deleted = 0;
+    int alreadyGone = 0;
+    List<Long> failed = new ArrayList<>();
+    for (Long orderId : orderIds) {
+      int status = finalStatuses.getOrDefault(orderId, NO_RESPONSE);
+      if (status == HttpURLConnection.HTTP_OK) {
+        deleted++;
+      } else if (isSuccessfulCleanup.test(status)) {
+        alreadyGone++;
+      } else {
+        log.warn("Cleanup failed for order {} with status {}", orderId, status);
+        failed.add(orderId);
+      }
+    }
+
+    CleanupSummary summary =
+        new CleanupSummary(
+            deleted, alreadyGone, failed, Duration.ofNanos(System.nanoTime() - start));
+    log.info("Batch cleanup finished: {}", summary);
+    return summary;
+  }
+
+  private CompletableFuture<Integer> deleteWithRetry(Long orderId, int attempt) {
+    return deleteOnce(orderId)
+        .thenCompose(
+            status -> {
+              if (!isRetryable(status) || attempt >= maxRetries) {
+                return CompletableFuture.completedFuture(status);
+              }
+              log.debug("Retrying deletion of order {} after status {}", orderId, status);
+              long delayMs = retryDelay.toMillis() * (attempt + 1);
+              return CompletableFuture.runAsync(
+                      () -> {}, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                  .thenCompose(ignored -> deleteWithRetry(orderId, attempt + 1));
+            });
+  }
+
+  private CompletableFuture<Integer> deleteOnce(Long orderId) {
+    // Not orTimeout(): that fails only the future and leaves the exchange running
+    return client
+        .deleteOrder(orderId, requestTimeout)
+        .handle((ignored, error) -> error == null ? HttpURLConnection.HTTP_OK : statusOf(error));
+  }
+
+  private static int statusOf(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (cause instanceof StoreApiException) {
+      return ((StoreApiException) cause).getStatusCode();
+    }
+    log.debug("Deletion failed without a response: {}", String.valueOf(cause));
+    return NO_RESPONSE;
+  }
+
+  private static boolean isRetryable(int status) {
+    return status == NO_RESPONSE || status >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+  }
+}
@@ -0,0 +1,43 @@
+package com.petstore.framework;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+
+/** Result of a {@link BatchOrderCleaner} run */
+@Getter
+public class CleanupSummary {
+
+  private final int deleted;
+  private final int alreadyGone;
+  private final List<Long> failedOrderIds;
+  private final Duration duration;
+
+  public CleanupSummary(
+      int deleted, int alreadyGone, List<Long> failedOrderIds, Duration duration) {
+    this.deleted = deleted;
+    this.alreadyGone = alreadyGone;
+    this.failedOrderIds = List.copyOf(failedOrderIds);
+    this.duration = duration;
+  }
+
+  public int getFailed() {
+    return failedOrderIds.size();
+  }
+
+  public int getTotal() {
+    return deleted + alreadyGone + getFailed();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "total=%d, deleted=%d, alreadyGone=%d, failed=%d, duration=%dms%s",
+        getTotal(),
+        deleted,
+        alreadyGone,
+        getFailed(),
+        duration.toMillis(),
+        failedOrderIds.isEmpty() ? "" : ", failedIds=" + failedOrderIds);
+  }
+}
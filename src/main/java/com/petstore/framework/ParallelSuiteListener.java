@@ -0,0 +1,43 @@
+package com.petstore.framework;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Overrides the suite thread count from the {@code test.threads} system property, so the same
+ * parallel suite XML can be run with e.g. {@code -Dtest.threads=16}
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+  private static final Logger log = LoggerFactory.getLogger(ParallelSuiteListener.class);
+  public static final String THREADS_PROPERTY = "test.threads";
+
+  @Override
+  public void alter(List<XmlSuite> suites) {
+    String threads = System.getProperty(THREADS_PROPERTY);
+    if (threads == null || threads.trim().isEmpty()) {
+      return;
+    }
+
+    int threadCount;
+    try {
+      threadCount = Integer.parseInt(threads.trim());
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring invalid {}={}", THREADS_PROPERTY, threads);
+      return;
+    }
+
+    for (XmlSuite suite : suites) {
+      suite.setThreadCount(threadCount);
+      suite.setDataProviderThreadCount(threadCount);
+      log.info(
+          "Suite '{}' runs with parallel={} and {} threads",
+          suite.getName(),
+          suite.getParallel(),
+          threadCount);
+    }
+  }
+}
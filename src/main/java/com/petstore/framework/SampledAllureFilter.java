@@ -0,0 +1,125 @@
+package com.petstore.framework;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead replacement for {@code AllureRestAssured}. A call is only attached when it failed
+ * (4xx/5xx or no response at all) or falls into the random sample; every other call costs one
+ * random number. Attachments use the same templates as {@code AllureRestAssured}, but are rendered
+ * and written by an {@link AsyncAttachmentWriter}, so the request thread only links the file names.
+ */
+public class SampledAllureFilter implements OrderedFilter {
+
+  private static final FreemarkerAttachmentRenderer REQUEST_TEMPLATE =
+      new FreemarkerAttachmentRenderer("http-request.ftl");
+  private static final FreemarkerAttachmentRenderer RESPONSE_TEMPLATE =
+      new FreemarkerAttachmentRenderer("http-response.ftl");
+  private static final String HTML = "text/html";
+
+  private final double sampleRate;
+  private final AsyncAttachmentWriter writer;
+  private final AllureLifecycle lifecycle = Allure.getLifecycle();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder attached = new LongAdder();
+
+  /** @param sampleRate fraction (0.0 - 1.0) of successful calls that are attached as well */
+  public SampledAllureFilter(double sampleRate, AsyncAttachmentWriter writer) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("sampleRate must be within [0, 1], got " + sampleRate);
+    }
+    this.sampleRate = sampleRate;
+    this.writer = writer;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    calls.increment();
+    Response response;
+    try {
+      response = ctx.next(requestSpec, responseSpec);
+    } catch (Exception e) {
+      // No response to show, but the request that failed is worth keeping
+      attach("Request", REQUEST_TEMPLATE, requestAttachment(requestSpec));
+      throw e;
+    }
+    if (response.getStatusCode() >= 400 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      attach("Request", REQUEST_TEMPLATE, requestAttachment(requestSpec));
+      attach("Response", RESPONSE_TEMPLATE, responseAttachment(requestSpec, response));
+    }
+    return response;
+  }
+
+  /** Same position as AllureRestAssured: last, closest to the wire */
+  @Override
+  public int getOrder() {
+    return Integer.MAX_VALUE;
+  }
+
+  public long getCallCount() {
+    return calls.sum();
+  }
+
+  public long getAttachedCount() {
+    return attached.sum();
+  }
+
+  private void attach(String name, FreemarkerAttachmentRenderer template, AttachmentData data) {
+    // Links the attachment to the running test or step; rendering and I/O happen asynchronously
+    String source = lifecycle.prepareAttachment(name, HTML, ".html");
+    writer.write(source, () -> template.render(data).getContent());
+    attached.increment();
+  }
+
+  private static AttachmentData requestAttachment(FilterableRequestSpecification requestSpec) {
+    Object body = requestSpec.getBody();
+    HttpRequestAttachment.Builder builder =
+        HttpRequestAttachment.Builder.create("Request", requestSpec.getURI())
+            .setMethod(requestSpec.getMethod())
+            .setHeaders(toMap(requestSpec.getHeaders()));
+    if (body != null) {
+      builder.setBody(
+          body instanceof byte[]
+              ? new String((byte[]) body, StandardCharsets.UTF_8)
+              : body.toString());
+    }
+    return builder.build();
+  }
+
+  private static AttachmentData responseAttachment(
+      FilterableRequestSpecification requestSpec, Response response) {
+    return HttpResponseAttachment.Builder.create(response.getStatusLine())
+        .setUrl(requestSpec.getURI())
+        .setResponseCode(response.getStatusCode())
+        .setHeaders(toMap(response.getHeaders()))
+        .setBody(response.getBody().asString())
+        .build();
+  }
+
+  private static Map<String, String> toMap(Headers headers) {
+    Map<String, String> map = new LinkedHashMap<>();
+    for (Header header : headers) {
+      map.merge(header.getName(), header.getValue(), (first, next) -> first + "; " + next);
+    }
+    return map;
+  }
+}
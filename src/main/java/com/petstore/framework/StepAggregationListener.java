@@ -0,0 +1,66 @@
+package com.petstore.framework;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Collapses runs of repeated sibling steps before a test result is written, while the {@link
+ * AllureMode#SAMPLED} mode is active. Steps belong to the same run when they have the same status
+ * and the same name once numbers are ignored, so fifty "Measure inventory response time" or
+ * "response time: 123ms" steps become one step spanning all of them, named e.g. "... (x50)". The
+ * first step of a run keeps its parameters and sub-steps; attachments of all steps are kept.
+ * Registered through META-INF/services, so Allure picks it up on its own.
+ */
+public class StepAggregationListener implements TestLifecycleListener {
+
+  private static final Pattern NUMBERS = Pattern.compile("\\d+(\\.\\d+)?");
+
+  @Override
+  public void beforeTestWrite(TestResult result) {
+    if (AllureReporting.getMode() == AllureMode.SAMPLED) {
+      result.setSteps(aggregate(result.getSteps()));
+    }
+  }
+
+  /** Collapse runs of repeated steps at every level; the first step of each run is modified */
+  public static List<StepResult> aggregate(List<StepResult> steps) {
+    if (steps == null || steps.size() < 2) {
+      if (steps != null && steps.size() == 1) {
+        steps.get(0).setSteps(aggregate(steps.get(0).getSteps()));
+      }
+      return steps;
+    }
+    List<StepResult> aggregated = new ArrayList<>();
+    int i = 0;
+    while (i < steps.size()) {
+      StepResult first = steps.get(i);
+      String key = keyOf(first);
+      int runEnd = i + 1;
+      while (runEnd < steps.size()
+          && steps.get(runEnd).getStatus() == first.getStatus()
+          && keyOf(steps.get(runEnd)).equals(key)) {
+        runEnd++;
+      }
+      int count = runEnd - i;
+      if (count > 1) {
+        StepResult last = steps.get(runEnd - 1);
+        for (int j = i + 1; j < runEnd; j++) {
+          first.getAttachments().addAll(steps.get(j).getAttachments());
+        }
+        first.setName(first.getName() + " (x" + count + ")").setStop(last.getStop());
+      }
+      first.setSteps(aggregate(first.getSteps()));
+      aggregated.add(first);
+      i = runEnd;
+    }
+    return aggregated;
+  }
+
+  private static String keyOf(StepResult step) {
+    return step.getName() == null ? "" : NUMBERS.matcher(step.getName()).replaceAll("#");
+  }
+}
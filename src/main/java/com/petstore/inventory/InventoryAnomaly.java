@@ -0,0 +1,47 @@
+package com.petstore.inventory;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** Inconsistency spotted by an {@link InventoryDriftMonitor} in one inventory sample */
+@Getter
+public final class InventoryAnomaly {
+
+  public enum Type {
+    /** A status reported a count below zero */
+    NEGATIVE_COUNT,
+    /** A status that only ever grows (e.g. placed) went down or disappeared */
+    NON_MONOTONIC,
+    /** A status outside the expected set showed up; reported once per status */
+    UNEXPECTED_STATUS
+  }
+
+  private final Duration elapsed;
+  private final Type type;
+  private final String status;
+
+  /** Count in the previous sample, or the current count when there is nothing to compare with */
+  private final int previous;
+
+  private final int current;
+
+  InventoryAnomaly(Duration elapsed, Type type, String status, int previous, int current) {
+    this.elapsed = elapsed;
+    this.type = type;
+    this.status = status;
+    this.previous = previous;
+    this.current = current;
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case NON_MONOTONIC:
+        return String.format(
+            "+%.3fs %s '%s' %d -> %d", elapsed.toMillis() / 1000d, type, status, previous, current);
+      default:
+        return String.format(
+            "+%.3fs %s '%s' = %d", elapsed.toMillis() / 1000d, type, status, current);
+    }
+  }
+}
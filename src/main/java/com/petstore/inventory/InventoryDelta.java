@@ -0,0 +1,206 @@
+package com.petstore.inventory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Sparse difference between two {@link InventorySnapshot}s: only statuses whose count changed,
+ * appeared or disappeared are kept. {@link #encode()} packs the delta into a few bytes per change
+ * (varint status id plus zig-zag varint change), which keeps long inventory time series small.
+ * Encoded ids refer to the {@link StatusDictionary} of the current JVM.
+ */
+public final class InventoryDelta {
+
+  public static final InventoryDelta EMPTY =
+      new InventoryDelta(new int[0], new long[0], new long[1]);
+
+  private final int[] statusIds;
+
+  /** Two int counts can differ by more than the int range */
+  private final long[] changes;
+
+  /** Bit i is set when entry i is a status that disappeared */
+  private final long[] removed;
+
+  private InventoryDelta(int[] statusIds, long[] changes, long[] removed) {
+    this.statusIds = statusIds;
+    this.changes = changes;
+    this.removed = removed;
+  }
+
+  public int size() {
+    return statusIds.length;
+  }
+
+  public boolean isEmpty() {
+    return statusIds.length == 0;
+  }
+
+  /** Change of the status count, 0 when it did not change */
+  public long getChange(String status) {
+    int id = StatusDictionary.getInstance().existingIdOf(status);
+    for (int i = 0; i < statusIds.length; i++) {
+      if (statusIds[i] == id) {
+        return changes[i];
+      }
+    }
+    return 0;
+  }
+
+  /** Visit every changed status with its count change */
+  public void forEach(ObjLongConsumer<String> action) {
+    StatusDictionary dictionary = StatusDictionary.getInstance();
+    for (int i = 0; i < statusIds.length; i++) {
+      action.accept(dictionary.nameOf(statusIds[i]), changes[i]);
+    }
+  }
+
+  int statusIdAt(int index) {
+    return statusIds[index];
+  }
+
+  long changeAt(int index) {
+    return changes[index];
+  }
+
+  boolean isRemovedAt(int index) {
+    return (removed[index >>> 6] & (1L << index)) != 0;
+  }
+
+  int maxStatusId() {
+    int max = -1;
+    for (int id : statusIds) {
+      max = Math.max(max, id);
+    }
+    return max;
+  }
+
+  /** Compact binary form: entry count, then per entry (id << 1 | removed) and the change */
+  public byte[] encode() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(1 + statusIds.length * 3);
+    writeVarint(out, statusIds.length);
+    for (int i = 0; i < statusIds.length; i++) {
+      writeVarint(out, (statusIds[i] << 1) | (isRemovedAt(i) ? 1 : 0));
+      writeVarint(out, (changes[i] << 1) ^ (changes[i] >> 63));
+    }
+    return out.toByteArray();
+  }
+
+  /** Inverse of {@link #encode()} */
+  public static InventoryDelta decode(byte[] encoded) {
+    int[] position = {0};
+    int entries = (int) readVarint(encoded, position, 5);
+    Builder builder = new Builder();
+    for (int i = 0; i < entries; i++) {
+      int idAndFlag = (int) readVarint(encoded, position, 5);
+      long zigZag = readVarint(encoded, position, 10);
+      long change = (zigZag >>> 1) ^ -(zigZag & 1);
+      if ((idAndFlag & 1) != 0) {
+        builder.remove(idAndFlag >>> 1, change);
+      } else {
+        builder.change(idAndFlag >>> 1, change);
+      }
+    }
+    if (position[0] != encoded.length) {
+      throw new IllegalArgumentException("Trailing bytes in encoded inventory delta");
+    }
+    return builder.build();
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  /** @param maxBytes 5 for a varint holding an int, 10 for one holding a long */
+  private static long readVarint(byte[] bytes, int[] position, int maxBytes) {
+    long value = 0;
+    for (int shift = 0; shift < maxBytes * 7; shift += 7) {
+      if (position[0] >= bytes.length) {
+        throw new IllegalArgumentException("Truncated encoded inventory delta");
+      }
+      byte b = bytes[position[0]++];
+      value |= (b & 0x7FL) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in encoded inventory delta");
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof InventoryDelta)) return false;
+    InventoryDelta that = (InventoryDelta) o;
+    return Arrays.equals(statusIds, that.statusIds)
+        && Arrays.equals(changes, that.changes)
+        && Arrays.equals(removed, that.removed);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(statusIds) + Arrays.hashCode(changes);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    StatusDictionary dictionary = StatusDictionary.getInstance();
+    for (int i = 0; i < statusIds.length; i++) {
+      builder
+          .append(i == 0 ? "" : ", ")
+          .append(dictionary.nameOf(statusIds[i]))
+          .append(isRemovedAt(i) ? " removed " : " ")
+          .append(changes[i] >= 0 ? "+" : "")
+          .append(changes[i]);
+    }
+    return builder.append('}').toString();
+  }
+
+  static final class Builder {
+    private int[] statusIds = new int[8];
+    private long[] changes = new long[8];
+    private long[] removed = new long[1];
+    private int size;
+
+    Builder change(int statusId, long change) {
+      add(statusId, change);
+      return this;
+    }
+
+    Builder remove(int statusId, long change) {
+      add(statusId, change);
+      int index = size - 1;
+      removed[index >>> 6] |= 1L << index;
+      return this;
+    }
+
+    private void add(int statusId, long change) {
+      if (size == statusIds.length) {
+        statusIds = Arrays.copyOf(statusIds, size * 2);
+        changes = Arrays.copyOf(changes, size * 2);
+      }
+      if ((size >>> 6) >= removed.length) {
+        removed = Arrays.copyOf(removed, removed.length + 1);
+      }
+      statusIds[size] = statusId;
+      changes[size] = change;
+      size++;
+    }
+
+    InventoryDelta build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      return new InventoryDelta(
+          Arrays.copyOf(statusIds, size),
+          Arrays.copyOf(changes, size),
+          Arrays.copyOf(removed, ((size - 1) >>> 6) + 1));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.petstore.inventory;
+
+import com.petstore.client.StoreApiClient;
+import com.petstore.config.ConfigurationManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples GET /store/inventory on its own daemon thread while a load run is in progress, so polling
+ * never takes a worker thread. Every sample is kept as an {@link InventorySnapshot} and checked
+ * against the previous one for negative counts, monotonic statuses going down and statuses outside
+ * the expected set. Polls run with a fixed delay, so a slow inventory call delays the next poll
+ * instead of stacking up. Typical use:
+ *
+ * <pre>{@code
+ * try (InventoryDriftMonitor monitor = InventoryDriftMonitor.start(client, expectedStatuses)) {
+ *   loadGenerator.run(profile);
+ *   report = monitor.stop();
+ * }
+ * }</pre>
+ */
+public class InventoryDriftMonitor implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(InventoryDriftMonitor.class);
+
+  private final StoreApiClient storeApiClient;
+  private final Duration interval;
+  private final Set<String> expectedStatuses;
+  private final Set<String> monotonicStatuses;
+
+  private final Queue<InventorySample> samples = new ConcurrentLinkedQueue<>();
+  private final Queue<InventoryAnomaly> anomalies = new ConcurrentLinkedQueue<>();
+
+  // Only touched by the polling thread
+  private final Set<String> reportedUnexpected = new HashSet<>();
+  private InventorySnapshot previous;
+
+  private ScheduledExecutorService poller;
+  private long startNanos;
+  private InventoryDriftReport report;
+
+  /**
+   * @param expectedStatuses statuses the inventory may report without being flagged
+   * @param monotonicStatuses statuses whose count must never decrease; also treated as expected
+   */
+  public InventoryDriftMonitor(
+      StoreApiClient storeApiClient,
+      Duration interval,
+      Set<String> expectedStatuses,
+      Set<String> monotonicStatuses) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("interval must be positive, got " + interval);
+    }
+    this.storeApiClient = storeApiClient;
+    this.interval = interval;
+    this.expectedStatuses = Set.copyOf(expectedStatuses);
+    this.monotonicStatuses = Set.copyOf(monotonicStatuses);
+  }
+
+  /** Monitor with the interval and monotonic statuses of the current environment */
+  public static InventoryDriftMonitor fromConfiguration(
+      StoreApiClient storeApiClient, Set<String> expectedStatuses) {
+    ConfigurationManager config = ConfigurationManager.getInstance();
+    return new InventoryDriftMonitor(
+        storeApiClient,
+        Duration.ofMillis(config.getInventoryMonitorIntervalMs()),
+        expectedStatuses,
+        config.getInventoryMonitorMonotonicStatuses());
+  }
+
+  /** Create a monitor from configuration and start polling immediately */
+  public static InventoryDriftMonitor start(
+      StoreApiClient storeApiClient, Set<String> expectedStatuses) {
+    InventoryDriftMonitor monitor = fromConfiguration(storeApiClient, expectedStatuses);
+    monitor.start();
+    return monitor;
+  }
+
+  /** Take the first sample now and then one every interval until {@link #stop()} */
+  public synchronized void start() {
+    if (poller != null) {
+      throw new IllegalStateException("Inventory drift monitor already started");
+    }
+    poller =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "inventory-drift-monitor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    startNanos = System.nanoTime();
+    poller.scheduleWithFixedDelay(this::poll, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    log.info(
+        "Inventory drift monitor started: interval={}, monotonic={}", interval, monotonicStatuses);
+  }
+
+  /** Stop polling, wait for an in-flight poll and return the report; repeated calls return it */
+  public synchronized InventoryDriftReport stop() {
+    if (report != null) {
+      return report;
+    }
+    if (poller == null) {
+      throw new IllegalStateException("Inventory drift monitor was never started");
+    }
+    poller.shutdown();
+    try {
+      long timeoutMs = ConfigurationManager.getInstance().getRequestTimeoutMs();
+      if (!poller.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+        log.warn("Inventory poll still in flight after {}ms, cancelling", timeoutMs);
+        poller.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      poller.shutdownNow();
+    }
+    report =
+        new InventoryDriftReport(
+            interval,
+            Duration.ofNanos(System.nanoTime() - startNanos),
+            monotonicStatuses,
+            new ArrayList<>(samples),
+            new ArrayList<>(anomalies));
+    log.info("Inventory drift monitor stopped: {}", report.summary());
+    return report;
+  }
+
+  @Override
+  public void close() {
+    if (poller != null) {
+      stop();
+    }
+  }
+
+  private void poll() {
+    long pollStart = System.nanoTime();
+    Duration elapsed = Duration.ofNanos(pollStart - startNanos);
+    InventorySnapshot snapshot;
+    try {
+      snapshot = storeApiClient.getInventorySnapshot();
+    } catch (Exception e) {
+      // An exception escaping a scheduled task would silently cancel all further polls
+      log.debug("Inventory poll failed: {}", e.getMessage());
+      samples.add(InventorySample.failure(elapsed, System.nanoTime() - pollStart, e.toString()));
+      return;
+    }
+    samples.add(InventorySample.success(elapsed, snapshot, System.nanoTime() - pollStart));
+    detectAnomalies(elapsed, snapshot);
+    previous = snapshot;
+  }
+
+  private void detectAnomalies(Duration elapsed, InventorySnapshot snapshot) {
+    snapshot.forEach(
+        (status, count) -> {
+          if (count < 0) {
+            flag(elapsed, InventoryAnomaly.Type.NEGATIVE_COUNT, status, count, count);
+          }
+          if (!expectedStatuses.contains(status)
+              && !monotonicStatuses.contains(status)
+              && reportedUnexpected.add(status)) {
+            flag(elapsed, InventoryAnomaly.Type.UNEXPECTED_STATUS, status, count, count);
+          }
+        });
+    if (previous == null) {
+      return;
+    }
+    previous
+        .diff(snapshot)
+        .forEach(
+            (status, change) -> {
+              if (change < 0 && monotonicStatuses.contains(status)) {
+                flag(
+                    elapsed,
+                    InventoryAnomaly.Type.NON_MONOTONIC,
+                    status,
+                    previous.get(status, 0),
+                    snapshot.get(status, 0));
+              }
+            });
+  }
+
+  private void flag(
+      Duration elapsed, InventoryAnomaly.Type type, String status, int previous, int current) {
+    InventoryAnomaly anomaly = new InventoryAnomaly(elapsed, type, status, previous, current);
+    log.warn("Inventory anomaly: {}", anomaly);
+    anomalies.add(anomaly);
+  }
+}
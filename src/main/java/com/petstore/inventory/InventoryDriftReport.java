@@ -0,0 +1,127 @@
+package com.petstore.inventory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * Time series and anomalies collected by one {@link InventoryDriftMonitor} run. The timeline shows,
+ * per sample, how fast each monotonic status grew since the previous sample next to the anomalies
+ * found, which makes it easy to see at which write rate the inventory stops being consistent.
+ */
+@Getter
+public class InventoryDriftReport {
+
+  private final Duration interval;
+  private final Duration duration;
+  private final Set<String> monotonicStatuses;
+  private final List<InventorySample> samples;
+  private final List<InventoryAnomaly> anomalies;
+
+  InventoryDriftReport(
+      Duration interval,
+      Duration duration,
+      Set<String> monotonicStatuses,
+      List<InventorySample> samples,
+      List<InventoryAnomaly> anomalies) {
+    this.interval = interval;
+    this.duration = duration;
+    this.monotonicStatuses = new TreeSet<>(monotonicStatuses);
+    this.samples = List.copyOf(samples);
+    this.anomalies = List.copyOf(anomalies);
+  }
+
+  public boolean hasAnomalies() {
+    return !anomalies.isEmpty();
+  }
+
+  public List<InventoryAnomaly> getAnomalies(InventoryAnomaly.Type type) {
+    return anomalies.stream().filter(a -> a.getType() == type).collect(Collectors.toList());
+  }
+
+  public long getSuccessfulSamples() {
+    return samples.stream().filter(InventorySample::isSuccessful).count();
+  }
+
+  public long getFailedSamples() {
+    return samples.size() - getSuccessfulSamples();
+  }
+
+  /** Anomaly counts by type, including types that did not occur */
+  public Map<InventoryAnomaly.Type, Long> getAnomalyCounts() {
+    Map<InventoryAnomaly.Type, Long> counts = new EnumMap<>(InventoryAnomaly.Type.class);
+    for (InventoryAnomaly.Type type : InventoryAnomaly.Type.values()) {
+      counts.put(type, 0L);
+    }
+    anomalies.forEach(a -> counts.merge(a.getType(), 1L, Long::sum));
+    return counts;
+  }
+
+  /** One-line overview for logs */
+  public String summary() {
+    return String.format(
+        "duration=%.1fs, interval=%dms, samples=%d, failed=%d, anomalies=%s",
+        duration.toMillis() / 1000d,
+        interval.toMillis(),
+        samples.size(),
+        getFailedSamples(),
+        getAnomalyCounts());
+  }
+
+  /**
+   * Multi-line, time-indexed report: one row per sample with the poll time, the change and rate of
+   * every monotonic status since the previous successful sample, the anomalies found in that
+   * sample and the full counts, followed by the list of anomalies. Suitable for Allure attachments
+   */
+  public String timeline() {
+    StringBuilder sb = new StringBuilder(summary()).append(System.lineSeparator());
+    InventorySample last = null;
+    int anomalyIndex = 0;
+    for (int i = 0; i < samples.size(); i++) {
+      InventorySample sample = samples.get(i);
+      Duration until = i + 1 < samples.size() ? samples.get(i + 1).getElapsed() : null;
+      int found = 0;
+      while (anomalyIndex < anomalies.size()
+          && (until == null || anomalies.get(anomalyIndex).getElapsed().compareTo(until) < 0)) {
+        anomalyIndex++;
+        found++;
+      }
+
+      sb.append(
+          String.format(
+              "+%8.3fs  poll=%7.1fms  ",
+              sample.getElapsed().toMillis() / 1000d,
+              sample.getPollMillis()));
+      if (!sample.isSuccessful()) {
+        sb.append("FAILED ").append(sample.getError()).append(System.lineSeparator());
+        continue;
+      }
+      for (String status : monotonicStatuses) {
+        sb.append(growth(status, last, sample)).append("  ");
+      }
+      sb.append(String.format("anomalies=%d  ", found))
+          .append(sample.getSnapshot())
+          .append(System.lineSeparator());
+      last = sample;
+    }
+    if (hasAnomalies()) {
+      sb.append("Anomalies:").append(System.lineSeparator());
+      anomalies.forEach(a -> sb.append("  ").append(a).append(System.lineSeparator()));
+    }
+    return sb.toString();
+  }
+
+  private static String growth(String status, InventorySample last, InventorySample sample) {
+    if (last == null) {
+      return String.format("%s=%d", status, sample.getSnapshot().get(status, 0));
+    }
+    int change = sample.getSnapshot().get(status, 0) - last.getSnapshot().get(status, 0);
+    double seconds = sample.getElapsed().minus(last.getElapsed()).toNanos() / 1_000_000_000d;
+    return String.format("%s %+d (%.1f/s)", status, change, seconds == 0 ? 0d : change / seconds);
+  }
+}
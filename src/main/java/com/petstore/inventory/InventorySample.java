@@ -0,0 +1,45 @@
+package com.petstore.inventory;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** One poll of GET /store/inventory taken by an {@link InventoryDriftMonitor} */
+@Getter
+public final class InventorySample {
+
+  /** Time since the monitor started, taken when the poll was sent */
+  private final Duration elapsed;
+
+  /** Inventory returned by the poll, null when the poll failed */
+  private final InventorySnapshot snapshot;
+
+  /** Round trip of the poll itself */
+  private final long pollNanos;
+
+  /** Failure reason, null when the poll succeeded */
+  private final String error;
+
+  private InventorySample(
+      Duration elapsed, InventorySnapshot snapshot, long pollNanos, String error) {
+    this.elapsed = elapsed;
+    this.snapshot = snapshot;
+    this.pollNanos = pollNanos;
+    this.error = error;
+  }
+
+  static InventorySample success(Duration elapsed, InventorySnapshot snapshot, long pollNanos) {
+    return new InventorySample(elapsed, snapshot, pollNanos, null);
+  }
+
+  static InventorySample failure(Duration elapsed, long pollNanos, String error) {
+    return new InventorySample(elapsed, null, pollNanos, error);
+  }
+
+  public boolean isSuccessful() {
+    return snapshot != null;
+  }
+
+  public double getPollMillis() {
+    return pollNanos / 1_000_000d;
+  }
+}
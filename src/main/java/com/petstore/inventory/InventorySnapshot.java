@@ -0,0 +1,203 @@
+package com.petstore.inventory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable, compact inventory: one {@code int} per status in an array indexed by {@link
+ * StatusDictionary} id, with status names shared across all snapshots. This is the form the
+ * streaming decoder produces, and keeping thousands of samples costs a small int[] each instead of
+ * a boxed map. Snapshots can be diffed into an {@link InventoryDelta}, rebuilt from a delta and
+ * summed with {@link #merge(InventorySnapshot)}. Consistent with the existing inventory checks, a
+ * missing status reads as 0 in arithmetic; sums beyond the int range are saturated, as the decoder
+ * saturates counts.
+ */
+public final class InventorySnapshot {
+
+  /** Marks a status the inventory did not report */
+  static final int ABSENT = Integer.MIN_VALUE;
+
+  public static final InventorySnapshot EMPTY = new InventorySnapshot(new int[0]);
+
+  private final int[] counts;
+  private final int size;
+
+  private InventorySnapshot(int[] counts) {
+    this.counts = counts;
+    int present = 0;
+    for (int count : counts) {
+      if (count != ABSENT) {
+        present++;
+      }
+    }
+    this.size = present;
+  }
+
+  /** Snapshot of a decoded {@code Map<String, Integer>}, e.g. from getInventoryAsMap() */
+  public static InventorySnapshot of(Map<String, ? extends Number> inventory) {
+    Builder builder = new Builder();
+    inventory.forEach(
+        (status, count) -> {
+          if (count != null) {
+            builder.put(status, count.intValue());
+          }
+        });
+    return builder.build();
+  }
+
+  /** Count of the status, or {@code defaultValue} when it was not reported */
+  public int get(String status, int defaultValue) {
+    int count = countAt(StatusDictionary.getInstance().existingIdOf(status));
+    return count == ABSENT ? defaultValue : count;
+  }
+
+  public boolean contains(String status) {
+    return countAt(StatusDictionary.getInstance().existingIdOf(status)) != ABSENT;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void forEach(ObjIntConsumer<String> action) {
+    StatusDictionary dictionary = StatusDictionary.getInstance();
+    for (int id = 0; id < counts.length; id++) {
+      if (counts[id] != ABSENT) {
+        action.accept(dictionary.nameOf(id), counts[id]);
+      }
+    }
+  }
+
+  /** Boxed copy in the shape of getInventoryAsMap(), for drop-in use with existing checks */
+  public Map<String, Integer> toMap() {
+    Map<String, Integer> map = new LinkedHashMap<>(size * 2);
+    forEach(map::put);
+    return map;
+  }
+
+  /** Changes that turn this snapshot into {@code newer} */
+  public InventoryDelta diff(InventorySnapshot newer) {
+    int length = Math.max(counts.length, newer.counts.length);
+    InventoryDelta.Builder delta = new InventoryDelta.Builder();
+    for (int id = 0; id < length; id++) {
+      int before = countAt(id);
+      int after = newer.countAt(id);
+      if (before == after) {
+        continue;
+      }
+      // Computed in long: counts at opposite ends of the int range differ by more than an int
+      if (after == ABSENT) {
+        delta.remove(id, -(long) before);
+      } else {
+        delta.change(id, (long) after - valueOf(before));
+      }
+    }
+    return delta.build();
+  }
+
+  /** Snapshot produced by applying a delta computed with {@link #diff(InventorySnapshot)} */
+  public InventorySnapshot apply(InventoryDelta delta) {
+    int[] result = Arrays.copyOf(counts, Math.max(counts.length, delta.maxStatusId() + 1));
+    for (int i = counts.length; i < result.length; i++) {
+      result[i] = ABSENT;
+    }
+    for (int i = 0; i < delta.size(); i++) {
+      int id = delta.statusIdAt(i);
+      result[id] =
+          delta.isRemovedAt(i) ? ABSENT : saturated(valueOf(result[id]) + delta.changeAt(i));
+    }
+    return new InventorySnapshot(result);
+  }
+
+  /** Status-wise sum of both snapshots, e.g. to aggregate inventories of several backends */
+  public InventorySnapshot merge(InventorySnapshot other) {
+    int[] result = new int[Math.max(counts.length, other.counts.length)];
+    for (int id = 0; id < result.length; id++) {
+      int left = countAt(id);
+      int right = other.countAt(id);
+      result[id] =
+          left == ABSENT && right == ABSENT
+              ? ABSENT
+              : saturated((long) valueOf(left) + valueOf(right));
+    }
+    return new InventorySnapshot(result);
+  }
+
+  int countAt(int id) {
+    return id >= 0 && id < counts.length ? counts[id] : ABSENT;
+  }
+
+  private static int valueOf(int count) {
+    return count == ABSENT ? 0 : count;
+  }
+
+  /** Clamp to the int range; MIN_VALUE is reserved for ABSENT */
+  private static int saturated(long count) {
+    return (int) Math.max(ABSENT + 1L, Math.min(Integer.MAX_VALUE, count));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof InventorySnapshot)) return false;
+    InventorySnapshot that = (InventorySnapshot) o;
+    int length = Math.max(counts.length, that.counts.length);
+    for (int id = 0; id < length; id++) {
+      if (countAt(id) != that.countAt(id)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int id = 0; id < counts.length; id++) {
+      if (counts[id] != ABSENT) {
+        hash = 31 * hash + id * 17 + counts[id];
+      }
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+
+  /** Accumulates counts by status id before freezing them into a snapshot */
+  public static final class Builder {
+    private int[] counts = new int[StatusDictionary.getInstance().size()];
+
+    public Builder() {
+      Arrays.fill(counts, ABSENT);
+    }
+
+    public Builder put(String status, int count) {
+      int id = StatusDictionary.getInstance().idOf(status);
+      if (id >= counts.length) {
+        int oldLength = counts.length;
+        counts = Arrays.copyOf(counts, Math.max(id + 1, oldLength * 2));
+        Arrays.fill(counts, oldLength, counts.length, ABSENT);
+      }
+      // MIN_VALUE is reserved for ABSENT; only a saturated, absurdly negative count can reach it
+      counts[id] = Math.max(count, ABSENT + 1);
+      return this;
+    }
+
+    public InventorySnapshot build() {
+      int length = counts.length;
+      while (length > 0 && counts[length - 1] == ABSENT) {
+        length--;
+      }
+      return new InventorySnapshot(Arrays.copyOf(counts, length));
+    }
+  }
+}
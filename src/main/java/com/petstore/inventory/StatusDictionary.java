@@ -0,0 +1,68 @@
+package com.petstore.inventory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide mapping of inventory status names to dense ids using Singleton pattern. Every
+ * {@link InventorySnapshot} indexes its counts by these ids, so a status name is stored once no
+ * matter how many snapshots are kept, and two snapshots can be compared slot by slot. Ids are only
+ * meaningful inside the JVM that assigned them.
+ */
+public final class StatusDictionary {
+
+  private static volatile StatusDictionary instance;
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+  /** Copy-on-write, so readers never lock */
+  private volatile String[] names = new String[0];
+
+  private StatusDictionary() {}
+
+  public static StatusDictionary getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (StatusDictionary.class) {
+      if (instance == null) {
+        instance = new StatusDictionary();
+      }
+    }
+    return instance;
+  }
+
+  /** Id of the status, assigning the next free id the first time it is seen */
+  public int idOf(String status) {
+    Integer id = ids.get(status);
+    return id != null ? id : register(status);
+  }
+
+  /** Id of the status, or -1 when it has never been seen */
+  public int existingIdOf(String status) {
+    return ids.getOrDefault(status, -1);
+  }
+
+  public String nameOf(int id) {
+    return names[id];
+  }
+
+  /** Number of ids assigned so far; every id is below this value */
+  public int size() {
+    return names.length;
+  }
+
+  private synchronized int register(String status) {
+    Integer existing = ids.get(status);
+    if (existing != null) {
+      return existing;
+    }
+    int id = names.length;
+    String[] grown = Arrays.copyOf(names, id + 1);
+    grown[id] = status.intern();
+    names = grown;
+    ids.put(grown[id], id);
+    return id;
+  }
+}
@@ -0,0 +1,67 @@
+package com.petstore.load;
+
+import com.petstore.metrics.LatencyHistogram;
+import com.petstore.metrics.LatencySummary;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-endpoint counters for a load run. Latency is measured from the intended (scheduled)
+ * start of a request, so queueing behind a slow server is included
+ */
+public class EndpointStats {
+
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder substitutions = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  void record(long latencyNanos, boolean success) {
+    if (!success) {
+      errors.increment();
+    }
+    latency.recordNanos(latencyNanos);
+  }
+
+  /** Arrival of this endpoint was sent as another operation, see {@link #getSubstitutions()} */
+  void recordSubstitution() {
+    substitutions.increment();
+  }
+
+  public long getCount() {
+    return latency.getCount();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  /**
+   * Arrivals drawn for this endpoint that were sent as POST /store/order instead, because no placed
+   * order was known yet to read or delete. They are not part of {@link #getCount()}.
+   */
+  public long getSubstitutions() {
+    return substitutions.sum();
+  }
+
+  public double getErrorRate() {
+    long total = getCount();
+    return total == 0 ? 0d : (double) getErrors() / total;
+  }
+
+  /** Latency distribution of all measured requests, successful or not */
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public LatencySummary getLatencySummary() {
+    return latency.summary();
+  }
+
+  @Override
+  public String toString() {
+    long substituted = getSubstitutions();
+    return substituted == 0
+        ? String.format("errors=%d, %s", getErrors(), getLatencySummary())
+        : String.format(
+            "errors=%d, substituted=%d, %s", getErrors(), substituted, getLatencySummary());
+  }
+}
@@ -0,0 +1,223 @@
+package com.petstore.load;
+
+import com.petstore.client.HttpConnectionPool;
+import com.petstore.client.StoreApiClient;
+import com.petstore.client.StoreEndpoint;
+import com.petstore.dto.Order;
+import com.petstore.util.ExecutorMode;
+import com.petstore.util.VirtualThreads;
+import io.restassured.response.Response;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Open-loop load generator for the /store endpoints.
+ *
+ * <p>Arrivals are scheduled at a fixed rate regardless of how quickly the server answers, and
+ * latency is measured from each arrival's intended start time. A slow server therefore shows up as
+ * growing latency instead of a silently reduced request rate (coordinated omission).
+ */
+public class LoadGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+  private final StoreApiClient storeApiClient;
+  private final ConcurrentLinkedDeque<Long> placedOrderIds = new ConcurrentLinkedDeque<>();
+
+  public LoadGenerator(StoreApiClient storeApiClient) {
+    this.storeApiClient = storeApiClient;
+  }
+
+  /** Execute the profile and block until the schedule has finished and in-flight calls drained */
+  public LoadResult run(LoadProfile profile) {
+    profile.validate();
+    placedOrderIds.clear();
+    log.info("Starting load run: {}", profile);
+
+    Map<StoreEndpoint, EndpointStats> stats = new EnumMap<>(StoreEndpoint.class);
+    for (StoreEndpoint endpoint : StoreEndpoint.values()) {
+      stats.put(endpoint, new EndpointStats());
+    }
+
+    AtomicInteger outstanding = new AtomicInteger();
+    LongAccumulator lastCompletion = new LongAccumulator(Math::max, 0L);
+    ExecutorService workers = newWorkers(profile);
+
+    long start = System.nanoTime();
+    long warmUpEnd = start + profile.getWarmUp().toNanos();
+    long end = warmUpEnd + profile.getDuration().toNanos();
+    long scheduled = 0;
+    long dropped = 0;
+
+    try {
+      long nextArrival = start;
+      while (true) {
+        long intendedStart = nextArrival;
+        // Read per arrival, so a profile that follows load.target.rps picks up a reload
+        nextArrival += profile.getArrivalIntervalNanos();
+        if (intendedStart >= end || !waitUntil(intendedStart)) {
+          break;
+        }
+
+        boolean measured = intendedStart >= warmUpEnd;
+        if (measured) {
+          scheduled++;
+        }
+        if (outstanding.get() >= profile.getMaxOutstanding()) {
+          if (measured) {
+            dropped++;
+          }
+          continue;
+        }
+
+        outstanding.incrementAndGet();
+        workers.execute(
+            () -> {
+              try {
+                executeArrival(profile, intendedStart, measured ? stats : null);
+              } finally {
+                lastCompletion.accumulate(System.nanoTime());
+                outstanding.decrementAndGet();
+              }
+            });
+      }
+    } finally {
+      drain(workers, profile.getDrainTimeout());
+    }
+
+    Duration measuredDuration = Duration.ofNanos(Math.max(end, lastCompletion.get()) - warmUpEnd);
+    LoadResult result =
+        new LoadResult(
+            profile, stats, scheduled, dropped, measuredDuration, new ArrayList<>(placedOrderIds));
+    log.info("Load run finished:\n{}", result.summary());
+    if (result.getSubstitutedArrivals() > 0) {
+      log.warn(
+          "{} GET/DELETE arrivals found no placed order and were sent as POST /store/order; the"
+              + " achieved mix differs from {}",
+          result.getSubstitutedArrivals(),
+          profile.getMix());
+    }
+    log.info("Connection pool after run: {}", HttpConnectionPool.getInstance().getStats());
+    return result;
+  }
+
+  private void executeArrival(
+      LoadProfile profile, long intendedStart, Map<StoreEndpoint, EndpointStats> stats) {
+    StoreEndpoint requested = profile.getMix().next();
+    StoreEndpoint endpoint = requested;
+    Long orderId = null;
+    if (endpoint == StoreEndpoint.GET_ORDER) {
+      orderId = placedOrderIds.peekLast();
+    } else if (endpoint == StoreEndpoint.DELETE_ORDER) {
+      orderId = placedOrderIds.pollFirst();
+    }
+    if (orderId == null
+        && (endpoint == StoreEndpoint.GET_ORDER || endpoint == StoreEndpoint.DELETE_ORDER)) {
+      // Nothing to read or delete yet - place an order instead of hitting a non-existent ID, and
+      // count it against the requested endpoint so the achieved mix can be told from the asked one
+      endpoint = StoreEndpoint.PLACE_ORDER;
+      if (stats != null) {
+        stats.get(requested).recordSubstitution();
+      }
+    }
+
+    boolean success;
+    try {
+      success = invoke(endpoint, orderId, profile);
+    } catch (Exception e) {
+      log.debug("{} failed: {}", endpoint, e.getMessage());
+      // The order may still exist, so keep it available for later reads and deletes
+      if (endpoint == StoreEndpoint.DELETE_ORDER) {
+        placedOrderIds.addLast(orderId);
+      }
+      success = false;
+    }
+
+    if (stats != null) {
+      stats.get(endpoint).record(System.nanoTime() - intendedStart, success);
+    }
+  }
+
+  private boolean invoke(StoreEndpoint endpoint, Long orderId, LoadProfile profile) {
+    switch (endpoint) {
+      case INVENTORY:
+        return storeApiClient.getInventory().getStatusCode() == HttpURLConnection.HTTP_OK;
+      case PLACE_ORDER:
+        Response placed = storeApiClient.placeOrder(profile.getOrderSupplier().get());
+        if (placed.getStatusCode() != HttpURLConnection.HTTP_OK) {
+          return false;
+        }
+        Long placedId = placed.as(Order.class).getId();
+        if (placedId != null) {
+          placedOrderIds.addLast(placedId);
+        }
+        return true;
+      case GET_ORDER:
+        return storeApiClient.getOrderById(orderId).getStatusCode() == HttpURLConnection.HTTP_OK;
+      case DELETE_ORDER:
+        int status = storeApiClient.deleteOrder(orderId).getStatusCode();
+        if (status != HttpURLConnection.HTTP_OK && status != HttpURLConnection.HTTP_NOT_FOUND) {
+          placedOrderIds.addLast(orderId);
+        }
+        return status == HttpURLConnection.HTTP_OK;
+      default:
+        throw new IllegalArgumentException("Unsupported endpoint: " + endpoint);
+    }
+  }
+
+  /** Park until the given nanoTime; returns false if the scheduling thread was interrupted */
+  private boolean waitUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (Thread.currentThread().isInterrupted()) {
+        log.warn("Load run interrupted, stopping arrival schedule");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void drain(ExecutorService workers, Duration timeout) {
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("In-flight requests did not finish within {}, cancelling", timeout);
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+    }
+  }
+
+  private static ExecutorService newWorkers(LoadProfile profile) {
+    if (profile.getExecutorMode() == ExecutorMode.VIRTUAL) {
+      // No pool to size: maxOutstanding alone bounds the concurrency
+      return VirtualThreads.newThreadPerTaskExecutor("load-worker-");
+    }
+    return Executors.newFixedThreadPool(profile.getWorkerThreads(), workerThreadFactory());
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "load-worker-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
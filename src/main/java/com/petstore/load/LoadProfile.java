@@ -0,0 +1,100 @@
+package com.petstore.load;
+
+import com.petstore.config.ConfigurationManager;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import com.petstore.util.ExecutorMode;
+import com.petstore.util.VirtualThreads;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Immutable description of an open-loop load run */
+@Getter
+@Builder
+@ToString(exclude = "orderSupplier")
+public class LoadProfile {
+
+  /**
+   * Target arrival rate in requests per second, independent of server response time. Defaults to
+   * {@code load.target.rps}
+   */
+  @Builder.Default
+  private final double targetRps = ConfigurationManager.getInstance().getLoadTargetRps();
+
+  /**
+   * Re-read {@code load.target.rps} before every arrival instead of using targetRps, so a reloaded
+   * configuration changes the rate of a running soak test; targetRps applies while it is not set
+   */
+  @Builder.Default private final boolean followConfiguredRate = false;
+
+  /** Measured phase length, excluding warm-up */
+  @Builder.Default private final Duration duration = Duration.ofSeconds(30);
+
+  /** Arrivals scheduled during warm-up are executed but not recorded */
+  @Builder.Default private final Duration warmUp = Duration.ofSeconds(5);
+
+  /** Worker pool size - must cover targetRps multiplied by the expected latency in seconds */
+  @Builder.Default private final int workerThreads = 32;
+
+  /**
+   * PLATFORM runs arrivals on {@code workerThreads} pooled threads; VIRTUAL runs every arrival on
+   * its own virtual thread (Java 21+) and ignores workerThreads. Defaults to {@code executor.mode}
+   */
+  @Builder.Default
+  private final ExecutorMode executorMode =
+      ExecutorMode.from(ConfigurationManager.getInstance().getExecutorMode());
+
+  /** Arrivals beyond this many queued/in-flight requests are dropped and counted */
+  @Builder.Default private final int maxOutstanding = 10_000;
+
+  /** Time allowed for in-flight requests to complete once the schedule ends */
+  @Builder.Default private final Duration drainTimeout = Duration.ofSeconds(30);
+
+  @Builder.Default private final OperationMix mix = OperationMix.defaultMix();
+
+  /** Payload factory for POST /store/order arrivals */
+  @Builder.Default
+  private final Supplier<Order> orderSupplier =
+      () ->
+          Order.builder()
+              .petId(1L)
+              .quantity(1)
+              .shipDate(OffsetDateTime.now())
+              .status(OrderStatus.PLACED)
+              .complete(false)
+              .build();
+
+  /** Interval between the current arrival and the next one in nanoseconds */
+  public long getArrivalIntervalNanos() {
+    double rps = targetRps;
+    if (followConfiguredRate) {
+      double configured = ConfigurationManager.getInstance().getLoadTargetRps();
+      rps = configured > 0 ? configured : targetRps;
+    }
+    return Math.max(1L, (long) (1_000_000_000d / rps));
+  }
+
+  /** Validate profile values before a run */
+  public void validate() {
+    if (targetRps <= 0) {
+      throw new IllegalArgumentException("targetRps must be positive, got " + targetRps);
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("duration must be positive, got " + duration);
+    }
+    if (warmUp.isNegative()) {
+      throw new IllegalArgumentException("warmUp must not be negative, got " + warmUp);
+    }
+    if (workerThreads <= 0 || maxOutstanding <= 0) {
+      throw new IllegalArgumentException("workerThreads and maxOutstanding must be positive");
+    }
+    if (executorMode == ExecutorMode.VIRTUAL && !VirtualThreads.isSupported()) {
+      throw new IllegalArgumentException(
+          "executorMode VIRTUAL needs Java 21+, running on " + System.getProperty("java.version"));
+    }
+  }
+}
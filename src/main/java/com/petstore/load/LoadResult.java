@@ -0,0 +1,94 @@
+package com.petstore.load;
+
+import com.petstore.client.StoreEndpoint;
+import com.petstore.metrics.LatencySummary;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/** Outcome of a single {@link LoadGenerator} run */
+@Getter
+public class LoadResult {
+
+  private final LoadProfile profile;
+  private final Map<StoreEndpoint, EndpointStats> endpointStats;
+  private final long scheduledArrivals;
+  private final long droppedArrivals;
+  private final Duration measuredDuration;
+
+  /** Orders placed during the run that were not deleted by it - callers should clean these up */
+  private final List<Long> remainingOrderIds;
+
+  LoadResult(
+      LoadProfile profile,
+      Map<StoreEndpoint, EndpointStats> endpointStats,
+      long scheduledArrivals,
+      long droppedArrivals,
+      Duration measuredDuration,
+      List<Long> remainingOrderIds) {
+    this.profile = profile;
+    this.endpointStats = Collections.unmodifiableMap(new EnumMap<>(endpointStats));
+    this.scheduledArrivals = scheduledArrivals;
+    this.droppedArrivals = droppedArrivals;
+    this.measuredDuration = measuredDuration;
+    this.remainingOrderIds = List.copyOf(remainingOrderIds);
+  }
+
+  public long getTotalRequests() {
+    return endpointStats.values().stream().mapToLong(EndpointStats::getCount).sum();
+  }
+
+  public long getTotalErrors() {
+    return endpointStats.values().stream().mapToLong(EndpointStats::getErrors).sum();
+  }
+
+  /**
+   * Measured GET/DELETE arrivals that were sent as POST /store/order because no order id was known
+   * yet. Non-zero means the achieved mix is skewed towards order placement compared to the
+   * profile's {@link OperationMix}.
+   */
+  public long getSubstitutedArrivals() {
+    return endpointStats.values().stream().mapToLong(EndpointStats::getSubstitutions).sum();
+  }
+
+  public double getErrorRate() {
+    long total = getTotalRequests();
+    return total == 0 ? 0d : (double) getTotalErrors() / total;
+  }
+
+  /** Percentile summary of one endpoint's latency, measured from intended start */
+  public LatencySummary getLatencySummary(StoreEndpoint endpoint) {
+    return endpointStats.get(endpoint).getLatencySummary();
+  }
+
+  /** Completed measured requests per second */
+  public double getAchievedRps() {
+    double seconds = measuredDuration.toNanos() / 1_000_000_000d;
+    return seconds == 0 ? 0d : getTotalRequests() / seconds;
+  }
+
+  /** Human-readable summary suitable for logs and Allure attachments */
+  public String summary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "target=%.1f rps, achieved=%.1f rps, requests=%d, errors=%d (%.2f%%), dropped=%d, substituted=%d%n",
+            profile.getTargetRps(),
+            getAchievedRps(),
+            getTotalRequests(),
+            getTotalErrors(),
+            getErrorRate() * 100,
+            droppedArrivals,
+            getSubstitutedArrivals()));
+    endpointStats.forEach(
+        (endpoint, stats) -> {
+          if (stats.getCount() > 0 || stats.getSubstitutions() > 0) {
+            sb.append(String.format("  %-30s %s%n", endpoint, stats));
+          }
+        });
+    return sb.toString();
+  }
+}
@@ -0,0 +1,36 @@
+package com.petstore.load;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * One stage of a {@link VirtualUserProfile}: the number of active users moves linearly from the
+ * previous stage's target (0 for the first stage) to {@code targetUsers} over {@code duration}. A
+ * stage with the same target as the one before holds the load steady.
+ */
+@Getter
+public class LoadStage {
+
+  private final Duration duration;
+  private final int targetUsers;
+
+  private LoadStage(Duration duration, int targetUsers) {
+    this.duration = duration;
+    this.targetUsers = targetUsers;
+  }
+
+  public static LoadStage of(Duration duration, int targetUsers) {
+    if (duration == null || duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Stage duration must be positive, got " + duration);
+    }
+    if (targetUsers < 0) {
+      throw new IllegalArgumentException("targetUsers must not be negative, got " + targetUsers);
+    }
+    return new LoadStage(duration, targetUsers);
+  }
+
+  @Override
+  public String toString() {
+    return duration + " -> " + targetUsers + " users";
+  }
+}
@@ -0,0 +1,96 @@
+package com.petstore.load;
+
+import com.petstore.client.StoreEndpoint;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted operation mix for load runs. Each arrival picks an endpoint with probability
+ * proportional to its weight
+ */
+public final class OperationMix {
+
+  private final Map<StoreEndpoint, Integer> weights;
+  private final StoreEndpoint[] endpoints;
+  private final int[] cumulativeWeights;
+  private final int totalWeight;
+
+  private OperationMix(Map<StoreEndpoint, Integer> weights) {
+    this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+    this.endpoints = weights.keySet().toArray(new StoreEndpoint[0]);
+    this.cumulativeWeights = new int[endpoints.length];
+
+    int sum = 0;
+    for (int i = 0; i < endpoints.length; i++) {
+      sum += weights.get(endpoints[i]);
+      cumulativeWeights[i] = sum;
+    }
+    this.totalWeight = sum;
+  }
+
+  /** Mix that only reads inventory */
+  public static OperationMix inventoryOnly() {
+    return builder().weight(StoreEndpoint.INVENTORY, 1).build();
+  }
+
+  /** Read-heavy mix covering the full order lifecycle */
+  public static OperationMix defaultMix() {
+    return builder()
+        .weight(StoreEndpoint.INVENTORY, 40)
+        .weight(StoreEndpoint.PLACE_ORDER, 25)
+        .weight(StoreEndpoint.GET_ORDER, 25)
+        .weight(StoreEndpoint.DELETE_ORDER, 10)
+        .build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Pick the next endpoint according to the configured weights */
+  public StoreEndpoint next() {
+    int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (roll < cumulativeWeights[i]) {
+        return endpoints[i];
+      }
+    }
+    return endpoints[endpoints.length - 1];
+  }
+
+  public Map<StoreEndpoint, Integer> getWeights() {
+    return weights;
+  }
+
+  @Override
+  public String toString() {
+    return "OperationMix" + weights;
+  }
+
+  public static final class Builder {
+    private final Map<StoreEndpoint, Integer> weights = new EnumMap<>(StoreEndpoint.class);
+
+    private Builder() {}
+
+    public Builder weight(StoreEndpoint endpoint, int weight) {
+      if (weight < 0) {
+        throw new IllegalArgumentException("Weight must be non-negative for " + endpoint);
+      }
+      if (weight == 0) {
+        weights.remove(endpoint);
+      } else {
+        weights.put(endpoint, weight);
+      }
+      return this;
+    }
+
+    public OperationMix build() {
+      if (weights.isEmpty()) {
+        throw new IllegalStateException("Operation mix must contain at least one endpoint");
+      }
+      return new OperationMix(weights);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.petstore.load;
+
+import com.petstore.client.StoreApiClient;
+import com.petstore.dto.Order;
+import io.restassured.response.Response;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The place -> get -> delete order lifecycle of {@code StoreOrderTest} as a {@link Scenario}, for
+ * running it with many concurrent virtual users. Orders whose deletion did not succeed are kept,
+ * so the caller can clean them up after the run.
+ */
+public class OrderLifecycleScenario {
+
+  public static final String PLACE_ORDER = "place order";
+  public static final String GET_ORDER = "get order";
+  public static final String DELETE_ORDER = "delete order";
+
+  private static final String ORDER_ID = "orderId";
+
+  private final StoreApiClient storeApiClient;
+  private final Supplier<Order> orderSupplier;
+  private final Set<Long> remainingOrderIds = ConcurrentHashMap.newKeySet();
+
+  public OrderLifecycleScenario(StoreApiClient storeApiClient, Supplier<Order> orderSupplier) {
+    this.storeApiClient = storeApiClient;
+    this.orderSupplier = orderSupplier;
+  }
+
+  /**
+   * @param minThinkTime lower bound of the pause after each step
+   * @param maxThinkTime upper bound of the pause after each step
+   * @param pacing minimum time between the starts of two lifecycles of one user, or zero
+   */
+  public Scenario build(Duration minThinkTime, Duration maxThinkTime, Duration pacing) {
+    return Scenario.named("order lifecycle")
+        .step(PLACE_ORDER, this::placeOrder)
+        .thinkTime(minThinkTime, maxThinkTime)
+        .step(GET_ORDER, this::getOrder)
+        .thinkTime(minThinkTime, maxThinkTime)
+        .step(DELETE_ORDER, this::deleteOrder)
+        .thinkTime(minThinkTime, maxThinkTime)
+        .pacing(pacing)
+        .build();
+  }
+
+  /** Orders placed by the scenario that it could not delete - callers should clean these up */
+  public List<Long> getRemainingOrderIds() {
+    return List.copyOf(remainingOrderIds);
+  }
+
+  private boolean placeOrder(VirtualUserContext context) {
+    Response response = storeApiClient.placeOrder(orderSupplier.get());
+    if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+      return false;
+    }
+    Long orderId = response.as(Order.class).getId();
+    if (orderId == null) {
+      return false;
+    }
+    remainingOrderIds.add(orderId);
+    context.put(ORDER_ID, orderId);
+    return true;
+  }
+
+  private boolean getOrder(VirtualUserContext context) {
+    Long orderId = context.get(ORDER_ID);
+    Response response = storeApiClient.getOrderById(orderId);
+    return response.getStatusCode() == HttpURLConnection.HTTP_OK
+        && orderId.equals(response.as(Order.class).getId());
+  }
+
+  private boolean deleteOrder(VirtualUserContext context) {
+    Long orderId = context.get(ORDER_ID);
+    if (storeApiClient.deleteOrder(orderId).getStatusCode() != HttpURLConnection.HTTP_OK) {
+      return false;
+    }
+    remainingOrderIds.remove(orderId);
+    return true;
+  }
+}
@@ -0,0 +1,117 @@
+package com.petstore.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Getter;
+
+/**
+ * Ordered steps one virtual user repeats in a closed loop, built with a small DSL:
+ *
+ * <pre>{@code
+ * Scenario.named("order lifecycle")
+ *     .step("place order", ctx -> ...)
+ *     .thinkTime(Duration.ofMillis(500), Duration.ofSeconds(2))
+ *     .step("get order", ctx -> ...)
+ *     .pacing(Duration.ofSeconds(5))
+ *     .build();
+ * }</pre>
+ *
+ * Think times pause the user after a step, uniformly distributed within the given range. Pacing
+ * sets the minimum time from the start of one iteration to the start of the next, so the
+ * iteration rate per user stays constant however fast the server answers.
+ */
+@Getter
+public class Scenario {
+
+  private final String name;
+  private final List<Step> steps;
+
+  /** Minimum time between iteration starts of one user; zero starts the next one immediately */
+  private final Duration pacing;
+
+  private Scenario(Builder builder) {
+    this.name = builder.name;
+    this.steps = List.copyOf(builder.steps);
+    this.pacing = builder.pacing;
+  }
+
+  public static Builder named(String name) {
+    return new Builder(name);
+  }
+
+  /** A named step and the think time that follows it */
+  @Getter
+  public static class Step {
+    private final String name;
+    private final ScenarioStep action;
+    private final Duration minThinkTime;
+    private final Duration maxThinkTime;
+
+    private Step(String name, ScenarioStep action, Duration minThinkTime, Duration maxThinkTime) {
+      this.name = name;
+      this.action = action;
+      this.minThinkTime = minThinkTime;
+      this.maxThinkTime = maxThinkTime;
+    }
+
+    /** Random think time within the configured range */
+    long nextThinkTimeNanos() {
+      long min = minThinkTime.toNanos();
+      long max = maxThinkTime.toNanos();
+      return max <= min ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+    }
+  }
+
+  public static class Builder {
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+    private Duration pacing = Duration.ZERO;
+
+    private Builder(String name) {
+      this.name = name;
+    }
+
+    public Builder step(String stepName, ScenarioStep action) {
+      if (steps.stream().anyMatch(step -> step.name.equals(stepName))) {
+        throw new IllegalArgumentException("Duplicate step name: " + stepName);
+      }
+      steps.add(new Step(stepName, action, Duration.ZERO, Duration.ZERO));
+      return this;
+    }
+
+    /** Fixed pause after the previous step */
+    public Builder thinkTime(Duration thinkTime) {
+      return thinkTime(thinkTime, thinkTime);
+    }
+
+    /** Pause after the previous step, uniformly distributed between {@code min} and {@code max} */
+    public Builder thinkTime(Duration min, Duration max) {
+      if (steps.isEmpty()) {
+        throw new IllegalStateException("thinkTime must follow a step");
+      }
+      if (min.isNegative() || max.compareTo(min) < 0) {
+        throw new IllegalArgumentException("Invalid think time range " + min + " - " + max);
+      }
+      Step last = steps.remove(steps.size() - 1);
+      steps.add(new Step(last.name, last.action, min, max));
+      return this;
+    }
+
+    public Builder pacing(Duration pacing) {
+      if (pacing.isNegative()) {
+        throw new IllegalArgumentException("pacing must not be negative, got " + pacing);
+      }
+      this.pacing = pacing;
+      return this;
+    }
+
+    public Scenario build() {
+      if (steps.isEmpty()) {
+        throw new IllegalStateException("Scenario '" + name + "' has no steps");
+      }
+      return new Scenario(this);
+    }
+  }
+}
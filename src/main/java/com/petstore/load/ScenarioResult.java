@@ -0,0 +1,95 @@
+package com.petstore.load;
+
+import com.petstore.metrics.LatencySummary;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/** Outcome of a single {@link VirtualUserRunner} run */
+@Getter
+public class ScenarioResult {
+
+  private final Scenario scenario;
+  private final VirtualUserProfile profile;
+
+  /** Counters per scenario step, in step order; latency covers the step alone */
+  private final Map<String, EndpointStats> stepStats;
+
+  /** One sample per iteration, from its first step to the end of its last, think times included */
+  private final EndpointStats iterationStats;
+
+  /** Iterations that took longer than the scenario's pacing, so the next one started late */
+  private final long pacingMisses;
+
+  private final int peakUsers;
+  private final Duration duration;
+
+  ScenarioResult(
+      Scenario scenario,
+      VirtualUserProfile profile,
+      Map<String, EndpointStats> stepStats,
+      EndpointStats iterationStats,
+      long pacingMisses,
+      int peakUsers,
+      Duration duration) {
+    this.scenario = scenario;
+    this.profile = profile;
+    this.stepStats = Collections.unmodifiableMap(new LinkedHashMap<>(stepStats));
+    this.iterationStats = iterationStats;
+    this.pacingMisses = pacingMisses;
+    this.peakUsers = peakUsers;
+    this.duration = duration;
+  }
+
+  public long getIterations() {
+    return iterationStats.getCount();
+  }
+
+  public long getFailedIterations() {
+    return iterationStats.getErrors();
+  }
+
+  /** Share of iterations in which a step failed */
+  public double getErrorRate() {
+    return iterationStats.getErrorRate();
+  }
+
+  /** Successfully completed iterations per second - the end-to-end flow throughput */
+  public double getIterationsPerSecond() {
+    double seconds = duration.toNanos() / 1_000_000_000d;
+    return seconds == 0 ? 0d : (getIterations() - getFailedIterations()) / seconds;
+  }
+
+  public LatencySummary getLatencySummary(String stepName) {
+    EndpointStats stats = stepStats.get(stepName);
+    if (stats == null) {
+      throw new IllegalArgumentException("Unknown step: " + stepName);
+    }
+    return stats.getLatencySummary();
+  }
+
+  public LatencySummary getIterationLatencySummary() {
+    return iterationStats.getLatencySummary();
+  }
+
+  /** Human-readable summary suitable for logs and Allure attachments */
+  public String summary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "scenario='%s', peak users=%d, iterations=%d, failed=%d (%.2f%%), "
+                + "throughput=%.2f iterations/s, pacing misses=%d%n",
+            scenario.getName(),
+            peakUsers,
+            getIterations(),
+            getFailedIterations(),
+            getErrorRate() * 100,
+            getIterationsPerSecond(),
+            pacingMisses));
+    sb.append(String.format("  %-30s %s%n", "iteration", iterationStats));
+    stepStats.forEach((step, stats) -> sb.append(String.format("  %-30s %s%n", step, stats)));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,12 @@
+package com.petstore.load;
+
+/** One timed action of a {@link Scenario}, executed by a virtual user */
+@FunctionalInterface
+public interface ScenarioStep {
+
+  /**
+   * @return true if the step succeeded; false or an exception fails the step and ends the
+   *     iteration, the remaining steps are skipped
+   */
+  boolean execute(VirtualUserContext context) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.petstore.load;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * State of one virtual user, used to hand values such as an order ID from one step to the next.
+ * Each user runs on its own thread, so the context needs no synchronization. Attributes are
+ * cleared at the start of every iteration.
+ */
+public class VirtualUserContext {
+
+  /** -- GETTER -- 1-based number of the user within the run */
+  @Getter private final int userId;
+
+  /** -- GETTER -- 1-based number of the current iteration of this user */
+  @Getter private long iteration;
+
+  private final Map<String, Object> attributes = new HashMap<>();
+
+  VirtualUserContext(int userId) {
+    this.userId = userId;
+  }
+
+  public void put(String key, Object value) {
+    attributes.put(key, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key) {
+    return (T) attributes.get(key);
+  }
+
+  void startIteration() {
+    iteration++;
+    attributes.clear();
+  }
+}
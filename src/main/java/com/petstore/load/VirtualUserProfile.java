@@ -0,0 +1,64 @@
+package com.petstore.load;
+
+import com.petstore.config.ConfigurationManager;
+import com.petstore.util.ExecutorMode;
+import com.petstore.util.VirtualThreads;
+import java.time.Duration;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+/** Immutable description of a closed-loop run: how many virtual users are active over time */
+@Getter
+@Builder
+@ToString
+public class VirtualUserProfile {
+
+  /** Ramp-up, steady and ramp-down stages, executed in order */
+  @Singular private final List<LoadStage> stages;
+
+  /** One platform or one virtual (Java 21+) thread per user; defaults to {@code executor.mode} */
+  @Builder.Default
+  private final ExecutorMode executorMode =
+      ExecutorMode.from(ConfigurationManager.getInstance().getExecutorMode());
+
+  /** Time users get to finish their current iteration once the last stage has ended */
+  @Builder.Default private final Duration gracefulStop = Duration.ofSeconds(30);
+
+  public Duration getTotalDuration() {
+    return stages.stream().map(LoadStage::getDuration).reduce(Duration.ZERO, Duration::plus);
+  }
+
+  /** Number of users that should be active {@code elapsedNanos} into the run */
+  int usersAt(long elapsedNanos) {
+    int previousTarget = 0;
+    long stageStart = 0;
+    for (LoadStage stage : stages) {
+      long stageNanos = stage.getDuration().toNanos();
+      if (elapsedNanos < stageStart + stageNanos) {
+        double fraction = (double) (elapsedNanos - stageStart) / stageNanos;
+        return (int)
+            Math.round(previousTarget + (stage.getTargetUsers() - previousTarget) * fraction);
+      }
+      previousTarget = stage.getTargetUsers();
+      stageStart += stageNanos;
+    }
+    return previousTarget;
+  }
+
+  /** Validate profile values before a run */
+  public void validate() {
+    if (stages.isEmpty()) {
+      throw new IllegalArgumentException("At least one stage is required");
+    }
+    if (gracefulStop.isNegative()) {
+      throw new IllegalArgumentException("gracefulStop must not be negative, got " + gracefulStop);
+    }
+    if (executorMode == ExecutorMode.VIRTUAL && !VirtualThreads.isSupported()) {
+      throw new IllegalArgumentException(
+          "executorMode VIRTUAL needs Java 21+, running on " + System.getProperty("java.version"));
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package com.petstore.load;
+
+import com.petstore.util.ExecutorMode;
+import com.petstore.util.VirtualThreads;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closed-loop load runner: every virtual user repeats a {@link Scenario} on its own thread, and
+ * only starts its next iteration once the previous one - including think times and pacing - has
+ * finished. Unlike {@link LoadGenerator}, which fires independent requests at a fixed rate, this
+ * measures how many complete flows a given number of users gets through.
+ *
+ * <p>The number of users follows the profile's stages. Users added during ramp-up start right
+ * away; users removed during ramp-down finish their current iteration first, so a lifecycle is
+ * never cut off between placing and deleting an order.
+ */
+public class VirtualUserRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualUserRunner.class);
+
+  /** How often the number of active users is adjusted to the stages */
+  static final long CONTROL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /** Execute the scenario and block until the last stage has ended and users have stopped */
+  public ScenarioResult run(Scenario scenario, VirtualUserProfile profile) {
+    profile.validate();
+    log.info("Starting closed-loop run of '{}': {}", scenario.getName(), profile);
+
+    Map<String, EndpointStats> stepStats = new LinkedHashMap<>();
+    scenario.getSteps().forEach(step -> stepStats.put(step.getName(), new EndpointStats()));
+    EndpointStats iterationStats = new EndpointStats();
+    LongAdder pacingMisses = new LongAdder();
+
+    ExecutorService executor = newUserExecutor(profile.getExecutorMode());
+    Deque<VirtualUser> activeUsers = new ArrayDeque<>();
+    int startedUsers = 0;
+    int peakUsers = 0;
+    long start = System.nanoTime();
+    long end = start + profile.getTotalDuration().toNanos();
+
+    try {
+      for (long now = start; now < end; now = System.nanoTime()) {
+        int targetUsers = profile.usersAt(now - start);
+        while (activeUsers.size() < targetUsers) {
+          VirtualUser user =
+              new VirtualUser(++startedUsers, scenario, stepStats, iterationStats, pacingMisses);
+          activeUsers.addLast(user);
+          executor.execute(user);
+        }
+        while (activeUsers.size() > targetUsers) {
+          activeUsers.removeLast().stop();
+        }
+        peakUsers = Math.max(peakUsers, activeUsers.size());
+        LockSupport.parkNanos(Math.min(CONTROL_INTERVAL_NANOS, end - System.nanoTime()));
+        if (Thread.currentThread().isInterrupted()) {
+          log.warn("Closed-loop run interrupted, stopping all users");
+          break;
+        }
+      }
+    } finally {
+      activeUsers.forEach(VirtualUser::stop);
+      drain(executor, profile.getGracefulStop());
+    }
+
+    ScenarioResult result =
+        new ScenarioResult(
+            scenario,
+            profile,
+            stepStats,
+            iterationStats,
+            pacingMisses.sum(),
+            peakUsers,
+            Duration.ofNanos(System.nanoTime() - start));
+    log.info("Closed-loop run finished:\n{}", result.summary());
+    return result;
+  }
+
+  private static ExecutorService newUserExecutor(ExecutorMode mode) {
+    if (mode == ExecutorMode.VIRTUAL) {
+      return VirtualThreads.newThreadPerTaskExecutor("virtual-user-");
+    }
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newCachedThreadPool(
+        runnable -> {
+          Thread thread = new Thread(runnable, "virtual-user-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  private static void drain(ExecutorService executor, Duration gracefulStop) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(gracefulStop.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Users did not finish their iteration within {}, interrupting", gracefulStop);
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  /** One simulated user looping over the scenario until it is stopped */
+  private static final class VirtualUser implements Runnable {
+    private final VirtualUserContext context;
+    private final Scenario scenario;
+    private final Map<String, EndpointStats> stepStats;
+    private final EndpointStats iterationStats;
+    private final LongAdder pacingMisses;
+    private volatile boolean stopped;
+    private volatile Thread thread;
+
+    private VirtualUser(
+        int userId,
+        Scenario scenario,
+        Map<String, EndpointStats> stepStats,
+        EndpointStats iterationStats,
+        LongAdder pacingMisses) {
+      this.context = new VirtualUserContext(userId);
+      this.scenario = scenario;
+      this.stepStats = stepStats;
+      this.iterationStats = iterationStats;
+      this.pacingMisses = pacingMisses;
+    }
+
+    /** Finish the current iteration, then exit; wakes the user if it waits between iterations */
+    void stop() {
+      stopped = true;
+      LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+      thread = Thread.currentThread();
+      long pacingNanos = scenario.getPacing().toNanos();
+      while (!stopped && !Thread.currentThread().isInterrupted()) {
+        long iterationStart = System.nanoTime();
+        Scenario.Step lastStep = runIteration(iterationStart);
+        if (lastStep == null) {
+          return;
+        }
+        // Think time of the last step and pacing separate iterations; a stop cuts them short
+        pause(lastStep.nextThinkTimeNanos(), true);
+        long nextStart = iterationStart + pacingNanos;
+        if (pacingNanos > 0 && System.nanoTime() - nextStart > 0) {
+          pacingMisses.increment();
+        }
+        pause(nextStart - System.nanoTime(), true);
+      }
+    }
+
+    /** @return the last step executed, or null if the user was interrupted mid-iteration */
+    private Scenario.Step runIteration(long iterationStart) {
+      context.startIteration();
+      Scenario.Step last = null;
+      boolean success = true;
+      for (Scenario.Step step : scenario.getSteps()) {
+        if (last != null && !pause(last.nextThinkTimeNanos(), false)) {
+          return null;
+        }
+        last = step;
+        success = execute(step);
+        if (!success) {
+          break;
+        }
+      }
+      iterationStats.record(System.nanoTime() - iterationStart, success);
+      return last;
+    }
+
+    private boolean execute(Scenario.Step step) {
+      long stepStart = System.nanoTime();
+      boolean success;
+      try {
+        success = step.getAction().execute(context);
+      } catch (Exception e) {
+        log.debug(
+            "User {} step '{}' failed: {}", context.getUserId(), step.getName(), e.getMessage());
+        success = false;
+      }
+      stepStats.get(step.getName()).record(System.nanoTime() - stepStart, success);
+      return success;
+    }
+
+    /** Park for the given time; false if interrupted, or if {@code stoppable} and stopped */
+    private boolean pause(long nanos, boolean stoppable) {
+      long deadline = System.nanoTime() + nanos;
+      long remaining;
+      while ((remaining = deadline - System.nanoTime()) > 0) {
+        if (Thread.currentThread().isInterrupted() || (stoppable && stopped)) {
+          return false;
+        }
+        LockSupport.parkNanos(remaining);
+      }
+      return !Thread.currentThread().isInterrupted();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.petstore.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of one client-side cache: lookups answered from the cache, lookups that went to
+ * the backend, lookups that joined a backend call already in flight, and evicted entries.
+ */
+public class CacheMetrics {
+
+  private final String name;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /** Standalone counters; use {@link ClientMetrics#cache(String)} for ones that are exported */
+  public CacheMetrics(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void onHit() {
+    hits.increment();
+  }
+
+  public void onMiss() {
+    misses.increment();
+  }
+
+  public void onCoalesced() {
+    coalesced.increment();
+  }
+
+  public void onEviction() {
+    evictions.increment();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** Lookups that called the backend */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /** Lookups that waited for another caller's backend call instead of making their own */
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /** Share of lookups that did not call the backend */
+  public double getHitRatio() {
+    long served = getHits() + getCoalesced();
+    long total = served + getMisses();
+    return total == 0 ? 0d : (double) served / total;
+  }
+
+  void reset() {
+    hits.reset();
+    misses.reset();
+    coalesced.reset();
+    evictions.reset();
+  }
+}
@@ -0,0 +1,317 @@
+package com.petstore.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Process-wide registry of {@link EndpointMetrics} using Singleton pattern, filled by {@link
+ * MetricsFilter} for every call made through an API client and by the client's retry policy through
+ * each endpoint's {@link RetryMetrics}. Endpoints are keyed by method and normalised path, e.g.
+ * "GET /store/order/{id}". Client-side caches register their {@link CacheMetrics} here too. The
+ * registry can be rendered in the Prometheus text exposition format or as a console table at any
+ * time, including while requests are running.
+ */
+public class ClientMetrics {
+
+  private static final String PREFIX = "petstore_client_";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private static volatile ClientMetrics instance;
+
+  /** Sorted, so exports list endpoints in a stable order */
+  private final Map<String, EndpointMetrics> endpoints = new ConcurrentSkipListMap<>();
+
+  private final Map<String, CacheMetrics> caches = new ConcurrentSkipListMap<>();
+
+  private ClientMetrics() {}
+
+  public static ClientMetrics getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (ClientMetrics.class) {
+      if (instance == null) {
+        instance = new ClientMetrics();
+      }
+    }
+    return instance;
+  }
+
+  /** Metrics of the endpoint, created on first use */
+  public EndpointMetrics endpoint(String endpoint) {
+    EndpointMetrics metrics = endpoints.get(endpoint);
+    return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, EndpointMetrics::new);
+  }
+
+  /** Retry counters of the endpoint; retries happen above the filter, so clients record them */
+  public RetryMetrics retries(String endpoint) {
+    return endpoint(endpoint).getRetryMetrics();
+  }
+
+  /** Record time a call of the endpoint was held back by the client-side limiter */
+  public void recordLimiterWait(String endpoint, long nanos) {
+    endpoint(endpoint).onLimiterWait(nanos);
+  }
+
+  public Collection<EndpointMetrics> getEndpoints() {
+    return endpoints.values();
+  }
+
+  /** Counters of the named client-side cache, created on first use */
+  public CacheMetrics cache(String name) {
+    CacheMetrics metrics = caches.get(name);
+    return metrics != null ? metrics : caches.computeIfAbsent(name, CacheMetrics::new);
+  }
+
+  public Collection<CacheMetrics> getCaches() {
+    return caches.values();
+  }
+
+  /** Zero all timers and counters; in-flight gauges keep tracking running calls */
+  public void reset() {
+    endpoints.values().forEach(EndpointMetrics::reset);
+    caches.values().forEach(CacheMetrics::reset);
+  }
+
+  /** Current values in the Prometheus text exposition format (version 0.0.4) */
+  public String toPrometheusText() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("# HELP " + PREFIX + "request_duration_seconds Client-side latency of API calls\n");
+    sb.append("# TYPE " + PREFIX + "request_duration_seconds summary\n");
+    for (EndpointMetrics metrics : endpoints.values()) {
+      for (int i = 0; i < EndpointMetrics.STATUS_CLASSES.length; i++) {
+        LatencyHistogram timer = metrics.timerAt(i);
+        if (timer.getCount() == 0) {
+          continue;
+        }
+        String labels =
+            String.format(
+                "endpoint=\"%s\",status=\"%s\"",
+                escape(metrics.getEndpoint()), EndpointMetrics.STATUS_CLASSES[i]);
+        appendSummary(sb, "request_duration_seconds", labels, timer);
+      }
+    }
+    sb.append("# HELP " + PREFIX + "limiter_wait_seconds Time spent in the client limiter\n");
+    sb.append("# TYPE " + PREFIX + "limiter_wait_seconds summary\n");
+    for (EndpointMetrics metrics : endpoints.values()) {
+      if (metrics.getLimiterWait().getCount() > 0) {
+        String labels = String.format("endpoint=\"%s\"", escape(metrics.getEndpoint()));
+        appendSummary(sb, "limiter_wait_seconds", labels, metrics.getLimiterWait());
+      }
+    }
+    appendPerEndpoint(
+        sb,
+        "errors_total",
+        "counter",
+        "5xx responses and transport failures other than timeouts",
+        EndpointMetrics::getErrors);
+    appendPerEndpoint(
+        sb, "timeouts_total", "counter", "Calls that timed out", EndpointMetrics::getTimeouts);
+    appendPerEndpoint(
+        sb, "retries_total", "counter", "Retried attempts", EndpointMetrics::getRetries);
+    appendRetryMetrics(sb);
+    appendPerEndpoint(
+        sb,
+        "in_flight_requests",
+        "gauge",
+        "Requests sent and not yet answered",
+        EndpointMetrics::getInFlight);
+    if (!caches.isEmpty()) {
+      appendCacheMetrics(sb);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Write {@link #toPrometheusText()} to a file, e.g. for the node_exporter textfile collector. The
+   * text goes to a temporary file that is then moved over the target, so scrapers never see a
+   * partially written file.
+   */
+  public void writePrometheusFile(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temp, toPrometheusText().getBytes(StandardCharsets.UTF_8));
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** Human-readable table with one line per endpoint and status class */
+  public String toConsoleReport() {
+    StringBuilder sb = new StringBuilder();
+    for (EndpointMetrics metrics : endpoints.values()) {
+      sb.append(
+          String.format(
+              "%-30s in-flight=%d, errors=%d, timeouts=%d, retries=%d%n",
+              metrics.getEndpoint(),
+              metrics.getInFlight(),
+              metrics.getErrors(),
+              metrics.getTimeouts(),
+              metrics.getRetries()));
+      for (int i = 0; i < EndpointMetrics.STATUS_CLASSES.length; i++) {
+        LatencyHistogram timer = metrics.timerAt(i);
+        if (timer.getCount() > 0) {
+          sb.append(
+              String.format("  %-4s %s%n", EndpointMetrics.STATUS_CLASSES[i], timer.summary()));
+        }
+      }
+      if (metrics.getLimiterWait().getCount() > 0) {
+        sb.append(String.format("  wait %s%n", metrics.getLimiterWait().summary()));
+      }
+      if (metrics.getRetryMetrics().getAttempts(1) > 0) {
+        sb.append(String.format("  retry %s%n", metrics.getRetryMetrics()));
+      }
+    }
+    for (CacheMetrics metrics : caches.values()) {
+      sb.append(
+          String.format(
+              "cache %-24s hits=%d, misses=%d, coalesced=%d, evictions=%d, hit ratio=%.1f%%%n",
+              metrics.getName(),
+              metrics.getHits(),
+              metrics.getMisses(),
+              metrics.getCoalesced(),
+              metrics.getEvictions(),
+              metrics.getHitRatio() * 100));
+    }
+    return sb.toString();
+  }
+
+  private void appendRetryMetrics(StringBuilder sb) {
+    sb.append("# HELP " + PREFIX + "retry_attempts_total Retried calls by attempt number\n");
+    sb.append("# TYPE " + PREFIX + "retry_attempts_total counter\n");
+    for (EndpointMetrics metrics : endpoints.values()) {
+      RetryMetrics retries = metrics.getRetryMetrics();
+      for (int attempt = 1; attempt <= RetryMetrics.MAX_TRACKED_ATTEMPTS; attempt++) {
+        long count = retries.getAttempts(attempt);
+        if (count == 0) {
+          break;
+        }
+        sb.append(PREFIX + "retry_attempts_total{endpoint=\"")
+            .append(escape(metrics.getEndpoint()))
+            .append("\",attempt=\"")
+            .append(attempt)
+            .append("\"} ")
+            .append(count)
+            .append('\n');
+      }
+    }
+    appendPerEndpoint(
+        sb,
+        "retry_non_retryable_total",
+        "counter",
+        "Failed attempts that were not retried because the failure is not transient",
+        metrics -> metrics.getRetryMetrics().getNonRetryableFailures());
+    appendPerEndpoint(
+        sb,
+        "retry_budget_exhausted_total",
+        "counter",
+        "Retries refused because the retry budget was empty",
+        metrics -> metrics.getRetryMetrics().getBudgetExhausted());
+    sb.append("# HELP " + PREFIX + "retry_backoff_seconds_total Time spent backing off\n");
+    sb.append("# TYPE " + PREFIX + "retry_backoff_seconds_total counter\n");
+    for (EndpointMetrics metrics : endpoints.values()) {
+      sb.append(PREFIX + "retry_backoff_seconds_total{endpoint=\"")
+          .append(escape(metrics.getEndpoint()))
+          .append("\"} ")
+          .append(metrics.getRetryMetrics().getTotalBackoffMillis() / 1000d)
+          .append('\n');
+    }
+  }
+
+  private void appendCacheMetrics(StringBuilder sb) {
+    sb.append("# HELP " + PREFIX + "cache_requests_total Cache lookups by result\n");
+    sb.append("# TYPE " + PREFIX + "cache_requests_total counter\n");
+    for (CacheMetrics metrics : caches.values()) {
+      appendCacheResult(sb, metrics, "hit", metrics.getHits());
+      appendCacheResult(sb, metrics, "miss", metrics.getMisses());
+      appendCacheResult(sb, metrics, "coalesced", metrics.getCoalesced());
+    }
+    sb.append("# HELP " + PREFIX + "cache_evictions_total Entries evicted to bound the size\n");
+    sb.append("# TYPE " + PREFIX + "cache_evictions_total counter\n");
+    for (CacheMetrics metrics : caches.values()) {
+      sb.append(PREFIX + "cache_evictions_total{cache=\"")
+          .append(escape(metrics.getName()))
+          .append("\"} ")
+          .append(metrics.getEvictions())
+          .append('\n');
+    }
+  }
+
+  private static void appendCacheResult(
+      StringBuilder sb, CacheMetrics metrics, String result, long value) {
+    sb.append(PREFIX + "cache_requests_total{cache=\"")
+        .append(escape(metrics.getName()))
+        .append("\",result=\"")
+        .append(result)
+        .append("\"} ")
+        .append(value)
+        .append('\n');
+  }
+
+  private static void appendSummary(
+      StringBuilder sb, String name, String labels, LatencyHistogram timer) {
+    long count = timer.getCount();
+    for (double quantile : QUANTILES) {
+      sb.append(PREFIX)
+          .append(name)
+          .append('{')
+          .append(labels)
+          .append(",quantile=\"")
+          .append(quantile)
+          .append("\"} ")
+          .append(seconds(timer.getValueAtPercentile(quantile * 100)))
+          .append('\n');
+    }
+    sb.append(PREFIX)
+        .append(name)
+        .append("_sum{")
+        .append(labels)
+        .append("} ")
+        .append(seconds(timer.getMeanNanos() * count))
+        .append('\n');
+    sb.append(PREFIX)
+        .append(name)
+        .append("_count{")
+        .append(labels)
+        .append("} ")
+        .append(count)
+        .append('\n');
+  }
+
+  private void appendPerEndpoint(
+      StringBuilder sb,
+      String name,
+      String type,
+      String help,
+      ToLongFunction<EndpointMetrics> value) {
+    sb.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    for (EndpointMetrics metrics : endpoints.values()) {
+      sb.append(PREFIX)
+          .append(name)
+          .append("{endpoint=\"")
+          .append(escape(metrics.getEndpoint()))
+          .append("\"} ")
+          .append(value.applyAsLong(metrics))
+          .append('\n');
+    }
+  }
+
+  private static double seconds(double nanos) {
+    return nanos / 1_000_000_000d;
+  }
+
+  private static String escape(String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
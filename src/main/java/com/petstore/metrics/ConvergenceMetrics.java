@@ -0,0 +1,84 @@
+package com.petstore.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Process-wide record of how long eventually consistent conditions took to hold, using Singleton
+ * pattern, filled by {@code Awaiter}. Conditions are keyed by a name without IDs, e.g. "order
+ * deleted", so the histograms show the backend's consistency lag for each kind of change.
+ */
+public class ConvergenceMetrics {
+
+  private static volatile ConvergenceMetrics instance;
+
+  /** Sorted, so reports list conditions in a stable order */
+  private final Map<String, Condition> conditions = new ConcurrentSkipListMap<>();
+
+  private ConvergenceMetrics() {}
+
+  public static ConvergenceMetrics getInstance() {
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (ConvergenceMetrics.class) {
+      if (instance == null) {
+        instance = new ConvergenceMetrics();
+      }
+    }
+    return instance;
+  }
+
+  /** Counters of one condition, created on first use */
+  public Condition condition(String name) {
+    return conditions.computeIfAbsent(name, key -> new Condition());
+  }
+
+  public void reset() {
+    conditions.clear();
+  }
+
+  /** One line per condition: convergence time percentiles, polls and timeouts */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    conditions.forEach(
+        (name, condition) ->
+            sb.append(
+                String.format(
+                    "%-30s polls=%d, timeouts=%d, %s%n",
+                    name,
+                    condition.getPolls(),
+                    condition.getTimeouts(),
+                    condition.getLag().summary())));
+    return sb.toString();
+  }
+
+  /** Convergence time histogram and counters of one condition */
+  public static class Condition {
+    /** -- GETTER -- Time from the start of an await to the first poll that saw the condition */
+    @Getter private final LatencyHistogram lag = new LatencyHistogram();
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public void onConverged(long lagNanos, int polls) {
+      lag.recordNanos(lagNanos);
+      this.polls.add(polls);
+    }
+
+    public void onTimeout(int polls) {
+      timeouts.increment();
+      this.polls.add(polls);
+    }
+
+    public long getPolls() {
+      return polls.sum();
+    }
+
+    public long getTimeouts() {
+      return timeouts.sum();
+    }
+  }
+}
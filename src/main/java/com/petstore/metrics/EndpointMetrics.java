@@ -0,0 +1,127 @@
+package com.petstore.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live client-side metrics of one endpoint: a latency timer per status class, counters for errors
+ * and timeouts, the {@link RetryMetrics} of calls retried by the client, and a gauge of requests
+ * currently in flight. Time spent queued in the client-side limiter has its own timer, so it never
+ * shows up as server latency. All updates are lock-free, so exporters can read while requests are
+ * being recorded.
+ */
+public class EndpointMetrics {
+
+  /** Status class labels; index 0 is used for calls that ended without a response */
+  static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+  private final String endpoint;
+  private final LatencyHistogram[] timers = new LatencyHistogram[STATUS_CLASSES.length];
+  private final LatencyHistogram limiterWait = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final RetryMetrics retries = new RetryMetrics();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  EndpointMetrics(String endpoint) {
+    this.endpoint = endpoint;
+    for (int i = 0; i < timers.length; i++) {
+      timers[i] = new LatencyHistogram();
+    }
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public void onStart() {
+    inFlight.incrementAndGet();
+  }
+
+  public void onFinish() {
+    inFlight.decrementAndGet();
+  }
+
+  /** A response was received; 5xx responses also count as errors */
+  public void onResponse(int statusCode, long nanos) {
+    int statusClass = statusCode / 100;
+    timers[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].recordNanos(nanos);
+    if (statusClass == 5) {
+      errors.increment();
+    }
+  }
+
+  /** The call failed without a response; timeouts are counted apart from other errors */
+  public void onFailure(long nanos, boolean timeout) {
+    timers[0].recordNanos(nanos);
+    if (timeout) {
+      timeouts.increment();
+    } else {
+      errors.increment();
+    }
+  }
+
+  void onLimiterWait(long nanos) {
+    limiterWait.recordNanos(nanos);
+  }
+
+  /** Latency of calls in the status class, e.g. "2xx", or "none" for calls without a response */
+  public LatencyHistogram getTimer(String statusClass) {
+    for (int i = 0; i < STATUS_CLASSES.length; i++) {
+      if (STATUS_CLASSES[i].equals(statusClass)) {
+        return timers[i];
+      }
+    }
+    throw new IllegalArgumentException("Unknown status class: " + statusClass);
+  }
+
+  /** Time calls waited for a rate limit token and a concurrency permit before being sent */
+  public LatencyHistogram getLimiterWait() {
+    return limiterWait;
+  }
+
+  LatencyHistogram timerAt(int index) {
+    return timers[index];
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (LatencyHistogram timer : timers) {
+      count += timer.getCount();
+    }
+    return count;
+  }
+
+  /** 5xx responses and transport failures other than timeouts */
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  /** Retried attempts; see {@link #getRetryMetrics()} for the full breakdown */
+  public long getRetries() {
+    return retries.getRetries();
+  }
+
+  /** Counters the client's retry policy records into when it retries calls of this endpoint */
+  public RetryMetrics getRetryMetrics() {
+    return retries;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  void reset() {
+    for (LatencyHistogram timer : timers) {
+      timer.reset();
+    }
+    limiterWait.reset();
+    errors.reset();
+    timeouts.reset();
+    retries.reset();
+  }
+}
@@ -0,0 +1,146 @@
+package com.petstore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with nanosecond input and HDR-style log-linear buckets.
+ *
+ * <p>Every power-of-two range is split into {@value #SUB_BUCKET_HALF_COUNT} linear sub-buckets, so
+ * any recorded value is reported within ~1.6% of its true value. Values up to one hour fit into a
+ * fixed array of roughly 2.3k counters (~18KB), regardless of how many samples are recorded.
+ * Recording is a single atomic increment and is safe from any number of threads.
+ */
+public class LatencyHistogram {
+
+  /** Highest value that is tracked precisely; larger samples are clamped */
+  public static final long MAX_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+  private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+  private final LongAccumulator minNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+  /** Record a single latency sample in nanoseconds */
+  public void recordNanos(long nanos) {
+    long value = Math.min(Math.max(nanos, 0L), MAX_TRACKABLE_NANOS);
+    counts.incrementAndGet(indexOf(value));
+    totalNanos.add(value);
+    maxNanos.accumulate(value);
+    minNanos.accumulate(value);
+  }
+
+  /** Record the time elapsed since a {@link System#nanoTime()} start mark */
+  public void recordSince(long startNanos) {
+    recordNanos(System.nanoTime() - startNanos);
+  }
+
+  /** Add all samples of another histogram into this one */
+  public void merge(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long count = other.counts.get(i);
+      if (count != 0) {
+        counts.addAndGet(i, count);
+      }
+    }
+    totalNanos.add(other.totalNanos.sum());
+    maxNanos.accumulate(other.maxNanos.get());
+    minNanos.accumulate(other.minNanos.get());
+  }
+
+  /** Clear all recorded samples */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0L);
+    }
+    totalNanos.reset();
+    maxNanos.reset();
+    minNanos.reset();
+  }
+
+  public long getCount() {
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Value at the given percentile (0-100] in nanoseconds. Returns the highest value equivalent to
+   * the bucket containing the percentile, so results err on the pessimistic side.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be in (0, 100], got " + percentile);
+    }
+    long[] snapshot = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0L;
+    }
+
+    long target = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= target) {
+        return Math.min(highestEquivalentValue(i), getMaxNanos());
+      }
+    }
+    return getMaxNanos();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public long getMinNanos() {
+    long min = minNanos.get();
+    return min == Long.MAX_VALUE ? 0L : min;
+  }
+
+  public double getMeanNanos() {
+    long count = getCount();
+    return count == 0 ? 0d : (double) totalNanos.sum() / count;
+  }
+
+  /** Immutable p50/p90/p99/p99.9/max view of the current samples */
+  public LatencySummary summary() {
+    return new LatencySummary(
+        getCount(),
+        getMeanNanos(),
+        getValueAtPercentile(50),
+        getValueAtPercentile(90),
+        getValueAtPercentile(99),
+        getValueAtPercentile(99.9),
+        getMaxNanos());
+  }
+
+  static int indexOf(long value) {
+    int magnitude = 63 - Long.numberOfLeadingZeros(value | (SUB_BUCKET_COUNT - 1));
+    int shift = magnitude - (SUB_BUCKET_BITS - 1);
+    int subBucket = (int) (value >>> shift);
+    return shift * SUB_BUCKET_HALF_COUNT + subBucket;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,60 @@
+package com.petstore.metrics;
+
+import com.petstore.client.StoreEndpoint;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint latency histograms. A single recorder can be shared by all worker threads, or each
+ * thread can own one and the results can be merged afterwards
+ */
+public class LatencyRecorder {
+
+  private final Map<StoreEndpoint, LatencyHistogram> histograms =
+      new EnumMap<>(StoreEndpoint.class);
+
+  public LatencyRecorder() {
+    for (StoreEndpoint endpoint : StoreEndpoint.values()) {
+      histograms.put(endpoint, new LatencyHistogram());
+    }
+  }
+
+  /** Record a latency in nanoseconds for the given endpoint */
+  public void record(StoreEndpoint endpoint, long nanos) {
+    histograms.get(endpoint).recordNanos(nanos);
+  }
+
+  public LatencyHistogram histogram(StoreEndpoint endpoint) {
+    return histograms.get(endpoint);
+  }
+
+  /** Add all samples recorded by another recorder into this one */
+  public void merge(LatencyRecorder other) {
+    other.histograms.forEach((endpoint, histogram) -> histograms.get(endpoint).merge(histogram));
+  }
+
+  public void reset() {
+    histograms.values().forEach(LatencyHistogram::reset);
+  }
+
+  /** Percentile summaries for every endpoint that has at least one sample */
+  public Map<StoreEndpoint, LatencySummary> summaries() {
+    Map<StoreEndpoint, LatencySummary> summaries = new EnumMap<>(StoreEndpoint.class);
+    histograms.forEach(
+        (endpoint, histogram) -> {
+          if (histogram.getCount() > 0) {
+            summaries.put(endpoint, histogram.summary());
+          }
+        });
+    return Collections.unmodifiableMap(summaries);
+  }
+
+  /** Multi-line report with one percentile line per endpoint */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    summaries()
+        .forEach((endpoint, summary) -> sb.append(String.format("%-30s %s%n", endpoint, summary)));
+    return sb.toString();
+  }
+}
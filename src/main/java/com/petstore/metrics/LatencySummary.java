@@ -0,0 +1,70 @@
+package com.petstore.metrics;
+
+import lombok.Getter;
+
+/** Immutable percentile snapshot of a {@link LatencyHistogram}, values in nanoseconds */
+@Getter
+public class LatencySummary {
+
+  private final long count;
+  private final double meanNanos;
+  private final long p50Nanos;
+  private final long p90Nanos;
+  private final long p99Nanos;
+  private final long p999Nanos;
+  private final long maxNanos;
+
+  public LatencySummary(
+      long count,
+      double meanNanos,
+      long p50Nanos,
+      long p90Nanos,
+      long p99Nanos,
+      long p999Nanos,
+      long maxNanos) {
+    this.count = count;
+    this.meanNanos = meanNanos;
+    this.p50Nanos = p50Nanos;
+    this.p90Nanos = p90Nanos;
+    this.p99Nanos = p99Nanos;
+    this.p999Nanos = p999Nanos;
+    this.maxNanos = maxNanos;
+  }
+
+  public double getP50Millis() {
+    return toMillis(p50Nanos);
+  }
+
+  public double getP90Millis() {
+    return toMillis(p90Nanos);
+  }
+
+  public double getP99Millis() {
+    return toMillis(p99Nanos);
+  }
+
+  public double getP999Millis() {
+    return toMillis(p999Nanos);
+  }
+
+  public double getMaxMillis() {
+    return toMillis(maxNanos);
+  }
+
+  private static double toMillis(double nanos) {
+    return nanos / 1_000_000d;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "count=%d, mean=%.1fms, p50=%.1fms, p90=%.1fms, p99=%.1fms, p99.9=%.1fms, max=%.1fms",
+        count,
+        toMillis(meanNanos),
+        getP50Millis(),
+        getP90Millis(),
+        getP99Millis(),
+        getP999Millis(),
+        getMaxMillis());
+  }
+}
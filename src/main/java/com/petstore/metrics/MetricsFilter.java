@@ -0,0 +1,92 @@
+package com.petstore.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.InterruptedIOException;
+
+/**
+ * REST Assured filter that records every call into {@link ClientMetrics}: in-flight gauge while the
+ * call runs, then the latency under its status class, or an error/timeout when no response came
+ * back. Stateless, so one instance is shared by all request specifications.
+ */
+public class MetricsFilter implements Filter {
+
+  public static final MetricsFilter INSTANCE = new MetricsFilter();
+
+  private MetricsFilter() {}
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    EndpointMetrics metrics =
+        ClientMetrics.getInstance()
+            .endpoint(endpointOf(requestSpec.getMethod(), requestSpec.getUserDefinedPath()));
+    metrics.onStart();
+    long start = System.nanoTime();
+    try {
+      Response response = ctx.next(requestSpec, responseSpec);
+      metrics.onResponse(response.getStatusCode(), System.nanoTime() - start);
+      return response;
+    } catch (Exception e) {
+      metrics.onFailure(System.nanoTime() - start, isTimeout(e));
+      throw e;
+    } finally {
+      metrics.onFinish();
+    }
+  }
+
+  /**
+   * Metrics key of a request: the method plus the path with every path parameter - a {name}
+   * placeholder or a numeric segment - replaced by {id}, so templated and pre-bound paths such as
+   * /store/order/{orderId} and /store/order/42 share one key and ids do not create new series.
+   */
+  public static String endpointOf(String method, String path) {
+    StringBuilder key = new StringBuilder(method.length() + path.length() + 1);
+    key.append(method).append(' ');
+    int segmentStart = 0;
+    while (segmentStart < path.length()) {
+      int segmentEnd = path.indexOf('/', segmentStart + 1);
+      if (segmentEnd < 0) {
+        segmentEnd = path.length();
+      }
+      if (isParameter(path, segmentStart + 1, segmentEnd)) {
+        key.append("/{id}");
+      } else {
+        key.append(path, segmentStart, segmentEnd);
+      }
+      segmentStart = segmentEnd;
+    }
+    return key.toString();
+  }
+
+  private static boolean isParameter(String path, int start, int end) {
+    if (start >= end) {
+      return false;
+    }
+    if (path.charAt(start) == '{' && path.charAt(end - 1) == '}') {
+      return true;
+    }
+    for (int i = start; i < end; i++) {
+      char c = path.charAt(i);
+      if ((c < '0' || c > '9') && !(c == '-' && i == start && end - start > 1)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Socket, connect and pool-lease timeouts all extend InterruptedIOException */
+  public static boolean isTimeout(Throwable failure) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t instanceof InterruptedIOException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
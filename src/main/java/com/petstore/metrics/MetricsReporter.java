@@ -0,0 +1,116 @@
+package com.petstore.metrics;
+
+import com.petstore.config.ConfigurationManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically exports {@link ClientMetrics} while a suite or load run is executing: rewrites a
+ * Prometheus text file and/or logs the console report every export interval, on a daemon thread.
+ * A final export runs at JVM shutdown, so the file always ends with the totals of the run.
+ */
+public class MetricsReporter {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+  private static volatile MetricsReporter shared;
+
+  private final ClientMetrics metrics;
+  private final long intervalMs;
+
+  /** Target of the Prometheus export, or null to skip it */
+  private final Path prometheusFile;
+
+  private final boolean console;
+  private ScheduledExecutorService scheduler;
+
+  public MetricsReporter(
+      ClientMetrics metrics, long intervalMs, Path prometheusFile, boolean console) {
+    this.metrics = metrics;
+    this.intervalMs = intervalMs;
+    this.prometheusFile = prometheusFile;
+    this.console = console;
+  }
+
+  /**
+   * Start the shared reporter when metrics are enabled and at least one export is configured.
+   * Idempotent, so every suite may call it.
+   *
+   * @return the running shared reporter, or null when nothing is exported
+   */
+  public static MetricsReporter startSharedIfEnabled() {
+    ConfigurationManager config = ConfigurationManager.getInstance();
+    String file = config.getMetricsPrometheusFile();
+    boolean console = config.isMetricsConsoleEnabled();
+    if (!config.isMetricsEnabled() || (file.isEmpty() && !console)) {
+      return null;
+    }
+    if (shared == null) {
+      synchronized (MetricsReporter.class) {
+        if (shared == null) {
+          MetricsReporter reporter =
+              new MetricsReporter(
+                  ClientMetrics.getInstance(),
+                  config.getMetricsExportIntervalMs(),
+                  file.isEmpty() ? null : Paths.get(file),
+                  console);
+          reporter.start();
+          Runtime.getRuntime()
+              .addShutdownHook(new Thread(reporter::stop, "metrics-reporter-shutdown"));
+          shared = reporter;
+        }
+      }
+    }
+    return shared;
+  }
+
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "metrics-reporter");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleAtFixedRate(this::export, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    log.info(
+        "Exporting client metrics every {}ms (prometheus file: {}, console: {})",
+        intervalMs,
+        prometheusFile,
+        console);
+  }
+
+  /** Stop the periodic export and export once more */
+  public synchronized void stop() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdownNow();
+    scheduler = null;
+    export();
+  }
+
+  /** Export the current values now */
+  public void export() {
+    if (prometheusFile != null) {
+      try {
+        metrics.writePrometheusFile(prometheusFile);
+      } catch (IOException | RuntimeException e) {
+        // Must not escape: an exception in a scheduled task cancels all further exports
+        log.warn("Could not write metrics to {}: {}", prometheusFile, e.getMessage());
+      }
+    }
+    if (console && !metrics.getEndpoints().isEmpty()) {
+      log.info("Client metrics:\n{}", metrics.toConsoleReport());
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.petstore.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-attempt counters collected by a {@code RetryPolicy}: how many calls reached each attempt,
+ * their outcomes, refused retries and time spent backing off. Every endpoint's {@link
+ * EndpointMetrics} carries one; safe to read while retries run.
+ */
+public class RetryMetrics {
+
+  /** Attempts beyond this number are counted together with it */
+  static final int MAX_TRACKED_ATTEMPTS = 16;
+
+  private final AtomicLongArray attemptsByNumber = new AtomicLongArray(MAX_TRACKED_ATTEMPTS + 1);
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder nonRetryableFailures = new LongAdder();
+  private final LongAdder budgetExhausted = new LongAdder();
+  private final LongAdder backoffNanos = new LongAdder();
+
+  public void onAttempt(int attempt) {
+    attemptsByNumber.incrementAndGet(Math.min(attempt, MAX_TRACKED_ATTEMPTS));
+  }
+
+  public void onSuccess() {
+    successes.increment();
+  }
+
+  public void onFailure(boolean retryable) {
+    failures.increment();
+    if (!retryable) {
+      nonRetryableFailures.increment();
+    }
+  }
+
+  public void onRetry(long delayNanos) {
+    retries.increment();
+    backoffNanos.add(delayNanos);
+  }
+
+  public void onBudgetExhausted() {
+    budgetExhausted.increment();
+  }
+
+  /** Number of calls that reached the given attempt (1 = first try) */
+  public long getAttempts(int attempt) {
+    return attemptsByNumber.get(Math.min(attempt, MAX_TRACKED_ATTEMPTS));
+  }
+
+  public long getSuccesses() {
+    return successes.sum();
+  }
+
+  /** Failed attempts, including ones that were retried afterwards */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  public long getNonRetryableFailures() {
+    return nonRetryableFailures.sum();
+  }
+
+  /** Retries that were refused because the retry budget was empty */
+  public long getBudgetExhausted() {
+    return budgetExhausted.sum();
+  }
+
+  public long getTotalBackoffMillis() {
+    return backoffNanos.sum() / 1_000_000L;
+  }
+
+  void reset() {
+    for (int i = 0; i < attemptsByNumber.length(); i++) {
+      attemptsByNumber.set(i, 0L);
+    }
+    successes.reset();
+    failures.reset();
+    retries.reset();
+    nonRetryableFailures.reset();
+    budgetExhausted.reset();
+    backoffNanos.reset();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder attempts = new StringBuilder();
+    for (int i = 1; i <= MAX_TRACKED_ATTEMPTS && attemptsByNumber.get(i) > 0; i++) {
+      attempts.append(i == 1 ? "" : ", ").append('#').append(i).append('=');
+      attempts.append(attemptsByNumber.get(i));
+    }
+    return String.format(
+        "attempts[%s], successes=%d, failures=%d, retries=%d, nonRetryable=%d, budgetExhausted=%d, backoff=%dms",
+        attempts,
+        getSuccesses(),
+        getFailures(),
+        getRetries(),
+        getNonRetryableFailures(),
+        getBudgetExhausted(),
+        getTotalBackoffMillis());
+  }
+}
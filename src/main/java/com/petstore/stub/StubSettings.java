@@ -0,0 +1,33 @@
+package com.petstore.stub;
+
+import com.petstore.config.ConfigurationManager;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Fault injection and threading settings of the {@link StubStoreServer} */
+@Getter
+@Builder
+public class StubSettings {
+
+  /** Fixed delay added to every response */
+  @Builder.Default private final long latencyMs = 0;
+
+  /** Upper bound of a uniformly random delay added on top of {@code latencyMs} */
+  @Builder.Default private final long latencyJitterMs = 0;
+
+  /** Fraction of requests (0.0 - 1.0) answered with 500 instead of being processed */
+  @Builder.Default private final double errorRate = 0.0;
+
+  /** Threads serving requests; injected latency blocks one of them per in-flight request */
+  @Builder.Default private final int threads = 32;
+
+  /** Settings from stub.* properties */
+  public static StubSettings fromConfiguration(ConfigurationManager config) {
+    return builder()
+        .latencyMs(config.getStubLatencyMs())
+        .latencyJitterMs(config.getStubLatencyJitterMs())
+        .errorRate(config.getStubErrorRate())
+        .threads(config.getStubThreads())
+        .build();
+  }
+}
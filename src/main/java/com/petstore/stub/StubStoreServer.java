@@ -0,0 +1,290 @@
+package com.petstore.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.client.ObjectMapperProvider;
+import com.petstore.config.ConfigurationManager;
+import com.petstore.dto.ErrorResponse;
+import com.petstore.dto.Order;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process implementation of the Petstore /store endpoints on the JDK HTTP server. Orders live in
+ * a concurrent map; the inventory reports seeded pet counts plus the number of orders ever placed
+ * per status, so deletions never make a count go backwards. Bodies use the same JSON shapes as
+ * {@link Order} and {@link ErrorResponse}. Latency and 500 errors can be injected through {@link
+ * StubSettings}, which makes it a reproducible, offline target for functional runs and client
+ * benchmarks.
+ */
+public class StubStoreServer {
+
+  private static final Logger log = LoggerFactory.getLogger(StubStoreServer.class);
+  private static final String JSON = "application/json";
+  private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+  private static final Map<String, Integer> SEEDED_PET_STATUSES =
+      Map.of("available", 250, "pending", 20, "sold", 80);
+
+  private static volatile StubStoreServer shared;
+
+  private final URI baseUrl;
+  private final StubSettings settings;
+  private final ObjectMapper objectMapper = ObjectMapperProvider.getInstance().getObjectMapper();
+  private final Map<Long, Order> orders = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> placementsByStatus = new ConcurrentHashMap<>();
+  private final AtomicLong nextOrderId = new AtomicLong(1);
+
+  /** -- GETTER -- Requests received, including those answered with an injected error */
+  @Getter private final LongAdder requestCount = new LongAdder();
+
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * @param baseUrl URL the API is served under, e.g. http://localhost:8089/v2; port 0 picks a free
+   *     port, see {@link #getBaseUrl()}
+   */
+  public StubStoreServer(URI baseUrl, StubSettings settings) {
+    this.baseUrl = baseUrl;
+    this.settings = settings;
+  }
+
+  /**
+   * Start the shared stub on base.url when stub.enabled is set (the {@code local} environment).
+   * Idempotent, so every suite may call it.
+   *
+   * @return the running shared stub, or null when the stub is disabled
+   */
+  public static StubStoreServer startSharedIfEnabled() {
+    ConfigurationManager config = ConfigurationManager.getInstance();
+    if (!config.isStubServerEnabled()) {
+      return null;
+    }
+    if (shared == null) {
+      synchronized (StubStoreServer.class) {
+        if (shared == null) {
+          StubStoreServer server =
+              new StubStoreServer(
+                  URI.create(config.getBaseUrl()), StubSettings.fromConfiguration(config));
+          server.start();
+          Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "stub-server-shutdown"));
+          shared = server;
+        }
+      }
+    }
+    return shared;
+  }
+
+  public synchronized void start() {
+    if (server != null) {
+      return;
+    }
+    AtomicInteger threadNumber = new AtomicInteger();
+    executor =
+        Executors.newFixedThreadPool(
+            settings.getThreads(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "stub-server-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    // The JDK server sends headers and body in separate writes; with Nagle's algorithm on, every
+    // keep-alive response then stalls ~40ms on the client's delayed ACK. The JDK reads the property
+    // when the first server is created; an explicit -D setting is left alone
+    if (System.getProperty(NODELAY_PROPERTY) == null) {
+      System.setProperty(NODELAY_PROPERTY, "true");
+    }
+    try {
+      server = HttpServer.create(new InetSocketAddress(baseUrl.getHost(), baseUrl.getPort()), 0);
+    } catch (IOException e) {
+      executor.shutdownNow();
+      throw new IllegalStateException("Could not start stub server on " + baseUrl, e);
+    }
+    server.createContext(basePath() + "/store", this::handle);
+    server.setExecutor(executor);
+    server.start();
+    log.info(
+        "Stub store server listening on {} (latency {}+{}ms, error rate {})",
+        getBaseUrl(),
+        settings.getLatencyMs(),
+        settings.getLatencyJitterMs(),
+        settings.getErrorRate());
+  }
+
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    executor.shutdownNow();
+    server = null;
+    log.info("Stub store server stopped after {} requests", requestCount.sum());
+  }
+
+  /** URL the stub actually serves, with the bound port when port 0 was requested */
+  public String getBaseUrl() {
+    int port = server != null ? server.getAddress().getPort() : baseUrl.getPort();
+    return String.format("%s://%s:%d%s", baseUrl.getScheme(), baseUrl.getHost(), port, basePath());
+  }
+
+  public int getOrderCount() {
+    return orders.size();
+  }
+
+  /** Forget all stored orders */
+  public void reset() {
+    orders.clear();
+    placementsByStatus.clear();
+  }
+
+  private String basePath() {
+    String path = baseUrl.getPath();
+    return path == null || path.equals("/") ? "" : path.replaceAll("/$", "");
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.increment();
+    try {
+      injectLatency();
+      if (settings.getErrorRate() > 0
+          && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+        sendApiResponse(
+            exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, "unknown", "injected error");
+        return;
+      }
+      route(exchange);
+    } catch (RuntimeException e) {
+      log.warn("Stub server failed to handle {}: {}", exchange.getRequestURI(), e.toString());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void route(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    String path = exchange.getRequestURI().getPath().substring(basePath().length());
+
+    if (path.equals("/store/inventory") && method.equals("GET")) {
+      sendJson(exchange, HttpURLConnection.HTTP_OK, inventory());
+    } else if (path.equals("/store/order") && method.equals("POST")) {
+      placeOrder(exchange);
+    } else if (path.startsWith("/store/order/") && method.equals("GET")) {
+      Long orderId = parseOrderId(path);
+      Order order = orderId == null ? null : orders.get(orderId);
+      if (order == null) {
+        sendJson(
+            exchange,
+            HttpURLConnection.HTTP_NOT_FOUND,
+            new ErrorResponse(1, "error", "Order not found"));
+      } else {
+        sendJson(exchange, HttpURLConnection.HTTP_OK, order);
+      }
+    } else if (path.startsWith("/store/order/") && method.equals("DELETE")) {
+      Long orderId = parseOrderId(path);
+      Order removed = orderId == null ? null : orders.remove(orderId);
+      if (removed == null) {
+        sendApiResponse(exchange, HttpURLConnection.HTTP_NOT_FOUND, "unknown", "Order Not Found");
+      } else {
+        sendApiResponse(exchange, HttpURLConnection.HTTP_OK, "unknown", String.valueOf(orderId));
+      }
+    } else {
+      sendApiResponse(exchange, HttpURLConnection.HTTP_NOT_FOUND, "unknown", "not found");
+    }
+  }
+
+  private void placeOrder(HttpExchange exchange) throws IOException {
+    Order order;
+    try (InputStream body = exchange.getRequestBody()) {
+      order = ObjectMapperProvider.getInstance().getOrderReader().readValue(body);
+    } catch (IOException e) {
+      sendApiResponse(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "unknown", "bad input");
+      return;
+    }
+    if (order.getId() == null || order.getId() <= 0) {
+      order.setId(nextOrderId.getAndIncrement());
+    }
+    if (order.getComplete() == null) {
+      order.setComplete(false);
+    }
+    orders.put(order.getId(), order);
+    countPlacement(order);
+    sendJson(exchange, HttpURLConnection.HTTP_OK, order);
+  }
+
+  private Map<String, Long> inventory() {
+    Map<String, Long> inventory = new TreeMap<>();
+    SEEDED_PET_STATUSES.forEach((status, count) -> inventory.put(status, (long) count));
+    placementsByStatus.forEach((status, count) -> inventory.merge(status, count.sum(), Long::sum));
+    return inventory;
+  }
+
+  private void countPlacement(Order order) {
+    if (order.getStatus() != null) {
+      placementsByStatus
+          .computeIfAbsent(order.getStatus().getValue(), status -> new LongAdder())
+          .increment();
+    }
+  }
+
+  private static Long parseOrderId(String path) {
+    try {
+      return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private void injectLatency() {
+    long delayMs = settings.getLatencyMs();
+    if (settings.getLatencyJitterMs() > 0) {
+      delayMs += ThreadLocalRandom.current().nextLong(settings.getLatencyJitterMs() + 1);
+    }
+    if (delayMs > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(delayMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Petstore's generic {code, type, message} body, used for errors and delete confirmations */
+  private void sendApiResponse(HttpExchange exchange, int status, String type, String message)
+      throws IOException {
+    sendJson(exchange, status, new ErrorResponse(status, type, message));
+  }
+
+  /** Same CORS and Server headers as the public Petstore, so header checks pass on the stub */
+  private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+    byte[] bytes = objectMapper.writeValueAsBytes(body);
+    Headers headers = exchange.getResponseHeaders();
+    headers.set("Content-Type", JSON);
+    headers.set("Access-Control-Allow-Origin", "*");
+    headers.set("Access-Control-Allow-Methods", "GET, POST, DELETE, PUT");
+    headers.set("Access-Control-Allow-Headers", "Content-Type, api_key, Authorization");
+    headers.set("Server", "Jetty(9.2.9.v20150224)");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package com.petstore.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caps the number of requests in flight with a limit that adapts to observed latency (AIMD). A call
+ * counts as congested when it was dropped - throttled, unavailable or failed without a response -
+ * or took longer than {@code latencyTolerance} times the baseline latency; the limit then shrinks
+ * by {@code backoffRatio}. Every other call grows it by 1/limit, about one permit per round trip,
+ * as long as the limit is actually in use.
+ *
+ * <p>The baseline is the lowest latency seen in the current window of {@value #BASELINE_WINDOW}
+ * calls, so it follows the backend when its unloaded latency changes. Only calls started after
+ * the last decrease can shrink the limit again, so one slow spike costs one backoff step rather
+ * than one per call that was in flight during it. Waiting uses a {@link Condition} instead of a
+ * monitor, so virtual threads are not pinned.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+  /** Calls after which the latency baseline is re-measured */
+  public static final int BASELINE_WINDOW = 500;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double latencyTolerance;
+  private final double backoffRatio;
+  private final LongSupplier nanoClock;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitAvailable = lock.newCondition();
+  private double limit;
+  private int inFlight;
+  private long baselineNanos = Long.MAX_VALUE;
+  private long windowMinNanos = Long.MAX_VALUE;
+  private int windowSamples;
+  private long lastDecreaseNanos;
+
+  /**
+   * @param initialLimit concurrent calls allowed before any latency has been observed
+   * @param minLimit floor the limit never shrinks below; at least 1
+   * @param maxLimit ceiling the limit never grows above
+   * @param latencyTolerance latency, as a multiple of the baseline, above which a call is congested
+   * @param backoffRatio factor applied to the limit on congestion, between 0 and 1
+   */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+    this(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, System::nanoTime);
+  }
+
+  /** @param nanoClock source of {@link System#nanoTime()}-like readings, e.g. a test clock */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      double latencyTolerance,
+      double backoffRatio,
+      LongSupplier nanoClock) {
+    if (minLimit < 1
+        || initialLimit < minLimit
+        || maxLimit < initialLimit
+        || latencyTolerance < 1
+        || backoffRatio <= 0
+        || backoffRatio >= 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid concurrency limit: initial=%d, min=%d, max=%d, tolerance=%s, backoff=%s",
+              initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio));
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTolerance = latencyTolerance;
+    this.backoffRatio = backoffRatio;
+    this.nanoClock = nanoClock;
+    this.limit = initialLimit;
+    this.lastDecreaseNanos = nanoClock.getAsLong();
+  }
+
+  /**
+   * Block until fewer calls than the limit are in flight, then take a permit. Every permit must be
+   * given back with {@link #release}.
+   *
+   * @return the time the permit was granted, to pass to {@link #release}
+   */
+  public long acquire() {
+    lock.lock();
+    try {
+      while (inFlight >= (int) limit) {
+        permitAvailable.await();
+      }
+      inFlight++;
+      return nanoClock.getAsLong();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a concurrency permit", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Give back a permit and adjust the limit to the call's outcome
+   *
+   * @param acquiredNanos value returned by {@link #acquire}
+   * @param dropped true if the call was throttled, rejected or got no response
+   */
+  public void release(long acquiredNanos, boolean dropped) {
+    long now = nanoClock.getAsLong();
+    long latency = now - acquiredNanos;
+    lock.lock();
+    try {
+      int previous = (int) limit;
+      boolean utilised = inFlight * 2 >= limit;
+      inFlight--;
+      if (!dropped) {
+        // A fast 429 says nothing about how quickly the backend serves requests
+        updateBaseline(latency);
+      }
+
+      boolean congested = dropped || latency > baselineNanos * latencyTolerance;
+      if (congested && acquiredNanos - lastDecreaseNanos > 0) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = now;
+      } else if (!congested && utilised) {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+
+      int current = (int) limit;
+      if (current > previous) {
+        permitAvailable.signalAll();
+      } else {
+        permitAvailable.signal();
+      }
+      if (current != previous) {
+        log.debug(
+            "Concurrency limit {} -> {} (latency {}ms, baseline {}ms, dropped={})",
+            previous,
+            current,
+            TimeUnit.NANOSECONDS.toMillis(latency),
+            TimeUnit.NANOSECONDS.toMillis(baselineNanos),
+            dropped);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Current limit, rounded down to whole permits */
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void updateBaseline(long latency) {
+    baselineNanos = Math.min(baselineNanos, latency);
+    windowMinNanos = Math.min(windowMinNanos, latency);
+    if (++windowSamples >= BASELINE_WINDOW) {
+      baselineNanos = windowMinNanos;
+      windowMinNanos = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+  }
+}
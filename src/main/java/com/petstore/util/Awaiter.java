@@ -0,0 +1,165 @@
+package com.petstore.util;
+
+import com.petstore.config.ConfigurationManager;
+import com.petstore.metrics.ConvergenceMetrics;
+import com.petstore.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls an eventually consistent condition instead of sleeping a fixed time. The first poll runs
+ * immediately; later polls back off exponentially with jitter up to {@code maxPollDelay}, and never
+ * past the deadline. When a condition has converged before, the first back-off starts at half its
+ * median convergence time, so slow conditions are not hammered and fast ones are not over-slept.
+ *
+ * <p>Every await is recorded in {@link ConvergenceMetrics} under the condition name. The recorded
+ * time runs up to the first poll that saw the condition, so it is an upper bound of the backend's
+ * consistency lag with a resolution of the poll interval.
+ */
+public class Awaiter {
+
+  private static final Logger log = LoggerFactory.getLogger(Awaiter.class);
+
+  @Getter private final Duration timeout;
+  private final long initialPollDelayNanos;
+  private final long maxPollDelayNanos;
+  private final double multiplier;
+
+  private Awaiter(Builder builder) {
+    this.timeout = builder.timeout;
+    this.initialPollDelayNanos = builder.initialPollDelay.toNanos();
+    this.maxPollDelayNanos = builder.maxPollDelay.toNanos();
+    this.multiplier = builder.multiplier;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Awaiter configured from await.* properties */
+  public static Awaiter fromConfiguration(ConfigurationManager config) {
+    return builder()
+        .timeout(Duration.ofMillis(config.getAwaitTimeoutMs()))
+        .initialPollDelay(Duration.ofMillis(config.getAwaitInitialPollMs()))
+        .maxPollDelay(Duration.ofMillis(config.getAwaitMaxPollMs()))
+        .build();
+  }
+
+  /**
+   * Poll {@code probe} until its value satisfies {@code converged}. Exceptions thrown by the probe
+   * count as "not yet" and are attached to the timeout exception if the condition never holds.
+   *
+   * @param condition name the convergence time is recorded under; leave out IDs
+   * @return the first value that satisfied {@code converged}
+   * @throws ConditionTimeoutException if the condition did not hold within the timeout
+   */
+  public <T> T until(String condition, Supplier<T> probe, Predicate<? super T> converged) {
+    ConvergenceMetrics.Condition metrics = ConvergenceMetrics.getInstance().condition(condition);
+    long start = System.nanoTime();
+    long deadline = start + timeout.toNanos();
+    long delay = firstPollDelay(metrics.getLag());
+    T lastValue = null;
+    Exception lastFailure = null;
+
+    for (int poll = 1; ; poll++) {
+      try {
+        lastValue = probe.get();
+        lastFailure = null;
+        if (converged.test(lastValue)) {
+          long lag = System.nanoTime() - start;
+          metrics.onConverged(lag, poll);
+          log.debug("'{}' converged after {}ms and {} polls", condition, lag / 1_000_000, poll);
+          return lastValue;
+        }
+      } catch (Exception e) {
+        // A failing probe has not converged yet; the last failure is reported on timeout
+        lastFailure = e;
+      }
+
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        metrics.onTimeout(poll);
+        throw new ConditionTimeoutException(condition, timeout, poll, lastValue, lastFailure);
+      }
+      sleep(Math.min(jittered(delay), remaining));
+      delay = Math.min((long) (delay * multiplier), maxPollDelayNanos);
+    }
+  }
+
+  /** Poll {@code probe} until it returns true */
+  public void untilTrue(String condition, BooleanSupplier probe) {
+    until(condition, probe::getAsBoolean, Boolean::booleanValue);
+  }
+
+  private long firstPollDelay(LatencyHistogram history) {
+    if (history.getCount() == 0) {
+      return initialPollDelayNanos;
+    }
+    long halfMedian = history.getValueAtPercentile(50) / 2;
+    return Math.max(initialPollDelayNanos, Math.min(halfMedian, maxPollDelayNanos));
+  }
+
+  /** Between half and all of the delay, so parallel waiters do not poll in lockstep */
+  private static long jittered(long delay) {
+    long half = delay / 2;
+    return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while awaiting a condition", e);
+    }
+  }
+
+  public static final class Builder {
+    private Duration timeout = Duration.ofSeconds(10);
+    private Duration initialPollDelay = Duration.ofMillis(25);
+    private Duration maxPollDelay = Duration.ofSeconds(1);
+    private double multiplier = 2.0;
+
+    private Builder() {}
+
+    /** Overall deadline, measured from the start of each await */
+    public Builder timeout(Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /** Delay after the first unsuccessful poll */
+    public Builder initialPollDelay(Duration initialPollDelay) {
+      this.initialPollDelay = initialPollDelay;
+      return this;
+    }
+
+    public Builder maxPollDelay(Duration maxPollDelay) {
+      this.maxPollDelay = maxPollDelay;
+      return this;
+    }
+
+    public Builder multiplier(double multiplier) {
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    public Awaiter build() {
+      if (timeout.isNegative() || initialPollDelay.isNegative() || initialPollDelay.isZero()) {
+        throw new IllegalArgumentException("timeout and initialPollDelay must be positive");
+      }
+      if (maxPollDelay.compareTo(initialPollDelay) < 0 || multiplier < 1) {
+        throw new IllegalArgumentException(
+            "maxPollDelay must be >= initialPollDelay and multiplier >= 1");
+      }
+      return new Awaiter(this);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.petstore.util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker. While CLOSED, the outcome of the last {@code windowSize} calls is
+ * kept; once the failure rate or the slow-call rate crosses its threshold the breaker OPENs and
+ * rejects every call with {@link CircuitBreakerOpenException} for {@code openDuration}. After that
+ * it goes HALF_OPEN and lets {@code halfOpenCalls} trial calls through, closing again if they are
+ * healthy and re-opening otherwise.
+ */
+public class CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  @Getter private final String name;
+  @Getter private final CircuitBreakerConfig config;
+  private final long slowCallNanos;
+  private final long openNanos;
+
+  /** Ring buffer of outcomes, guarded by this */
+  private final Outcome[] window;
+
+  private int windowPosition;
+  private int windowCalls;
+  private int windowFailures;
+  private int windowSlowCalls;
+  private State state = State.CLOSED;
+  private long openedAtNanos;
+  private int halfOpenPermits;
+
+  private final LongAdder rejectedCalls = new LongAdder();
+
+  private enum Outcome {
+    SUCCESS,
+    SLOW_SUCCESS,
+    FAILURE,
+    SLOW_FAILURE;
+
+    boolean isFailure() {
+      return this == FAILURE || this == SLOW_FAILURE;
+    }
+
+    boolean isSlow() {
+      return this == SLOW_SUCCESS || this == SLOW_FAILURE;
+    }
+  }
+
+  public CircuitBreaker(String name, CircuitBreakerConfig config) {
+    config.validate();
+    this.name = name;
+    this.config = config;
+    this.slowCallNanos = config.getSlowCallDuration().toNanos();
+    this.openNanos = config.getOpenDuration().toNanos();
+    this.window = new Outcome[config.getWindowSize()];
+  }
+
+  /** Run the call, treating thrown exceptions - checked ones included - as failures */
+  public <T> T execute(Supplier<T> call) {
+    return execute(call, result -> false);
+  }
+
+  /**
+   * Run the call if the breaker permits it.
+   *
+   * @param isFailure classifies a returned result as a failure, e.g. a 5xx response
+   * @throws CircuitBreakerOpenException when the breaker is open or out of half-open permits
+   */
+  public <T> T execute(Supplier<T> call, Predicate<T> isFailure) {
+    acquirePermission();
+    long start = System.nanoTime();
+    T result;
+    try {
+      result = call.get();
+    } catch (Throwable t) {
+      // Failures without a response must be recorded too, or a half-open trial never completes
+      record(true, System.nanoTime() - start);
+      throw t;
+    }
+    record(isFailure.test(result), System.nanoTime() - start);
+    return result;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /** Failure percentage over the current window, or -1 until minimumCalls have been recorded */
+  public synchronized float getFailureRate() {
+    return windowCalls < config.getMinimumCalls() ? -1f : percentage(windowFailures);
+  }
+
+  /** Slow-call percentage over the current window, or -1 until minimumCalls have been recorded */
+  public synchronized float getSlowCallRate() {
+    return windowCalls < config.getMinimumCalls() ? -1f : percentage(windowSlowCalls);
+  }
+
+  public long getRejectedCalls() {
+    return rejectedCalls.sum();
+  }
+
+  /** Force the breaker back to CLOSED with an empty window */
+  public synchronized void reset() {
+    transitionTo(State.CLOSED);
+  }
+
+  private synchronized void acquirePermission() {
+    if (state == State.OPEN) {
+      long openForNanos = System.nanoTime() - openedAtNanos;
+      if (openForNanos < openNanos) {
+        rejectedCalls.increment();
+        throw new CircuitBreakerOpenException(
+            name,
+            state,
+            String.format(
+                "retry in %dms (failure rate %.1f%%, slow call rate %.1f%%)",
+                TimeUnit.NANOSECONDS.toMillis(openNanos - openForNanos),
+                percentage(windowFailures),
+                percentage(windowSlowCalls)));
+      }
+      transitionTo(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenPermits == 0) {
+        rejectedCalls.increment();
+        throw new CircuitBreakerOpenException(
+            name, state, "waiting for " + config.getHalfOpenCalls() + " trial calls to complete");
+      }
+      halfOpenPermits--;
+    }
+  }
+
+  private synchronized void record(boolean failure, long durationNanos) {
+    boolean slow = durationNanos >= slowCallNanos;
+    Outcome outcome =
+        failure
+            ? (slow ? Outcome.SLOW_FAILURE : Outcome.FAILURE)
+            : (slow ? Outcome.SLOW_SUCCESS : Outcome.SUCCESS);
+    if (state == State.OPEN) {
+      // A call permitted before the breaker tripped; the window was already judged
+      return;
+    }
+    add(outcome);
+
+    if (state == State.HALF_OPEN) {
+      if (windowCalls >= config.getHalfOpenCalls()) {
+        transitionTo(isAboveThresholds() ? State.OPEN : State.CLOSED);
+      }
+    } else if (windowCalls >= config.getMinimumCalls() && isAboveThresholds()) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private void add(Outcome outcome) {
+    Outcome evicted = window[windowPosition];
+    if (evicted != null) {
+      windowCalls--;
+      windowFailures -= evicted.isFailure() ? 1 : 0;
+      windowSlowCalls -= evicted.isSlow() ? 1 : 0;
+    }
+    window[windowPosition] = outcome;
+    windowPosition = (windowPosition + 1) % window.length;
+    windowCalls++;
+    windowFailures += outcome.isFailure() ? 1 : 0;
+    windowSlowCalls += outcome.isSlow() ? 1 : 0;
+  }
+
+  private boolean isAboveThresholds() {
+    return percentage(windowFailures) >= config.getFailureRateThreshold()
+        || percentage(windowSlowCalls) >= config.getSlowCallRateThreshold();
+  }
+
+  private float percentage(int count) {
+    return windowCalls == 0 ? 0f : count * 100f / windowCalls;
+  }
+
+  private void transitionTo(State newState) {
+    State previous = state;
+    if (newState == State.OPEN) {
+      log.warn(
+          "Circuit breaker '{}' {} -> OPEN: failure rate {}%, slow call rate {}% over {} calls",
+          name,
+          previous,
+          percentage(windowFailures),
+          percentage(windowSlowCalls),
+          windowCalls);
+      openedAtNanos = System.nanoTime();
+    } else {
+      log.info("Circuit breaker '{}' {} -> {}", name, previous, newState);
+      // Half-open trials and the new closed period are judged on a fresh window
+      clearWindow();
+    }
+    if (newState == State.HALF_OPEN) {
+      halfOpenPermits = config.getHalfOpenCalls();
+    }
+    state = newState;
+  }
+
+  private void clearWindow() {
+    Arrays.fill(window, null);
+    windowPosition = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+    windowSlowCalls = 0;
+  }
+}
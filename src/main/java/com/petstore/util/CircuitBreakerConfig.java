@@ -0,0 +1,61 @@
+package com.petstore.util;
+
+import com.petstore.config.ConfigurationManager;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Thresholds of a {@link CircuitBreaker}; rates are percentages of the calls in the window */
+@Getter
+@Builder
+public class CircuitBreakerConfig {
+
+  /** Number of most recent calls the failure and slow-call rates are computed over */
+  @Builder.Default private final int windowSize = 20;
+
+  /** Calls required in the window before the rates are evaluated at all */
+  @Builder.Default private final int minimumCalls = 10;
+
+  @Builder.Default private final float failureRateThreshold = 50f;
+
+  @Builder.Default private final float slowCallRateThreshold = 80f;
+
+  /** Calls taking at least this long count as slow */
+  @Builder.Default private final Duration slowCallDuration = Duration.ofSeconds(5);
+
+  /** How long an open breaker rejects calls before letting trial calls through */
+  @Builder.Default private final Duration openDuration = Duration.ofSeconds(10);
+
+  /** Trial calls allowed in half-open state; their outcome decides between closed and open */
+  @Builder.Default private final int halfOpenCalls = 3;
+
+  /** Thresholds from circuit.breaker.{endpointKey}.* properties, else circuit.breaker.* */
+  public static CircuitBreakerConfig fromConfiguration(
+      ConfigurationManager config, String endpointKey) {
+    return builder()
+        .windowSize(config.getCircuitBreakerWindowSize(endpointKey))
+        .minimumCalls(config.getCircuitBreakerMinimumCalls(endpointKey))
+        .failureRateThreshold(config.getCircuitBreakerFailureRateThreshold(endpointKey))
+        .slowCallRateThreshold(config.getCircuitBreakerSlowCallRateThreshold(endpointKey))
+        .slowCallDuration(Duration.ofMillis(config.getCircuitBreakerSlowCallMs(endpointKey)))
+        .openDuration(Duration.ofMillis(config.getCircuitBreakerOpenMs(endpointKey)))
+        .halfOpenCalls(config.getCircuitBreakerHalfOpenCalls(endpointKey))
+        .build();
+  }
+
+  void validate() {
+    if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+      throw new IllegalArgumentException(
+          "windowSize, minimumCalls and halfOpenCalls must be positive");
+    }
+    if (minimumCalls > windowSize || halfOpenCalls > windowSize) {
+      throw new IllegalArgumentException("minimumCalls and halfOpenCalls cannot exceed windowSize");
+    }
+    if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+      throw new IllegalArgumentException("failureRateThreshold must be in (0, 100]");
+    }
+    if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+      throw new IllegalArgumentException("slowCallRateThreshold must be in (0, 100]");
+    }
+  }
+}
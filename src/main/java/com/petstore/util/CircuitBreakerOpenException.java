@@ -0,0 +1,22 @@
+package com.petstore.util;
+
+import lombok.Getter;
+
+/** Thrown instead of making a call while a {@link CircuitBreaker} is open */
+@Getter
+public class CircuitBreakerOpenException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String breakerName;
+  private final CircuitBreaker.State state;
+
+  public CircuitBreakerOpenException(
+      String breakerName, CircuitBreaker.State state, String detail) {
+    super(
+        String.format(
+            "Circuit breaker '%s' is %s, call rejected: %s", breakerName, state, detail));
+    this.breakerName = breakerName;
+    this.state = state;
+  }
+}
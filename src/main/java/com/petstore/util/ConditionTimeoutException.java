@@ -0,0 +1,29 @@
+package com.petstore.util;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** Thrown by {@link Awaiter} when a condition did not hold before the deadline */
+@Getter
+public class ConditionTimeoutException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String condition;
+  private final int polls;
+
+  /** Value returned by the last poll, null if it failed */
+  private final transient Object lastValue;
+
+  public ConditionTimeoutException(
+      String condition, Duration timeout, int polls, Object lastValue, Throwable lastFailure) {
+    super(
+        String.format(
+            "Condition '%s' not met within %dms after %d polls, last value: %s",
+            condition, timeout.toMillis(), polls, lastValue),
+        lastFailure);
+    this.condition = condition;
+    this.polls = polls;
+    this.lastValue = lastValue;
+  }
+}
@@ -0,0 +1,20 @@
+package com.petstore.util;
+
+/** Kind of threads simulated users and load arrivals run on, see {@link VirtualThreads} */
+public enum ExecutorMode {
+  /** A bounded pool of platform threads - concurrency is capped by the pool size */
+  PLATFORM,
+  /**
+   * One virtual thread per task (Java 21+). Blocking HTTP calls unmount the thread instead of
+   * holding an OS thread, so tens of thousands of concurrent users fit in one JVM
+   */
+  VIRTUAL;
+
+  /** Mode for a property value, case-insensitive; PLATFORM when blank */
+  public static ExecutorMode from(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return PLATFORM;
+    }
+    return valueOf(value.trim().toUpperCase());
+  }
+}
@@ -0,0 +1,14 @@
+package com.petstore.util;
+
+/**
+ * Implemented by exceptions that carry an HTTP status, so retry logic can classify them.
+ *
+ * <p>Calls that fail without a response do not throw one of these. REST Assured rethrows socket
+ * timeouts and refused connections as the original checked exceptions, undeclared, so code that
+ * must see every failed call catches {@code Exception} or {@code Throwable}, not only {@code
+ * RuntimeException}.
+ */
+public interface HttpStatusCarrier {
+
+  int getStatusCode();
+}
@@ -0,0 +1,175 @@
+package com.petstore.util;
+
+import com.petstore.metrics.CacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+
+/**
+ * Short-lived read-through cache with single-flight loading. A lookup returns the cached value
+ * while it is younger than the TTL; otherwise one caller loads it and concurrent callers for the
+ * same key wait for that load instead of sending identical requests. Failed loads are passed to
+ * every waiter and never cached.
+ *
+ * <p>When more than {@code maxEntries} keys are cached, expired entries and then the oldest ones
+ * are evicted. Eviction scans all entries, which is cheap for the handful of keys this is meant
+ * for. {@link #invalidate} also discards loads still in flight, so a read that started before a
+ * write cannot put its stale result back into the cache.
+ */
+public class ReadThroughCache<K, V> {
+
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final CacheMetrics metrics;
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param ttl how long a loaded value is served from the cache
+   * @param maxEntries upper bound on cached keys; at least 1
+   * @param metrics counters for hits, misses, coalesced lookups and evictions
+   */
+  public ReadThroughCache(Duration ttl, int maxEntries, CacheMetrics metrics) {
+    if (ttl.isNegative() || ttl.isZero() || maxEntries < 1) {
+      throw new IllegalArgumentException(
+          String.format("Invalid cache: ttl=%s, maxEntries=%d", ttl, maxEntries));
+    }
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Cached value of the key, or the result of {@code loader}, shared with concurrent callers
+   *
+   * @param cacheable whether a loaded value may be cached, e.g. only successful responses
+   */
+  public V get(K key, Supplier<V> loader, Predicate<? super V> cacheable) {
+    V cached = fresh(key);
+    if (cached != null) {
+      metrics.onHit();
+      return cached;
+    }
+
+    CompletableFuture<V> load = new CompletableFuture<>();
+    CompletableFuture<V> running = loads.putIfAbsent(key, load);
+    if (running != null) {
+      metrics.onCoalesced();
+      return await(running);
+    }
+    try {
+      // Another caller may have finished loading between the lookup and claiming the load
+      cached = fresh(key);
+      if (cached != null) {
+        metrics.onHit();
+        load.complete(cached);
+        return cached;
+      }
+      metrics.onMiss();
+      long loadGeneration = generation.get();
+      V value = loader.get();
+      if (value != null && cacheable.test(value)) {
+        store(key, value, loadGeneration);
+      }
+      load.complete(value);
+      return value;
+    } catch (Throwable t) {
+      // Readers waiting on this load fail with it; nothing is cached, so the next read retries
+      load.completeExceptionally(t);
+      throw t;
+    } finally {
+      loads.remove(key, load);
+    }
+  }
+
+  /** Drop the key, e.g. after a write that changes it; loads in flight are not cached */
+  public void invalidate(K key) {
+    generation.incrementAndGet();
+    loads.remove(key);
+    entries.remove(key);
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    loads.clear();
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private V fresh(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.loadedNanos >= ttlNanos) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private void store(K key, V value, long loadGeneration) {
+    entries.put(key, new Entry<>(value, System.nanoTime()));
+    // An invalidation during the load means the value may predate a write
+    if (generation.get() != loadGeneration) {
+      entries.remove(key);
+      return;
+    }
+    if (entries.size() > maxEntries) {
+      evict();
+    }
+  }
+
+  private void evict() {
+    long now = System.nanoTime();
+    entries.forEach(
+        (key, entry) -> {
+          if (now - entry.loadedNanos >= ttlNanos && entries.remove(key, entry)) {
+            metrics.onEviction();
+          }
+        });
+    while (entries.size() > maxEntries) {
+      K oldestKey = null;
+      Entry<V> oldest = null;
+      for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+        if (oldest == null || candidate.getValue().loadedNanos - oldest.loadedNanos < 0) {
+          oldestKey = candidate.getKey();
+          oldest = candidate.getValue();
+        }
+      }
+      if (oldest != null && entries.remove(oldestKey, oldest)) {
+        metrics.onEviction();
+      }
+    }
+  }
+
+  /** Result of another caller's load, rethrowing its failure as is */
+  @SneakyThrows
+  private static <V> V await(CompletableFuture<V> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      throw e.getCause() != null ? e.getCause() : e;
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long loadedNanos;
+
+    private Entry(V value, long loadedNanos) {
+      this.value = value;
+      this.loadedNanos = loadedNanos;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.petstore.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries to a fraction of overall traffic. Every first attempt deposits
+ * {@code ratio} tokens and every retry withdraws one, so with a ratio of 0.1 retries can add at
+ * most ~10% extra load on a failing backend instead of multiplying it by the attempt count.
+ */
+public class RetryBudget {
+
+  private static final long SCALE = 1000L;
+
+  private final long depositPerRequest;
+  private final long maxBalance;
+  private final AtomicLong balance;
+
+  /**
+   * @param ratio retries allowed per request, e.g. 0.1 for 10%
+   * @param initialTokens retries available before any traffic has been seen
+   * @param maxTokens upper bound on saved-up retries
+   */
+  public RetryBudget(double ratio, int initialTokens, int maxTokens) {
+    if (ratio < 0 || initialTokens < 0 || maxTokens < initialTokens) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid retry budget: ratio=%s, initialTokens=%d, maxTokens=%d",
+              ratio, initialTokens, maxTokens));
+    }
+    this.depositPerRequest = Math.round(ratio * SCALE);
+    this.maxBalance = maxTokens * SCALE;
+    this.balance = new AtomicLong(initialTokens * SCALE);
+  }
+
+  /** Budget that never refuses a retry */
+  public static RetryBudget unlimited() {
+    return new RetryBudget(0, Integer.MAX_VALUE, Integer.MAX_VALUE) {
+      @Override
+      public boolean tryAcquireRetry() {
+        return true;
+      }
+    };
+  }
+
+  /** Record a first attempt */
+  public void onRequest() {
+    balance.accumulateAndGet(
+        depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+  }
+
+  /** Withdraw one retry token; false when the budget is exhausted */
+  public boolean tryAcquireRetry() {
+    while (true) {
+      long current = balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - SCALE)) {
+        return true;
+      }
+    }
+  }
+
+  /** Whole retries currently available */
+  public long getAvailableRetries() {
+    return balance.get() / SCALE;
+  }
+}
@@ -0,0 +1,225 @@
+package com.petstore.util;
+
+import com.petstore.config.ConfigurationManager;
+import com.petstore.metrics.RetryMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retry policy with exponential backoff, full jitter, failure classification and a shared {@link
+ * RetryBudget}. Only failures classified as transient are retried: exceptions carrying one of the
+ * retryable HTTP status codes, or one of the retryable exception types anywhere in the cause chain.
+ * Attempts and outcomes are recorded into the {@link RetryMetrics} passed with the call, e.g. the
+ * endpoint's counters in {@code ClientMetrics}, or into the policy's own counters otherwise.
+ */
+public class RetryPolicy {
+
+  private static final Logger log = LoggerFactory.getLogger(RetryPolicy.class);
+
+  @Getter private final int maxAttempts;
+  private final long baseDelayNanos;
+  private final long maxDelayNanos;
+  private final double multiplier;
+  private final boolean jitter;
+  private final Set<Integer> retryableStatusCodes;
+  private final List<Class<? extends Throwable>> retryableExceptions;
+  @Getter private final RetryBudget budget;
+  @Getter private final RetryMetrics metrics;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.baseDelayNanos = builder.baseDelay.toNanos();
+    this.maxDelayNanos = builder.maxDelay.toNanos();
+    this.multiplier = builder.multiplier;
+    this.jitter = builder.jitter;
+    this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.statusCodes));
+    this.retryableExceptions = List.copyOf(builder.exceptions);
+    this.budget = builder.budget;
+    this.metrics = builder.metrics;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Policy configured from retry.* properties */
+  public static RetryPolicy fromConfiguration(ConfigurationManager config) {
+    return builder()
+        .maxAttempts(config.getRetryMaxAttempts())
+        .baseDelay(Duration.ofMillis(config.getRetryBaseDelayMs()))
+        .maxDelay(Duration.ofMillis(config.getRetryMaxDelayMs()))
+        .budget(
+            new RetryBudget(
+                config.getRetryBudgetRatio(),
+                config.getRetryBudgetInitialTokens(),
+                config.getRetryBudgetMaxTokens()))
+        .build();
+  }
+
+  /** Run the action, retrying transient failures until it succeeds or the policy gives up */
+  public <T> T execute(Supplier<T> action) {
+    return execute(action, metrics);
+  }
+
+  /** @param metrics counters to record this call's attempts into instead of the policy's own */
+  public <T> T execute(Supplier<T> action, RetryMetrics metrics) {
+    budget.onRequest();
+    for (int attempt = 1; ; attempt++) {
+      metrics.onAttempt(attempt);
+      try {
+        T result = action.get();
+        metrics.onSuccess();
+        return result;
+      } catch (Exception e) {
+        boolean retryable = isRetryable(e);
+        metrics.onFailure(retryable);
+        if (!retryable || attempt >= maxAttempts) {
+          throw propagate(e);
+        }
+        if (!budget.tryAcquireRetry()) {
+          metrics.onBudgetExhausted();
+          log.warn("Retry budget exhausted, not retrying: {}", e.getMessage());
+          throw propagate(e);
+        }
+
+        long delayNanos = backoffNanos(attempt);
+        metrics.onRetry(delayNanos);
+        log.debug(
+            "Attempt {}/{} failed ({}), retrying in {}ms",
+            attempt,
+            maxAttempts,
+            e.getMessage(),
+            TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        sleep(delayNanos);
+      }
+    }
+  }
+
+  /** Whether the failure is transient according to status code or exception type */
+  public boolean isRetryable(Throwable failure) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t instanceof HttpStatusCarrier) {
+        return retryableStatusCodes.contains(((HttpStatusCarrier) t).getStatusCode());
+      }
+      for (Class<? extends Throwable> type : retryableExceptions) {
+        if (type.isInstance(t)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Delay before the retry following the given (1-based) failed attempt: the exponential delay
+   * capped at maxDelay, or with jitter a uniformly random delay between 0 and that value
+   */
+  public long backoffNanos(int attempt) {
+    double exponential = baseDelayNanos * Math.pow(multiplier, attempt - 1);
+    long capped = (long) Math.min(maxDelayNanos, exponential);
+    // Full jitter spreads simultaneous retries over the whole window instead of synchronising them
+    return jitter ? ThreadLocalRandom.current().nextLong(capped + 1) : capped;
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Retry interrupted", ie);
+    }
+  }
+
+  private static RuntimeException propagate(Exception e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    if (e instanceof IOException) {
+      return new UncheckedIOException((IOException) e);
+    }
+    return new RuntimeException(e);
+  }
+
+  public static final class Builder {
+    private int maxAttempts = 3;
+    private Duration baseDelay = Duration.ofMillis(100);
+    private Duration maxDelay = Duration.ofSeconds(2);
+    private double multiplier = 2.0;
+    private boolean jitter = true;
+    private final Set<Integer> statusCodes = new HashSet<>(List.of(429, 500, 502, 503, 504));
+    private final List<Class<? extends Throwable>> exceptions =
+        new ArrayList<>(List.of(IOException.class));
+    private RetryBudget budget = RetryBudget.unlimited();
+    private RetryMetrics metrics = new RetryMetrics();
+
+    private Builder() {}
+
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be at least 1");
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    public Builder baseDelay(Duration baseDelay) {
+      this.baseDelay = baseDelay;
+      return this;
+    }
+
+    public Builder maxDelay(Duration maxDelay) {
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    public Builder multiplier(double multiplier) {
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    public Builder jitter(boolean jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    /** Replace the retryable HTTP status codes (default 429, 500, 502, 503, 504) */
+    public Builder retryOnStatus(Integer... codes) {
+      statusCodes.clear();
+      statusCodes.addAll(List.of(codes));
+      return this;
+    }
+
+    /** Add an exception type that is retried wherever it appears in the cause chain */
+    public Builder retryOn(Class<? extends Throwable> type) {
+      exceptions.add(type);
+      return this;
+    }
+
+    public Builder budget(RetryBudget budget) {
+      this.budget = budget;
+      return this;
+    }
+
+    /** Counters for calls executed without their own {@link RetryMetrics} */
+    public Builder metrics(RetryMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.petstore.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side rate limit: a token bucket refilled at {@code permitsPerSecond} that holds up to
+ * {@code burst} tokens. A caller that finds the bucket empty reserves the next token anyway and
+ * sleeps until it is due, so waiting callers are served in arrival order without retry loops. The
+ * sleep happens outside the monitor, so virtual threads are never pinned while they wait.
+ */
+public class TokenBucketRateLimiter {
+
+  private final double nanosPerPermit;
+  private final double burst;
+  private final LongSupplier nanoClock;
+  private double tokens;
+  private long lastRefillNanos;
+
+  /**
+   * @param permitsPerSecond sustained rate
+   * @param burst tokens available at once after an idle period; at least 1
+   */
+  public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+    this(permitsPerSecond, burst, System::nanoTime);
+  }
+
+  /** @param nanoClock source of {@link System#nanoTime()}-like readings, e.g. a test clock */
+  public TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+    if (permitsPerSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid rate limit: permitsPerSecond=%s, burst=%d", permitsPerSecond, burst));
+    }
+    this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    this.burst = burst;
+    this.nanoClock = nanoClock;
+    this.tokens = burst;
+    this.lastRefillNanos = nanoClock.getAsLong();
+  }
+
+  /**
+   * Take one token, sleeping until it is available
+   *
+   * @return nanoseconds spent waiting, 0 if a token was available right away
+   */
+  public long acquire() {
+    long wait = reserve();
+    if (wait > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a rate limit token", e);
+      }
+    }
+    return wait;
+  }
+
+  /** Tokens currently available; negative while callers wait for reserved tokens */
+  public synchronized double getAvailableTokens() {
+    refill(nanoClock.getAsLong());
+    return tokens;
+  }
+
+  /**
+   * Withdraw a token without waiting, going into debt if necessary, for callers that wait on their
+   * own terms
+   *
+   * @return nanoseconds until the token is paid off and the call may go out
+   */
+  public synchronized long reserve() {
+    refill(nanoClock.getAsLong());
+    tokens -= 1;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerPermit);
+  }
+
+  private void refill(long now) {
+    tokens = Math.min(burst, tokens + (now - lastRefillNanos) / nanosPerPermit);
+    lastRefillNanos = now;
+  }
+}
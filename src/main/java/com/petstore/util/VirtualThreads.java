@@ -0,0 +1,86 @@
+package com.petstore.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to Java 21 virtual threads from code compiled for Java 11. The API is looked up
+ * reflectively once; on older runtimes {@link #isSupported()} is false and the factory methods
+ * throw, so callers check first or fall back to platform threads.
+ */
+public final class VirtualThreads {
+
+  private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+  private static final Method BUILDER_NAME =
+      method(builderClass(), "name", String.class, long.class);
+  private static final Method BUILDER_FACTORY = method(builderClass(), "factory");
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+      method(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+  private VirtualThreads() {}
+
+  /** True when running on a JVM with virtual threads (Java 21+) */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null
+        && BUILDER_NAME != null
+        && BUILDER_FACTORY != null
+        && NEW_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /** Factory of virtual threads named {@code namePrefix0}, {@code namePrefix1}, ... */
+  public static ThreadFactory threadFactory(String namePrefix) {
+    requireSupported();
+    Object builder = invoke(OF_VIRTUAL, null);
+    builder = invoke(BUILDER_NAME, builder, namePrefix, 0L);
+    return (ThreadFactory) invoke(BUILDER_FACTORY, builder);
+  }
+
+  /** Executor starting a new virtual thread for every task; closing it waits for the tasks */
+  public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    return (ExecutorService) invoke(NEW_THREAD_PER_TASK_EXECUTOR, null, threadFactory(namePrefix));
+  }
+
+  /** Throws unless {@link #isSupported()}, naming the runtime version in the message */
+  public static void requireSupported() {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException(
+          "Virtual threads need Java 21+, running on " + System.getProperty("java.version"));
+    }
+  }
+
+  private static Object invoke(Method method, Object target, Object... args) {
+    try {
+      return method.invoke(target, args);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot call " + method, e);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Call to " + method + " failed", cause);
+    }
+  }
+
+  private static Class<?> builderClass() {
+    try {
+      return Class.forName("java.lang.Thread$Builder");
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+    if (type == null) {
+      return null;
+    }
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
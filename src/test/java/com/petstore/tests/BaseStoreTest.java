@@ -4,16 +4,26 @@ import static com.petstore.tests.constants.TestConstants.Headers.*;
 import static com.petstore.tests.constants.TestConstants.Performance.MAX_RESPONSE_TIME_MS;
 import static org.testng.Assert.*;
 
+import com.petstore.client.StoreEndpoint;
+import com.petstore.config.ConfigurationManager;
 import com.petstore.dto.ErrorResponse;
 import com.petstore.dto.Order;
 import com.petstore.dto.OrderStatus;
+import com.petstore.framework.BatchOrderCleaner;
+import com.petstore.framework.CleanupSummary;
+import com.petstore.metrics.LatencyHistogram;
+import com.petstore.metrics.LatencyRecorder;
+import com.petstore.metrics.LatencySummary;
 import com.petstore.tests.constants.TestConstants;
+import com.petstore.util.ConditionTimeoutException;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import java.net.HttpURLConnection;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterMethod;
@@ -26,9 +36,11 @@ import org.testng.asserts.SoftAssert;
 public abstract class BaseStoreTest extends BaseTest {
 
   private static final Logger log = LoggerFactory.getLogger(BaseStoreTest.class);
-  protected List<Long> createdOrderIds = new ArrayList<>();
-  private static final Set<String> EXPECTED_PET_STATUSES = Set.of("available", "pending", "sold");
-  private static final int ORDER_PROCESSING_DELAY_MS = 500;
+  protected final OrderTracker createdOrderIds = new OrderTracker();
+  // Thread-confined like createdOrderIds, so parallel test methods never mix their samples
+  private final ThreadLocal<LatencyRecorder> latencyRecorder =
+      ThreadLocal.withInitial(LatencyRecorder::new);
+  protected static final Set<String> EXPECTED_PET_STATUSES = Set.of("available", "pending", "sold");
 
   // ==================== ORDER CREATION METHODS ====================
 
@@ -108,7 +120,7 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Execute order placement API call")
   protected Response executeOrderPlacement(Order orderRequest) {
-    Response response = storeApiClient.placeOrder(orderRequest);
+    Response response = storeApiClient().placeOrder(orderRequest);
     log.debug("Order placement response status: {}", response.getStatusCode());
     return response;
   }
@@ -147,7 +159,7 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Retrieve and validate order")
   protected void retrieveAndValidateOrder(Long orderId, Order originalOrder) {
-    Response getResponse = storeApiClient.getOrderById(orderId);
+    Response getResponse = storeApiClient().getOrderById(orderId);
     validateOrderRetrieval(getResponse, orderId);
 
     Order retrievedOrder = getResponse.as(Order.class);
@@ -159,7 +171,7 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Delete order and validate removal")
   protected void deleteAndValidateOrderRemoval(Long orderId) {
-    Response deleteResponse = storeApiClient.deleteOrder(orderId);
+    Response deleteResponse = storeApiClient().deleteOrder(orderId);
     validateOrderDeletion(deleteResponse, orderId);
 
     verifyOrderActuallyDeleted(orderId);
@@ -172,21 +184,21 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Execute GET request for order ID: {orderId}")
   protected Response executeGetOrderRequest(Long orderId) {
-    Response response = storeApiClient.getOrderById(orderId);
+    Response response = storeApiClient().getOrderById(orderId);
     log.debug("Response status for order ID {}: {}", orderId, response.getStatusCode());
     return response;
   }
 
   @Step("Execute DELETE request for order ID: {orderId}")
   protected Response executeDeleteOrderRequest(Long orderId) {
-    Response response = storeApiClient.deleteOrder(orderId);
+    Response response = storeApiClient().deleteOrder(orderId);
     log.debug("Response status for order ID deletion {}: {}", orderId, response.getStatusCode());
     return response;
   }
 
   @Step("Execute order placement with invalid data: {testCase}")
   protected Response executeOrderPlacementWithInvalidData(Order invalidOrder, String testCase) {
-    Response response = storeApiClient.placeOrder(invalidOrder);
+    Response response = storeApiClient().placeOrder(invalidOrder);
     log.debug(
         "Response status for invalid order test case '{}': {}", testCase, response.getStatusCode());
     return response;
@@ -256,14 +268,15 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Retrieve inventory")
   protected Map<String, Integer> retrieveInventory() {
-    Map inventory = storeApiClient.getInventoryAsMap();
+    // Fresh reads: callers compare inventories before and after a change
+    Map<String, Integer> inventory = storeApiClient().getInventoryAsMap(true);
     log.info("Retrieved inventory with status types: {}", inventory.keySet());
     return inventory;
   }
 
   @Step("Execute inventory request")
   protected Response executeInventoryRequest() {
-    Response response = storeApiClient.getInventory();
+    Response response = storeApiClient().getInventory(true);
     log.debug("Inventory response status: {}", response.getStatusCode());
     return response;
   }
@@ -322,12 +335,13 @@ public abstract class BaseStoreTest extends BaseTest {
   protected void validateInventoryChanges(
       Map<String, Integer> initialInventory, Response orderResponse) {
     if (orderResponse.getStatusCode() == HttpURLConnection.HTTP_OK) {
-      addOrderProcessingDelay();
+      int initialAvailable = initialInventory.getOrDefault("available", 0);
+      int initialPending = initialInventory.getOrDefault("pending", 0);
+      // Orders do not have to move pets between statuses, so an unchanged inventory passes too.
+      // Nothing to await: polling would converge at once and record a meaningless lag
       Map<String, Integer> updatedInventory = retrieveInventory();
 
-      int initialAvailable = initialInventory.getOrDefault("available", 0);
       int updatedAvailable = updatedInventory.getOrDefault("available", 0);
-      int initialPending = initialInventory.getOrDefault("pending", 0);
       int updatedPending = updatedInventory.getOrDefault("pending", 0);
 
       assertTrue(
@@ -370,9 +384,9 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Measure inventory response time")
   protected long measureInventoryResponseTime() {
-    long startTime = System.currentTimeMillis();
-    Response response = storeApiClient.getInventory();
-    long responseTime = System.currentTimeMillis() - startTime;
+    long startTime = System.nanoTime();
+    Response response = storeApiClient().getInventory(true);
+    long responseTime = recordLatency(StoreEndpoint.INVENTORY, startTime);
 
     log.info(
         "Inventory response completed in {}ms (threshold: {}ms)",
@@ -385,9 +399,9 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Measure order placement response time")
   protected long measureOrderPlacementTime(Order orderRequest) {
-    long startTime = System.currentTimeMillis();
-    Response response = storeApiClient.placeOrder(orderRequest);
-    long responseTime = System.currentTimeMillis() - startTime;
+    long startTime = System.nanoTime();
+    Response response = storeApiClient().placeOrder(orderRequest);
+    long responseTime = recordLatency(StoreEndpoint.PLACE_ORDER, startTime);
 
     log.info(
         "Order placement completed in {}ms (threshold: {}ms)", responseTime, MAX_RESPONSE_TIME_MS);
@@ -401,6 +415,42 @@ public abstract class BaseStoreTest extends BaseTest {
     return responseTime;
   }
 
+  @Step("Sample {sampleSize} inventory requests")
+  protected LatencySummary sampleInventoryLatency(int sampleSize) {
+    for (int i = 0; i < sampleSize; i++) {
+      measureInventoryResponseTime();
+    }
+    LatencySummary summary = latencyRecorder().histogram(StoreEndpoint.INVENTORY).summary();
+    Allure.addAttachment("Inventory latency", summary.toString());
+    log.info("Inventory latency over {} samples: {}", sampleSize, summary);
+    return summary;
+  }
+
+  @Step("Validate p{percentile} of {endpoint} is below {maxMillis}ms")
+  protected void assertPercentileBelow(StoreEndpoint endpoint, double percentile, long maxMillis) {
+    LatencyHistogram histogram = latencyRecorder().histogram(endpoint);
+    assertTrue(histogram.getCount() > 0, "No latency samples recorded for " + endpoint);
+
+    long actualNanos = histogram.getValueAtPercentile(percentile);
+    assertTrue(
+        actualNanos < TimeUnit.MILLISECONDS.toNanos(maxMillis),
+        String.format(
+            "p%s of %s should be less than %dms, actual: %.1fms (%d samples)",
+            percentile, endpoint, maxMillis, actualNanos / 1_000_000d, histogram.getCount()));
+  }
+
+  /** Latencies recorded by the current test method */
+  protected LatencyRecorder latencyRecorder() {
+    return latencyRecorder.get();
+  }
+
+  /** Record elapsed time since a nanoTime mark and return it in milliseconds */
+  private long recordLatency(StoreEndpoint endpoint, long startNanos) {
+    long elapsedNanos = System.nanoTime() - startNanos;
+    latencyRecorder().record(endpoint, elapsedNanos);
+    return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+  }
+
   // ==================== RESPONSE VALIDATION METHODS ====================
 
   @Step("Validate response headers")
@@ -452,7 +502,11 @@ public abstract class BaseStoreTest extends BaseTest {
 
   @Step("Verify order {orderId} is actually deleted")
   private void verifyOrderActuallyDeleted(Long orderId) {
-    Response verifyDeleteResponse = storeApiClient.getOrderById(orderId);
+    Response verifyDeleteResponse =
+        awaitStatus(
+            "order deleted",
+            () -> storeApiClient().getOrderById(orderId),
+            HttpURLConnection.HTTP_NOT_FOUND);
 
     assertEquals(
         verifyDeleteResponse.getStatusCode(),
@@ -464,13 +518,18 @@ public abstract class BaseStoreTest extends BaseTest {
 
   // ==================== UTILITY METHODS ====================
 
-  @Step("Add order processing delay")
-  private void addOrderProcessingDelay() {
+  /**
+   * Poll the request until it answers with the expected status, e.g. 404 once a delete has
+   * propagated. On timeout the latest response is returned, so the caller's assertion reports it.
+   */
+  @Step("Await {condition}")
+  protected Response awaitStatus(String condition, Supplier<Response> request, int expectedStatus) {
     try {
-      Thread.sleep(ORDER_PROCESSING_DELAY_MS);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      log.warn("Thread interrupted during order processing delay");
+      return awaiter.until(
+          condition, request, response -> response.getStatusCode() == expectedStatus);
+    } catch (ConditionTimeoutException e) {
+      log.warn(e.getMessage());
+      return request.get();
     }
   }
 
@@ -521,7 +580,7 @@ public abstract class BaseStoreTest extends BaseTest {
   @Step("Cleanup failed lifecycle order: {orderId}")
   private void cleanupFailedLifecycleOrder(Long orderId) {
     try {
-      storeApiClient.deleteOrder(orderId);
+      storeApiClient().deleteOrder(orderId);
       createdOrderIds.remove(orderId);
       log.info("Cleaned up order {} after test failure", orderId);
     } catch (Exception cleanupException) {
@@ -536,42 +595,41 @@ public abstract class BaseStoreTest extends BaseTest {
     performOrderCleanup();
   }
 
+  /** Pool threads run many test methods, so samples must not outlive the method */
+  @AfterMethod(alwaysRun = true)
+  protected void discardLatencySamples() {
+    latencyRecorder.remove();
+  }
+
   @Step("Perform cleanup for created orders")
   protected void performOrderCleanup() {
-    log.info("Starting cleanup for {} created orders", createdOrderIds.size());
-    int cleanupFailures = cleanupOrders();
+    List<Long> orderIds = createdOrderIds.drain();
+    if (orderIds.isEmpty()) {
+      log.debug("No orders to clean up");
+      return;
+    }
+
+    log.info("Starting cleanup for {} created orders", orderIds.size());
+    CleanupSummary summary =
+        OrderCleanerHolder.INSTANCE.cleanup(orderIds, this::isSuccessfulCleanup);
+    Allure.addAttachment("Order cleanup summary", summary.toString());
 
-    if (cleanupFailures > 0) {
+    if (summary.getFailed() > 0) {
       log.warn(
           "Cleanup completed with {} failures out of {} orders",
-          cleanupFailures,
-          createdOrderIds.size());
+          summary.getFailed(),
+          summary.getTotal());
     } else {
-      log.info("Cleanup completed successfully for all {} orders", createdOrderIds.size());
+      log.info("Cleanup completed successfully for all {} orders", summary.getTotal());
     }
   }
 
-  @Step("Cleanup orders")
-  private int cleanupOrders() {
-    int failures = 0;
-    for (Long orderId : createdOrderIds) {
-      try {
-        Response deleteResponse = storeApiClient.deleteOrder(orderId);
-        if (isSuccessfulCleanup(deleteResponse.getStatusCode())) {
-          log.debug("Successfully cleaned up order {}", orderId);
-        } else {
-          log.warn(
-              "Cleanup failed for order {} with status code {}",
-              orderId,
-              deleteResponse.getStatusCode());
-          failures++;
-        }
-      } catch (Exception e) {
-        log.error("Exception during cleanup of order {}: {}", orderId, e.getMessage(), e);
-        failures++;
-      }
-    }
-    createdOrderIds.clear();
-    return failures;
+  /**
+   * One cleaner for the whole suite: each owns an HttpClient with its own selector and worker
+   * threads, which a cleaner per test class would leave behind for every class
+   */
+  private static final class OrderCleanerHolder {
+    private static final BatchOrderCleaner INSTANCE =
+        BatchOrderCleaner.fromConfiguration(ConfigurationManager.getInstance());
   }
 }
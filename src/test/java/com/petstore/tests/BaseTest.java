@@ -7,17 +7,24 @@ import static org.testng.Assert.assertTrue;
 
 import com.petstore.client.StoreApiClient;
 import com.petstore.config.ConfigurationManager;
+import com.petstore.framework.AllureMode;
+import com.petstore.framework.AllureReporting;
+import com.petstore.metrics.ConvergenceMetrics;
+import com.petstore.metrics.MetricsReporter;
+import com.petstore.stub.StubStoreServer;
+import com.petstore.util.Awaiter;
 import io.qameta.allure.Step;
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 import org.testng.asserts.SoftAssert;
 
 /**
@@ -28,19 +35,41 @@ public abstract class BaseTest {
 
   private static final Logger log = LoggerFactory.getLogger(BaseTest.class);
 
-  protected StoreApiClient storeApiClient;
+  /** One client per thread, so parallel test methods never share client state */
+  private static final ThreadLocal<StoreApiClient> STORE_API_CLIENT =
+      ThreadLocal.withInitial(StoreApiClient::new);
+
   protected ConfigurationManager config;
 
+  /** Polls eventually consistent conditions; use instead of fixed sleeps */
+  protected Awaiter awaiter;
+
   @BeforeSuite
-  public void setupClass() {
-    // Set up single global filter to prevent duplicates
-    RestAssured.replaceFiltersWith(new AllureRestAssured());
+  @Parameters(AllureReporting.MODE_PARAMETER)
+  public void setupClass(@Optional String allureMode) {
+    // Set up single global filter to prevent duplicates; the suite XML may ask for sampled mode
+    AllureReporting.configure(
+        AllureMode.from(
+            allureMode != null ? allureMode : ConfigurationManager.getInstance().getAllureMode()));
+    // No-op unless the environment enables the in-process stub (ENV=local)
+    StubStoreServer.startSharedIfEnabled();
+    // Live client metrics for the whole suite, see metrics.* in the environment properties
+    MetricsReporter.startSharedIfEnabled();
+  }
+
+  @AfterSuite(alwaysRun = true)
+  public void tearDownSuite() {
+    AllureReporting.flush();
+    String consistencyLag = ConvergenceMetrics.getInstance().report();
+    if (!consistencyLag.isEmpty()) {
+      log.info("Time until eventually consistent conditions held:\n{}", consistencyLag);
+    }
   }
 
   @BeforeClass
   public void baseSetUp() {
     config = ConfigurationManager.getInstance();
-    storeApiClient = new StoreApiClient();
+    awaiter = Awaiter.fromConfiguration(config);
 
     logTestEnvironment();
     performAdditionalSetup();
@@ -51,6 +80,11 @@ public abstract class BaseTest {
     logTestStart(method);
   }
 
+  /** Store API client confined to the calling thread */
+  protected StoreApiClient storeApiClient() {
+    return STORE_API_CLIENT.get();
+  }
+
   /** Hook method for subclasses to perform additional setup */
   protected void performAdditionalSetup() {
     // Default implementation - can be overridden by subclasses
@@ -66,17 +100,6 @@ public abstract class BaseTest {
     log.info("Starting test: " + method.getName());
   }
 
-  /** Store order specific */
-  @Step("Add test delay of {milliseconds}ms")
-  protected void addTestDelay(int milliseconds) {
-    try {
-      Thread.sleep(milliseconds);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      log.warn("Thread interrupted during test delay");
-    }
-  }
-
   @Step("Validate performance results - response time: {responseTime}ms")
   protected void validatePerformanceResults(long responseTime) {
     assertTrue(
@@ -0,0 +1,42 @@
+package com.petstore.tests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Thread-confined tracker of orders created by a test. TestNG runs a test method and its
+ * configuration methods on the same thread, so each parallel test method only ever sees and cleans
+ * up the orders it created itself
+ */
+public class OrderTracker {
+
+  private final ThreadLocal<List<Long>> orderIds = ThreadLocal.withInitial(ArrayList::new);
+
+  public void add(Long orderId) {
+    orderIds.get().add(orderId);
+  }
+
+  public void addAll(Collection<Long> ids) {
+    orderIds.get().addAll(ids);
+  }
+
+  public boolean remove(Long orderId) {
+    return orderIds.get().remove(orderId);
+  }
+
+  public int size() {
+    return orderIds.get().size();
+  }
+
+  public boolean isEmpty() {
+    return orderIds.get().isEmpty();
+  }
+
+  /** Return all tracked IDs of the current thread and stop tracking them */
+  public List<Long> drain() {
+    List<Long> ids = new ArrayList<>(orderIds.get());
+    orderIds.get().clear();
+    return ids;
+  }
+}
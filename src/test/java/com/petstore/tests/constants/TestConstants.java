@@ -35,6 +35,7 @@ public final class TestConstants {
     public static final long MAX_RESPONSE_TIME_MS = 5000L;
     public static final long FAST_RESPONSE_TIME_MS = 1000L;
     public static final long SLOW_RESPONSE_TIME_MS = 10000L;
+    public static final int LATENCY_SAMPLE_SIZE = 20;
 
     private Performance() {}
   }
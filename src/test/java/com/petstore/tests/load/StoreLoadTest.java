@@ -0,0 +1,160 @@
+package com.petstore.tests.load;
+
+import static com.petstore.tests.constants.TestConstants.Performance.MAX_RESPONSE_TIME_MS;
+import static org.testng.Assert.assertTrue;
+
+import com.petstore.client.StoreEndpoint;
+import com.petstore.framework.AllureTestListener;
+import com.petstore.inventory.InventoryAnomaly;
+import com.petstore.inventory.InventoryDriftMonitor;
+import com.petstore.inventory.InventoryDriftReport;
+import com.petstore.load.LoadGenerator;
+import com.petstore.load.LoadProfile;
+import com.petstore.load.LoadResult;
+import com.petstore.load.LoadStage;
+import com.petstore.load.OperationMix;
+import com.petstore.load.OrderLifecycleScenario;
+import com.petstore.load.ScenarioResult;
+import com.petstore.load.VirtualUserProfile;
+import com.petstore.load.VirtualUserRunner;
+import com.petstore.metrics.LatencySummary;
+import com.petstore.tests.BaseStoreTest;
+import io.qameta.allure.*;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Epic("Store API")
+@Feature("Load")
+@Listeners({AllureTestListener.class})
+public class StoreLoadTest extends BaseStoreTest {
+
+  private static final Logger log = LoggerFactory.getLogger(StoreLoadTest.class);
+
+  private static final double TARGET_RPS = 5;
+  private static final double MAX_ERROR_RATE = 0.05;
+  private static final double MIN_THROUGHPUT_RATIO = 0.8;
+
+  @Test(description = "Verify /store sustains a low open-loop request rate", groups = "performance")
+  @Story("Throughput")
+  @Severity(SeverityLevel.NORMAL)
+  @Description(
+      "Drives the default operation mix at a fixed arrival rate and checks achieved throughput and error rate")
+  public void testStoreSustainsTargetRate() {
+    LoadProfile profile =
+        LoadProfile.builder()
+            .targetRps(TARGET_RPS)
+            .warmUp(Duration.ofSeconds(2))
+            .duration(Duration.ofSeconds(10))
+            .workerThreads(8)
+            .mix(OperationMix.defaultMix())
+            .build();
+
+    LoadResult result = new LoadGenerator(storeApiClient()).run(profile);
+    createdOrderIds.addAll(result.getRemainingOrderIds());
+
+    Allure.addAttachment("Load run summary", result.summary());
+    log.info("Load run summary:\n{}", result.summary());
+
+    assertTrue(
+        result.getErrorRate() <= MAX_ERROR_RATE,
+        String.format(
+            "Error rate should be at most %.0f%%, actual: %.2f%%",
+            MAX_ERROR_RATE * 100, result.getErrorRate() * 100));
+    assertTrue(
+        result.getAchievedRps() >= TARGET_RPS * MIN_THROUGHPUT_RATIO,
+        String.format(
+            "Achieved throughput should be at least %.1f rps, actual: %.1f rps",
+            TARGET_RPS * MIN_THROUGHPUT_RATIO, result.getAchievedRps()));
+
+    LatencySummary placeOrderLatency = result.getLatencySummary(StoreEndpoint.PLACE_ORDER);
+    assertTrue(
+        placeOrderLatency.getP99Millis() < MAX_RESPONSE_TIME_MS,
+        String.format(
+            "p99 of placeOrder should be less than %dms, actual: %.1fms",
+            MAX_RESPONSE_TIME_MS, placeOrderLatency.getP99Millis()));
+  }
+
+  @Test(
+      description = "Verify inventory stays consistent while orders are written under load",
+      groups = "performance")
+  @Story("Inventory consistency")
+  @Severity(SeverityLevel.NORMAL)
+  @Description(
+      "Samples the inventory in the background during a write-heavy load run and reports drift over time")
+  public void testInventoryStaysConsistentUnderLoad() {
+    LoadProfile profile =
+        LoadProfile.builder()
+            .targetRps(TARGET_RPS)
+            .warmUp(Duration.ofSeconds(1))
+            .duration(Duration.ofSeconds(10))
+            .workerThreads(8)
+            .mix(
+                OperationMix.builder()
+                    .weight(StoreEndpoint.PLACE_ORDER, 70)
+                    .weight(StoreEndpoint.DELETE_ORDER, 30)
+                    .build())
+            .build();
+
+    InventoryDriftReport report;
+    try (InventoryDriftMonitor monitor =
+        InventoryDriftMonitor.start(storeApiClient(), EXPECTED_PET_STATUSES)) {
+      LoadResult result = new LoadGenerator(storeApiClient()).run(profile);
+      createdOrderIds.addAll(result.getRemainingOrderIds());
+      report = monitor.stop();
+    }
+
+    Allure.addAttachment("Inventory drift timeline", report.timeline());
+    log.info("Inventory drift timeline:\n{}", report.timeline());
+
+    assertTrue(report.getSuccessfulSamples() > 0, "Inventory should be sampled at least once");
+    assertTrue(
+        report.getAnomalies(InventoryAnomaly.Type.NEGATIVE_COUNT).isEmpty(),
+        "Inventory should never report negative counts, found: "
+            + report.getAnomalies(InventoryAnomaly.Type.NEGATIVE_COUNT));
+  }
+
+  @Test(
+      description = "Verify the order lifecycle completes under concurrent virtual users",
+      groups = "performance")
+  @Story("Order flow throughput")
+  @Severity(SeverityLevel.NORMAL)
+  @Description(
+      "Ramps virtual users through place -> get -> delete and measures order-flow throughput")
+  public void testOrderLifecycleUnderVirtualUsers() {
+    OrderLifecycleScenario lifecycle =
+        new OrderLifecycleScenario(storeApiClient(), this::createValidOrder);
+    VirtualUserProfile profile =
+        VirtualUserProfile.builder()
+            .stage(LoadStage.of(Duration.ofSeconds(3), 4))
+            .stage(LoadStage.of(Duration.ofSeconds(8), 4))
+            .stage(LoadStage.of(Duration.ofSeconds(2), 0))
+            .build();
+
+    ScenarioResult result =
+        new VirtualUserRunner()
+            .run(
+                lifecycle.build(Duration.ofMillis(100), Duration.ofMillis(300), Duration.ZERO),
+                profile);
+    createdOrderIds.addAll(lifecycle.getRemainingOrderIds());
+
+    Allure.addAttachment("Closed-loop run summary", result.summary());
+    log.info("Closed-loop run summary:\n{}", result.summary());
+
+    assertTrue(result.getIterations() > 0, "At least one order lifecycle should be executed");
+    assertTrue(
+        result.getErrorRate() <= MAX_ERROR_RATE,
+        String.format(
+            "Failed lifecycles should be at most %.0f%%, actual: %.2f%%",
+            MAX_ERROR_RATE * 100, result.getErrorRate() * 100));
+    LatencySummary placeOrderLatency =
+        result.getLatencySummary(OrderLifecycleScenario.PLACE_ORDER);
+    assertTrue(
+        placeOrderLatency.getP99Millis() < MAX_RESPONSE_TIME_MS,
+        String.format(
+            "p99 of the place order step should be less than %dms, actual: %.1fms",
+            MAX_RESPONSE_TIME_MS, placeOrderLatency.getP99Millis()));
+  }
+}
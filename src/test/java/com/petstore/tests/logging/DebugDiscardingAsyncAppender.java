@@ -0,0 +1,18 @@
+package com.petstore.tests.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Async appender that, once the queue is nearly full (see {@code discardingThreshold}), drops only
+ * TRACE and DEBUG events - the request/response dumps of {@code com.petstore.http} - and keeps
+ * INFO, which logback's own AsyncAppender would discard as well.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+  @Override
+  protected boolean isDiscardable(ILoggingEvent event) {
+    return event.getLevel().toInt() <= Level.DEBUG_INT;
+  }
+}
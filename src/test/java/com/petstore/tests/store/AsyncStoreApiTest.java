@@ -0,0 +1,82 @@
+package com.petstore.tests.store;
+
+import static org.testng.Assert.*;
+
+import com.petstore.client.AsyncStoreApiClient;
+import com.petstore.client.StoreApiException;
+import com.petstore.dto.Order;
+import com.petstore.framework.AllureTestListener;
+import com.petstore.tests.BaseStoreTest;
+import com.petstore.tests.constants.TestConstants.TestIds;
+import io.qameta.allure.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.*;
+
+@Epic("Store API")
+@Feature("Async Client")
+@Listeners({AllureTestListener.class})
+public class AsyncStoreApiTest extends BaseStoreTest {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncStoreApiTest.class);
+  private static final int CONCURRENT_ORDERS = 10;
+
+  private AsyncStoreApiClient asyncClient;
+
+  @BeforeClass
+  public void setupAsyncClient() {
+    asyncClient = new AsyncStoreApiClient();
+  }
+
+  @Test(description = "Verify async GET /store/inventory returns inventory map")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Test verifies the non-blocking client retrieves a valid inventory")
+  public void testAsyncGetInventory() {
+    Map<String, Integer> inventory = asyncClient.getInventory().join();
+    validateExpectedStatuses(inventory);
+  }
+
+  @Test(description = "Verify concurrent async order placement and retrieval")
+  @Story("Place Order")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Places several orders concurrently through the async client and reads them back")
+  public void testAsyncConcurrentOrders() {
+    Order orderRequest = createValidOrder();
+
+    List<Order> placedOrders =
+        IntStream.range(0, CONCURRENT_ORDERS)
+            .mapToObj(i -> asyncClient.placeOrder(orderRequest))
+            .collect(Collectors.toList())
+            .stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+    placedOrders.forEach(order -> createdOrderIds.add(order.getId()));
+    log.info("Placed {} orders concurrently", placedOrders.size());
+
+    placedOrders.forEach(order -> assertOrderMatch(orderRequest, order, "Async order placement"));
+
+    Order retrieved = asyncClient.getOrderById(placedOrders.get(0).getId()).join();
+    assertOrderMatch(placedOrders.get(0), retrieved, "Async order retrieval");
+  }
+
+  @Test(description = "Verify async GET for non-existent order completes exceptionally with 404")
+  @Story("Get Order")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Test verifies non-2xx responses surface as StoreApiException")
+  public void testAsyncGetNonExistentOrder() {
+    CompletionException thrown =
+        expectThrows(
+            CompletionException.class,
+            () -> asyncClient.getOrderById(TestIds.NON_EXISTENT).join());
+
+    assertTrue(thrown.getCause() instanceof StoreApiException, "Cause should be StoreApiException");
+    assertTrue(((StoreApiException) thrown.getCause()).isNotFound(), "Status should be 404");
+  }
+}
@@ -1,15 +1,35 @@
 package com.petstore.tests.store;
 
+import static com.petstore.tests.constants.TestConstants.Performance.LATENCY_SAMPLE_SIZE;
 import static com.petstore.tests.constants.TestConstants.Performance.MAX_RESPONSE_TIME_MS;
+import static com.petstore.tests.constants.TestConstants.Performance.SLOW_RESPONSE_TIME_MS;
 
+import com.petstore.client.StoreApiClient;
+import com.petstore.client.StoreEndpoint;
 import com.petstore.dto.Order;
 import com.petstore.framework.AllureTestListener;
+import com.petstore.inventory.InventorySnapshot;
+import com.petstore.metrics.CacheMetrics;
+import com.petstore.metrics.ClientMetrics;
+import com.petstore.metrics.EndpointMetrics;
 import com.petstore.tests.BaseStoreTest;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.*;
 
 @Epic("Store API")
@@ -18,17 +38,17 @@ import org.testng.annotations.*;
 public class StoreInventoryTest extends BaseStoreTest {
 
   private static final Logger log = LoggerFactory.getLogger(StoreInventoryTest.class);
-  private long testStartTime;
+  private final ThreadLocal<Long> testStartTime = new ThreadLocal<>();
 
   @BeforeMethod
   public void setupTest() {
-    testStartTime = System.currentTimeMillis();
+    testStartTime.set(System.currentTimeMillis());
     log.info("Starting new test execution - inventory tests");
   }
 
   @AfterMethod
   public void teardownTest() {
-    long testDuration = System.currentTimeMillis() - testStartTime;
+    long testDuration = System.currentTimeMillis() - testStartTime.get();
     log.info("=== Completed test in {} ms ===", testDuration);
   }
 
@@ -64,6 +84,17 @@ public class StoreInventoryTest extends BaseStoreTest {
     validatePerformanceResults(responseTime);
   }
 
+  @Test(description = "Verify inventory latency percentiles are acceptable", groups = "performance")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Samples the inventory endpoint repeatedly and validates p90/p99 latency")
+  public void testGetInventoryLatencyPercentiles() {
+    log.info("Sampling inventory endpoint latency over {} calls", LATENCY_SAMPLE_SIZE);
+    sampleInventoryLatency(LATENCY_SAMPLE_SIZE);
+    assertPercentileBelow(StoreEndpoint.INVENTORY, 90, MAX_RESPONSE_TIME_MS);
+    assertPercentileBelow(StoreEndpoint.INVENTORY, 99, SLOW_RESPONSE_TIME_MS);
+  }
+
   @Test(description = "Verify inventory contains expected pet statuses")
   @Story("Get Inventory")
   @Severity(SeverityLevel.NORMAL)
@@ -73,6 +104,107 @@ public class StoreInventoryTest extends BaseStoreTest {
     validateExpectedStatuses(inventory);
   }
 
+  @Test(description = "Verify streamed inventory contains expected pet statuses")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Test verifies the streaming decoder returns inventory with expected statuses")
+  public void testStreamedInventoryContainsExpectedStatuses() {
+    InventorySnapshot inventory = storeApiClient().getInventorySnapshot();
+    Assert.assertFalse(inventory.isEmpty(), "Streamed inventory should not be empty");
+    validateExpectedStatuses(inventory.toMap());
+  }
+
+  @Test(description = "Verify inventory calls are recorded in the client metrics")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.MINOR)
+  @Description("Test verifies an inventory call shows up in the Prometheus export of the client")
+  public void testInventoryCallRecordedInClientMetrics() {
+    if (!config.isMetricsEnabled()) {
+      throw new SkipException("Client metrics are disabled in this environment");
+    }
+    EndpointMetrics metrics = ClientMetrics.getInstance().endpoint("GET /store/inventory");
+    long before = metrics.getTimer("2xx").getCount();
+
+    executeInventoryRequest();
+
+    Assert.assertTrue(
+        metrics.getTimer("2xx").getCount() > before, "2xx inventory timer should be incremented");
+    String export = ClientMetrics.getInstance().toPrometheusText();
+    Allure.addAttachment("Client metrics", export);
+    Assert.assertTrue(
+        export.contains("endpoint=\"GET /store/inventory\",status=\"2xx\""),
+        "Prometheus export should contain the inventory timer");
+  }
+
+  @Test(description = "Verify limiter wait is recorded apart from request latency")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.MINOR)
+  @Description("Test verifies calls through the client limiter record their wait time separately")
+  public void testLimiterWaitRecordedSeparately() {
+    if (config.getLimiterRatePerSecond() <= 0 && !config.isConcurrencyLimiterEnabled()) {
+      throw new SkipException("Client limiter is disabled in this environment");
+    }
+    EndpointMetrics metrics = ClientMetrics.getInstance().endpoint("GET /store/inventory");
+    long before = metrics.getLimiterWait().getCount();
+
+    executeInventoryRequest();
+
+    Assert.assertTrue(
+        metrics.getLimiterWait().getCount() > before, "Limiter wait should be recorded per call");
+    Assert.assertTrue(
+        ClientMetrics.getInstance()
+            .toPrometheusText()
+            .contains("limiter_wait_seconds_count{endpoint=\"GET /store/inventory\"}"),
+        "Prometheus export should contain the inventory limiter wait");
+  }
+
+  /**
+   * Order writes of test methods running in parallel invalidate the shared cache at any time, so
+   * the number of backend loads is not asserted here; ReadThroughCacheTest covers coalescing.
+   */
+  @Test(description = "Verify concurrent inventory reads through the cache")
+  @Story("Get Inventory")
+  @Severity(SeverityLevel.MINOR)
+  @Description("Test verifies a caching client serves concurrent readers and reloads after a write")
+  public void testConcurrentInventoryReadsThroughCache() throws Exception {
+    int readers = 8;
+    StoreApiClient cachingClient = new StoreApiClient(true);
+    CacheMetrics metrics = ClientMetrics.getInstance().cache("inventory");
+    // Drops anything cached earlier, so the concurrent reads below start with a miss
+    Long orderId = placeOrderAndTrack(createTestOrder());
+    long missesBefore = metrics.getMisses();
+
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(readers);
+    Set<Response> responses = Collections.newSetFromMap(new IdentityHashMap<>());
+    try {
+      List<Future<Response>> reads = new ArrayList<>();
+      for (int i = 0; i < readers; i++) {
+        reads.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return cachingClient.getInventory();
+                }));
+      }
+      start.countDown();
+      for (Future<Response> read : reads) {
+        Response response = read.get(30, TimeUnit.SECONDS);
+        validateInventoryResponse(response);
+        responses.add(response);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertTrue(metrics.getMisses() > missesBefore, "Readers should load after the write");
+
+    Response beforeWrite = responses.iterator().next();
+    deleteAndValidateOrderRemoval(orderId);
+    Response afterWrite = cachingClient.getInventory();
+    validateInventoryResponse(afterWrite);
+    Assert.assertNotSame(afterWrite, beforeWrite, "A write should force the next read to reload");
+  }
+
   @Test(description = "Verify inventory data consistency between multiple calls")
   @Story("Get Inventory")
   @Severity(SeverityLevel.NORMAL)
@@ -80,8 +212,6 @@ public class StoreInventoryTest extends BaseStoreTest {
   public void testInventoryDataConsistency() {
     log.info("Testing inventory data consistency across multiple calls");
     Map<String, Integer> inventory1 = retrieveInventory();
-    int delayBetweenCalls = 100;
-    addTestDelay(delayBetweenCalls);
     Map<String, Integer> inventory2 = retrieveInventory();
     validateConsistency(inventory1, inventory2);
   }
@@ -8,6 +8,7 @@ import com.petstore.framework.AllureTestListener;
 import com.petstore.tests.BaseStoreTest;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
+import java.net.HttpURLConnection;
 import java.time.OffsetDateTime;
 import java.util.*;
 import org.slf4j.Logger;
@@ -21,19 +22,17 @@ public class StoreOrderTest extends BaseStoreTest {
 
   private static final Logger log = LoggerFactory.getLogger(StoreOrderTest.class);
 
-  private List<Long> createdOrderIds;
-  private long testStartTime;
+  private final ThreadLocal<Long> testStartTime = new ThreadLocal<>();
 
   @BeforeMethod
   public void setupTest() {
-    testStartTime = System.currentTimeMillis();
-    createdOrderIds = new ArrayList<>();
+    testStartTime.set(System.currentTimeMillis());
     log.info("Starting new test execution - initializing order tracking");
   }
 
   @AfterMethod
   public void cleanUp() {
-    long testDuration = System.currentTimeMillis() - testStartTime;
+    long testDuration = System.currentTimeMillis() - testStartTime.get();
     log.info("=== Completed test in {} ms ===", testDuration);
 
     if (createdOrderIds.isEmpty()) {
@@ -230,7 +229,7 @@ public class StoreOrderTest extends BaseStoreTest {
     log.info("Testing validation case: {}", description);
 
     try {
-      Response response = storeApiClient.placeOrder(testOrder);
+      Response response = storeApiClient().placeOrder(testOrder);
       handleOrderValidationResponse(response, description);
     } catch (Exception e) {
       log.error(
@@ -276,7 +275,7 @@ public class StoreOrderTest extends BaseStoreTest {
   public void testPlaceOrderEdgeCases(Order edgeCaseOrder, String testCase) {
     log.info("Testing order placement with edge case: {}", testCase);
 
-    Response response = storeApiClient.placeOrder(edgeCaseOrder);
+    Response response = storeApiClient().placeOrder(edgeCaseOrder);
 
     // Assert that edge cases are accepted (not rejected)
     assertTrue(
@@ -314,7 +313,7 @@ public class StoreOrderTest extends BaseStoreTest {
             .quantity(1_000_000) // 1 million
             .build();
 
-    Response response = storeApiClient.placeOrder(largeOrder);
+    Response response = storeApiClient().placeOrder(largeOrder);
 
     // Document actual behavior
     if (response.getStatusCode() < 300) {
@@ -341,13 +340,13 @@ public class StoreOrderTest extends BaseStoreTest {
             .complete(false)
             .build();
 
-    Response createResponse = storeApiClient.placeOrder(originalOrder);
+    Response createResponse = storeApiClient().placeOrder(originalOrder);
     Long orderId = createResponse.jsonPath().getLong("id");
     trackOrderForCleanup(createResponse);
 
     // Retrieve order multiple times and verify consistency
     for (int i = 0; i < 3; i++) {
-      Response getResponse = storeApiClient.getOrderById(orderId);
+      Response getResponse = storeApiClient().getOrderById(orderId);
       Order retrievedOrder = getResponse.as(Order.class);
 
       assertEquals(
@@ -361,6 +360,24 @@ public class StoreOrderTest extends BaseStoreTest {
     }
   }
 
+  @Test(description = "Verify the streamed order matches the databind order")
+  @Story("Data Integrity")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Test verifies getOrderByIdStreamed decodes the same order as getOrderByIdAsObject")
+  public void testStreamedOrderMatchesDatabindOrder() {
+    Order orderRequest = createValidOrder();
+    Long orderId = placeOrderAndTrack(orderRequest);
+    awaitStatus(
+        "order readable", () -> storeApiClient().getOrderById(orderId), HttpURLConnection.HTTP_OK);
+
+    Order databindOrder = storeApiClient().getOrderByIdAsObject(orderId);
+    assertOrderMatch(orderRequest, databindOrder, "Databind order");
+    assertEquals(
+        storeApiClient().getOrderByIdStreamed(orderId),
+        databindOrder,
+        "Streamed order should equal the databind order");
+  }
+
   @Test(description = "Verify API respects rate limiting", groups = "performance")
   @Story("Rate Limiting")
   @Severity(SeverityLevel.NORMAL)
@@ -384,7 +401,7 @@ public class StoreOrderTest extends BaseStoreTest {
     for (int requestNumber = 1; requestNumber <= MAX_REQUESTS_TO_TEST; requestNumber++) {
       Order testOrder = Order.builder().petId(PET_ID_FOR_LOAD_TEST).quantity(1).build();
 
-      Response response = storeApiClient.placeOrder(testOrder);
+      Response response = storeApiClient().placeOrder(testOrder);
       responses.add(response);
 
       // Check if rate limiting was triggered
@@ -0,0 +1,130 @@
+package com.petstore.tests.util;
+
+import com.petstore.util.AdaptiveConcurrencyLimiter;
+import io.qameta.allure.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Adaptive Concurrency Limit")
+public class AdaptiveConcurrencyLimiterTest {
+
+  private static final long IDLE_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test(description = "Verify the latency baseline follows the backend from window to window")
+  @Story("Latency Baseline")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A slower backend is congested for one window, then becomes the new baseline")
+  public void testBaselineIsRemeasuredEveryWindow() {
+    AtomicLong clock = new AtomicLong();
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(4, 1, 4, 2.0, 0.5, clock::get);
+
+    for (int i = 0; i < AdaptiveConcurrencyLimiter.BASELINE_WINDOW; i++) {
+      call(limiter, clock, 10, false);
+    }
+    Assert.assertEquals(limiter.getLimit(), 4, "10ms calls are within tolerance of themselves");
+
+    for (int i = 1; i < AdaptiveConcurrencyLimiter.BASELINE_WINDOW; i++) {
+      call(limiter, clock, 100, false);
+    }
+    Assert.assertEquals(limiter.getLimit(), 1, "100ms calls are congested against 10ms");
+
+    // The last call of the window re-measures the baseline before it is judged
+    call(limiter, clock, 150, false);
+    Assert.assertEquals(limiter.getLimit(), 2, "150ms is within tolerance of the new 100ms");
+    call(limiter, clock, 250, false);
+    Assert.assertEquals(limiter.getLimit(), 1, "250ms is not");
+  }
+
+  @Test(description = "Verify one congestion episode costs one backoff step")
+  @Story("Backoff")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Only calls started after the last decrease may shrink the limit again")
+  public void testBackoffOncePerDecrease() {
+    AtomicLong clock = new AtomicLong();
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0, 0.5, clock::get);
+    call(limiter, clock, 10, false);
+
+    clock.addAndGet(IDLE_GAP_NANOS);
+    long[] spike = new long[10];
+    for (int i = 0; i < spike.length; i++) {
+      spike[i] = limiter.acquire();
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    for (long acquired : spike) {
+      limiter.release(acquired, false);
+    }
+    Assert.assertEquals(limiter.getLimit(), 10, "Ten slow calls of one spike halve the limit once");
+
+    clock.addAndGet(IDLE_GAP_NANOS);
+    long[] inFlight = {limiter.acquire(), limiter.acquire()};
+    call(limiter, clock, 1000, false);
+    Assert.assertEquals(limiter.getLimit(), 5, "A call started after the decrease backs off again");
+
+    for (long acquired : inFlight) {
+      limiter.release(acquired, true);
+    }
+    Assert.assertEquals(limiter.getLimit(), 5, "Drops of calls started before it must not");
+    Assert.assertEquals(limiter.getInFlight(), 0);
+  }
+
+  @Test(description = "Verify the limit grows only while it is in use")
+  @Story("Growth")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Fast calls grow the limit only while at least half of it is in flight")
+  public void testGrowsOnlyWhileLimitIsInUse() {
+    AtomicLong clock = new AtomicLong();
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0, 0.5, clock::get);
+
+    for (int i = 0; i < 100; i++) {
+      call(limiter, clock, 10, false);
+    }
+    Assert.assertEquals(limiter.getLimit(), 10, "One call in flight does not use a limit of 10");
+
+    // Six staggered calls, each answered after 12ms, keep six in flight at every release
+    long stepNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    Deque<Long> inFlight = new ArrayDeque<>();
+    for (int i = 0; i < 6; i++) {
+      clock.addAndGet(stepNanos);
+      inFlight.add(limiter.acquire());
+    }
+    for (int i = 0; i < 200; i++) {
+      clock.addAndGet(stepNanos);
+      limiter.release(inFlight.remove(), false);
+      inFlight.add(limiter.acquire());
+    }
+
+    Assert.assertEquals(limiter.getLimit(), 12, "Growth stops once six is less than half of it");
+  }
+
+  @Test(description = "Verify invalid limiter settings are rejected")
+  @Story("Configuration")
+  @Severity(SeverityLevel.MINOR)
+  @Description("Limits must be ordered, the tolerance at least 1 and the backoff inside (0, 1)")
+  public void testInvalidSettingsAreRejected() {
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 0, 10, 2.0, 0.5));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(11, 1, 10, 2.0, 0.5));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 10, 0.5, 0.5));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 10, 2.0, 1.0));
+  }
+
+  /** One call on its own, started after a short idle gap and answered after the given latency */
+  private static void call(
+      AdaptiveConcurrencyLimiter limiter, AtomicLong clock, long latencyMillis, boolean dropped) {
+    clock.addAndGet(IDLE_GAP_NANOS);
+    long acquired = limiter.acquire();
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    limiter.release(acquired, dropped);
+  }
+}
@@ -0,0 +1,68 @@
+package com.petstore.tests.util;
+
+import com.petstore.metrics.ConvergenceMetrics;
+import com.petstore.util.Awaiter;
+import com.petstore.util.ConditionTimeoutException;
+import io.qameta.allure.*;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Eventual Consistency")
+public class AwaiterTest {
+
+  private final Awaiter awaiter =
+      Awaiter.builder()
+          .timeout(Duration.ofMillis(500))
+          .initialPollDelay(Duration.ofMillis(5))
+          .maxPollDelay(Duration.ofMillis(20))
+          .build();
+
+  @Test(description = "Verify undeclared socket timeouts from the probe are polled again")
+  @Story("Polling")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Checked exceptions rethrown by REST Assured must count as 'not yet'")
+  public void testUndeclaredTimeoutIsRetried() {
+    AtomicInteger polls = new AtomicInteger();
+
+    boolean converged =
+        awaiter.until(
+            "awaiter test: timeout then success",
+            () -> timeOutTwice(polls.incrementAndGet()),
+            b -> b);
+
+    Assert.assertTrue(converged);
+    Assert.assertEquals(polls.get(), 3, "Two timed-out polls should be followed by a third");
+  }
+
+  @Test(description = "Verify a probe that keeps timing out fails with the timeout attached")
+  @Story("Polling")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("An await that never converges must be recorded as a timeout")
+  public void testPersistentTimeoutIsRecorded() {
+    String condition = "awaiter test: always timing out";
+    ConvergenceMetrics.Condition metrics = ConvergenceMetrics.getInstance().condition(condition);
+    long timeoutsBefore = metrics.getTimeouts();
+
+    ConditionTimeoutException e =
+        Assert.expectThrows(
+            ConditionTimeoutException.class,
+            () -> awaiter.until(condition, () -> timeOutTwice(0), b -> b));
+
+    Assert.assertTrue(e.getCause() instanceof SocketTimeoutException, String.valueOf(e));
+    Assert.assertEquals(metrics.getTimeouts(), timeoutsBefore + 1);
+  }
+
+  /** Throws an undeclared SocketTimeoutException for the first two polls, as REST Assured does */
+  @SneakyThrows
+  private static boolean timeOutTwice(int poll) {
+    if (poll < 3) {
+      throw new SocketTimeoutException("Read timed out");
+    }
+    return true;
+  }
+}
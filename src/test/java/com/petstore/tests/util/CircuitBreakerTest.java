@@ -0,0 +1,68 @@
+package com.petstore.tests.util;
+
+import com.petstore.util.CircuitBreaker;
+import com.petstore.util.CircuitBreakerConfig;
+import io.qameta.allure.*;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Circuit Breaker")
+public class CircuitBreakerTest {
+
+  @Test(description = "Verify undeclared socket timeouts open a closed breaker")
+  @Story("Failure Recording")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Checked exceptions rethrown by REST Assured must count as failures")
+  public void testUndeclaredTimeoutsOpenClosedBreaker() {
+    CircuitBreaker breaker =
+        new CircuitBreaker(
+            "timeouts", CircuitBreakerConfig.builder().windowSize(4).minimumCalls(2).build());
+
+    for (int i = 0; i < 2; i++) {
+      Assert.assertThrows(
+          SocketTimeoutException.class, () -> breaker.execute(CircuitBreakerTest::timeOut));
+    }
+
+    Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    Assert.assertEquals(breaker.getFailureRate(), 100f);
+  }
+
+  @Test(description = "Verify an undeclared socket timeout completes a half-open trial")
+  @Story("Failure Recording")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A timed-out half-open trial must re-open the breaker instead of leaving it stuck")
+  public void testUndeclaredTimeoutCompletesHalfOpenTrial() {
+    CircuitBreaker breaker =
+        new CircuitBreaker(
+            "half-open",
+            CircuitBreakerConfig.builder()
+                .windowSize(2)
+                .minimumCalls(1)
+                .halfOpenCalls(1)
+                .openDuration(Duration.ZERO)
+                .build());
+    Assert.assertThrows(
+        SocketTimeoutException.class, () -> breaker.execute(CircuitBreakerTest::timeOut));
+    Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+    // With a zero open duration the next call is the half-open trial
+    Assert.assertThrows(
+        SocketTimeoutException.class, () -> breaker.execute(CircuitBreakerTest::timeOut));
+    Assert.assertEquals(
+        breaker.getState(), CircuitBreaker.State.OPEN, "Failed trial should re-open the breaker");
+
+    Assert.assertEquals(breaker.execute(() -> "ok"), "ok");
+    Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    Assert.assertEquals(breaker.getRejectedCalls(), 0L);
+  }
+
+  /** Throws the checked exception without declaring it, as REST Assured does */
+  @SneakyThrows
+  private static String timeOut() {
+    throw new SocketTimeoutException("Read timed out");
+  }
+}
@@ -0,0 +1,110 @@
+package com.petstore.tests.util;
+
+import com.petstore.inventory.InventoryDelta;
+import com.petstore.inventory.InventorySnapshot;
+import com.petstore.inventory.StatusDictionary;
+import io.qameta.allure.*;
+import java.util.Arrays;
+import java.util.Collections;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Inventory Monitoring")
+@Feature("Inventory Delta")
+public class InventoryDeltaTest {
+
+  @Test(description = "Verify count changes are zig-zag varint encoded")
+  @Story("Encoding")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Small changes of either sign take one byte; larger ones grow by 7 bits per byte")
+  public void testZigZagVarintEncoding() {
+    assertChangeEncodedAs(-1, 0x01);
+    assertChangeEncodedAs(1, 0x02);
+    assertChangeEncodedAs(-64, 0x7F);
+    assertChangeEncodedAs(64, 0x80, 0x01);
+    assertChangeEncodedAs(300, 0xD8, 0x04);
+    assertChangeEncodedAs(4_000_000_000L, 0x80, 0xA0, 0xD9, 0xE6, 0x1D);
+    assertChangeEncodedAs(-4_000_000_000L, 0xFF, 0x9F, 0xD9, 0xE6, 0x1D);
+  }
+
+  @Test(description = "Verify decode restores an encoded delta")
+  @Story("Encoding")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Changes of any sign and size and removed statuses survive the round trip")
+  public void testEncodeDecodeRoundTrip() {
+    InventorySnapshot before =
+        snapshot("available", Integer.MIN_VALUE + 1, "pending", 5, "sold", 100_000);
+    InventorySnapshot after = snapshot("available", Integer.MAX_VALUE, "sold", 99_000, "new", -7);
+    InventoryDelta delta = before.diff(after);
+
+    InventoryDelta decoded = InventoryDelta.decode(delta.encode());
+
+    Assert.assertEquals(decoded, delta);
+    Assert.assertEquals(decoded.getChange("available"), (long) Integer.MAX_VALUE * 2);
+    Assert.assertEquals(decoded.getChange("sold"), -1_000L);
+    Assert.assertEquals(decoded.getChange("new"), -7L);
+    Assert.assertEquals(before.apply(decoded), after, "Removed flag must survive decoding");
+  }
+
+  @Test(description = "Verify the empty delta encodes to a single byte")
+  @Story("Encoding")
+  @Severity(SeverityLevel.MINOR)
+  @Description("An unchanged inventory costs one byte per sample in a time series")
+  public void testEmptyDelta() {
+    Assert.assertEquals(InventoryDelta.EMPTY.encode(), new byte[] {0});
+    Assert.assertSame(InventoryDelta.decode(new byte[] {0}), InventoryDelta.EMPTY);
+    Assert.assertEquals(InventoryDelta.EMPTY.getChange("available"), 0L);
+  }
+
+  @Test(description = "Verify malformed input is rejected")
+  @Story("Encoding")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Truncated input, trailing bytes and over-long varints must not decode")
+  public void testMalformedInputIsRejected() {
+    byte[] encoded = snapshot("available", 1).diff(snapshot("available", 2)).encode();
+
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> InventoryDelta.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> InventoryDelta.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+
+    byte[] overlong = new byte[12];
+    overlong[0] = 1;
+    Arrays.fill(overlong, 1, overlong.length, (byte) 0x80);
+    Assert.assertThrows(IllegalArgumentException.class, () -> InventoryDelta.decode(overlong));
+  }
+
+  /** A one-entry delta is its entry count, the status id with the removed flag, then the change */
+  private static void assertChangeEncodedAs(long change, int... changeBytes) {
+    long before = change > 0 ? -2_000_000_000 : 2_000_000_000;
+    byte[] encoded =
+        snapshot("available", (int) before)
+            .diff(snapshot("available", (int) (before + change)))
+            .encode();
+
+    int idAndFlag = StatusDictionary.getInstance().idOf("available") << 1;
+    Assert.assertTrue(idAndFlag < 0x80, "Test assumes a one-byte status id");
+    byte[] expected = new byte[changeBytes.length + 2];
+    expected[0] = 1;
+    expected[1] = (byte) idAndFlag;
+    for (int i = 0; i < changeBytes.length; i++) {
+      expected[i + 2] = (byte) changeBytes[i];
+    }
+    Assert.assertEquals(encoded, expected, "Encoding of change " + change);
+  }
+
+  private static InventorySnapshot snapshot(String status, int count) {
+    return InventorySnapshot.of(Collections.singletonMap(status, count));
+  }
+
+  /** Snapshot of alternating status names and counts */
+  private static InventorySnapshot snapshot(Object... statusesAndCounts) {
+    InventorySnapshot.Builder builder = new InventorySnapshot.Builder();
+    for (int i = 0; i < statusesAndCounts.length; i += 2) {
+      builder.put((String) statusesAndCounts[i], (Integer) statusesAndCounts[i + 1]);
+    }
+    return builder.build();
+  }
+}
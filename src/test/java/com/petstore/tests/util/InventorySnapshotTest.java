@@ -0,0 +1,121 @@
+package com.petstore.tests.util;
+
+import com.petstore.client.StreamingResponseDecoder;
+import com.petstore.inventory.InventoryDelta;
+import com.petstore.inventory.InventorySnapshot;
+import io.qameta.allure.*;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Inventory Monitoring")
+@Feature("Inventory Snapshot")
+public class InventorySnapshotTest {
+
+  @Test(description = "Verify the streaming decoder builds a snapshot of the inventory body")
+  @Story("Decoding")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Integer counts are kept, other values skipped and out-of-range counts saturated")
+  public void testDecodeInventory() {
+    InventorySnapshot snapshot =
+        decode(
+            "{\"available\":250,\"sold\":-3,\"note\":\"x\",\"nested\":{\"a\":1},"
+                + "\"huge\":99999999999,\"tiny\":-99999999999}");
+
+    Assert.assertEquals(snapshot.size(), 4);
+    Assert.assertEquals(snapshot.get("available", 0), 250);
+    Assert.assertEquals(snapshot.get("sold", 0), -3);
+    Assert.assertEquals(snapshot.get("huge", 0), Integer.MAX_VALUE);
+    Assert.assertEquals(snapshot.get("tiny", 0), Integer.MIN_VALUE + 1, "MIN_VALUE is reserved");
+    Assert.assertFalse(snapshot.contains("note"));
+    Assert.assertFalse(snapshot.contains("nested"));
+    Assert.assertEquals(snapshot.get("never-reported", -1), -1);
+    Assert.assertEquals(snapshot, InventorySnapshot.of(snapshot.toMap()));
+  }
+
+  @Test(description = "Verify diff records changed, new and removed statuses only")
+  @Story("Diff")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Unchanged statuses are left out; a removed status carries minus its last count")
+  public void testDiffAndApplyRoundTrip() {
+    InventorySnapshot before = snapshot("available", 10, "pending", 5, "sold", 7);
+    InventorySnapshot after = snapshot("available", 8, "sold", 7, "placed", 3);
+
+    InventoryDelta delta = before.diff(after);
+
+    Assert.assertEquals(delta.size(), 3, "Unchanged 'sold' must not be recorded: " + delta);
+    Assert.assertEquals(delta.getChange("available"), -2L);
+    Assert.assertEquals(delta.getChange("pending"), -5L);
+    Assert.assertEquals(delta.getChange("placed"), 3L);
+    Assert.assertEquals(delta.getChange("sold"), 0L);
+
+    InventorySnapshot rebuilt = before.apply(delta);
+    Assert.assertEquals(rebuilt, after);
+    Assert.assertFalse(rebuilt.contains("pending"), "Removed status must be absent, not 0");
+    Assert.assertTrue(before.diff(before).isEmpty());
+  }
+
+  @Test(description = "Verify diff does not overflow between counts at opposite ends of the range")
+  @Story("Diff")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("The change between int counts can exceed the int range and is kept as a long")
+  public void testDiffOfExtremeCountsDoesNotOverflow() {
+    InventorySnapshot low = snapshot("available", -2_000_000_000, "sold", Integer.MAX_VALUE);
+    InventorySnapshot high = snapshot("available", 2_000_000_000, "sold", -2_000_000_000);
+
+    InventoryDelta delta = low.diff(high);
+
+    Assert.assertEquals(delta.getChange("available"), 4_000_000_000L);
+    Assert.assertEquals(delta.getChange("sold"), -2_000_000_000L - Integer.MAX_VALUE);
+    Assert.assertEquals(low.apply(delta), high);
+    Assert.assertEquals(high.apply(high.diff(low)), low);
+    Assert.assertEquals(low.apply(InventoryDelta.decode(delta.encode())), high);
+  }
+
+  @Test(description = "Verify merge sums counts per status")
+  @Story("Merge")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Statuses of either side are kept; a status missing on one side counts as 0")
+  public void testMergeSumsCounts() {
+    InventorySnapshot left = snapshot("available", 10, "pending", 5);
+    InventorySnapshot right = snapshot("available", 1, "sold", 2);
+
+    InventorySnapshot merged = left.merge(right);
+
+    Assert.assertEquals(merged, snapshot("available", 11, "pending", 5, "sold", 2));
+    Assert.assertEquals(merged, right.merge(left));
+    Assert.assertEquals(left.merge(InventorySnapshot.EMPTY), left);
+  }
+
+  @Test(description = "Verify merge saturates instead of overflowing")
+  @Story("Merge")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Sums beyond the int range are clamped, as the decoder clamps counts")
+  public void testMergeSaturates() {
+    InventorySnapshot big = snapshot("available", Integer.MAX_VALUE, "sold", -2_000_000_000);
+
+    InventorySnapshot merged = big.merge(big);
+
+    Assert.assertEquals(merged.get("available", 0), Integer.MAX_VALUE);
+    Assert.assertEquals(merged.get("sold", 0), Integer.MIN_VALUE + 1);
+  }
+
+  @SneakyThrows
+  private static InventorySnapshot decode(String json) {
+    return StreamingResponseDecoder.decodeInventory(
+        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** Snapshot of alternating status names and counts */
+  private static InventorySnapshot snapshot(Object... statusesAndCounts) {
+    Map<String, Integer> inventory = new LinkedHashMap<>();
+    for (int i = 0; i < statusesAndCounts.length; i += 2) {
+      inventory.put((String) statusesAndCounts[i], (Integer) statusesAndCounts[i + 1]);
+    }
+    return InventorySnapshot.of(inventory);
+  }
+}
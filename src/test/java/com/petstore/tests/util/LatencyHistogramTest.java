@@ -0,0 +1,131 @@
+package com.petstore.tests.util;
+
+import com.petstore.metrics.LatencyHistogram;
+import io.qameta.allure.*;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Metrics")
+@Feature("Latency Histogram")
+public class LatencyHistogramTest {
+
+  /** Far above every value under test, so percentiles are not capped by the recorded maximum */
+  private static final long OUTLIER_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  @Test(description = "Verify values below the first sub-bucket range are tracked exactly")
+  @Story("Bucket Boundaries")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Each value up to 127ns has its own bucket, so percentiles return recorded values")
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long nanos = 0; nanos < 128; nanos++) {
+      histogram.recordNanos(nanos);
+    }
+
+    Assert.assertEquals(histogram.getCount(), 128L);
+    Assert.assertEquals(histogram.getValueAtPercentile(50), 63L);
+    Assert.assertEquals(histogram.getValueAtPercentile(99), 126L);
+    Assert.assertEquals(histogram.getValueAtPercentile(100), 127L);
+    Assert.assertEquals(histogram.getMinNanos(), 0L);
+    Assert.assertEquals(histogram.getMaxNanos(), 127L);
+  }
+
+  @Test(description = "Verify percentiles report the highest value equivalent to the bucket")
+  @Story("Bucket Boundaries")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Above 127ns buckets double in width per power of two; the upper edge is reported")
+  public void testBucketUpperEdges() {
+    // [128, 256) is split into buckets two wide, [256, 512) into buckets four wide
+    assertMedianBucketEdge(127, 127);
+    assertMedianBucketEdge(128, 129);
+    assertMedianBucketEdge(129, 129);
+    assertMedianBucketEdge(130, 131);
+    assertMedianBucketEdge(255, 255);
+    assertMedianBucketEdge(256, 259);
+    assertMedianBucketEdge(259, 259);
+    assertMedianBucketEdge(260, 263);
+    assertMedianBucketEdge(1_000_000, 1_007_615);
+  }
+
+  @Test(description = "Verify p50 and p99 of a uniform distribution")
+  @Story("Percentiles")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Percentiles must be at or just above the true value, within the bucket precision")
+  public void testPercentilesOfKnownDistribution() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int micros = 1; micros <= 1000; micros++) {
+      histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+
+    assertWithinPrecision(histogram.getValueAtPercentile(50), 500_000);
+    assertWithinPrecision(histogram.getValueAtPercentile(99), 990_000);
+    Assert.assertEquals(histogram.getValueAtPercentile(100), 1_000_000L, "p100 is the maximum");
+    Assert.assertEquals(histogram.getMeanNanos(), 500_500d, 0.001);
+  }
+
+  @Test(description = "Verify out-of-range samples are clamped")
+  @Story("Percentiles")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Negative samples count as 0 and samples above one hour as the trackable maximum")
+  public void testOutOfRangeValuesAreClamped() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(-5);
+    histogram.recordNanos(TimeUnit.HOURS.toNanos(2));
+
+    Assert.assertEquals(histogram.getMinNanos(), 0L);
+    Assert.assertEquals(histogram.getMaxNanos(), LatencyHistogram.MAX_TRACKABLE_NANOS);
+    Assert.assertEquals(histogram.getValueAtPercentile(50), 0L);
+    Assert.assertEquals(
+        histogram.getValueAtPercentile(100), LatencyHistogram.MAX_TRACKABLE_NANOS);
+  }
+
+  @Test(description = "Verify merge adds the samples of another histogram")
+  @Story("Percentiles")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Per-thread histograms merged into one must report the combined distribution")
+  public void testMergeCombinesSamples() {
+    LatencyHistogram fast = new LatencyHistogram();
+    LatencyHistogram slow = new LatencyHistogram();
+    for (int i = 0; i < 99; i++) {
+      fast.recordNanos(100);
+    }
+    slow.recordNanos(OUTLIER_NANOS);
+
+    fast.merge(slow);
+
+    Assert.assertEquals(fast.getCount(), 100L);
+    Assert.assertEquals(fast.getValueAtPercentile(99), 100L);
+    Assert.assertEquals(fast.getValueAtPercentile(99.9), OUTLIER_NANOS);
+  }
+
+  @Test(description = "Verify an empty histogram and invalid percentiles")
+  @Story("Percentiles")
+  @Severity(SeverityLevel.MINOR)
+  @Description("An empty histogram reports zeros; percentiles outside (0, 100] are rejected")
+  public void testEmptyHistogramAndInvalidPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    Assert.assertEquals(histogram.getValueAtPercentile(99), 0L);
+    Assert.assertEquals(histogram.getMinNanos(), 0L);
+    Assert.assertEquals(histogram.getMeanNanos(), 0d);
+    Assert.assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+  }
+
+  /** The median of {value, outlier} is the upper edge of the bucket that holds the value */
+  private static void assertMedianBucketEdge(long nanos, long expectedEdge) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(nanos);
+    histogram.recordNanos(OUTLIER_NANOS);
+    Assert.assertEquals(
+        histogram.getValueAtPercentile(50), expectedEdge, "Upper bucket edge of " + nanos + "ns");
+  }
+
+  /** Reported values err on the pessimistic side by less than one sub-bucket (1/64) */
+  private static void assertWithinPrecision(long actual, long expected) {
+    Assert.assertTrue(
+        actual >= expected && actual <= expected + expected / 64,
+        "Expected " + expected + "ns within bucket precision, actual: " + actual + "ns");
+  }
+}
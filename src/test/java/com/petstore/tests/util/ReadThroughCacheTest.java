@@ -0,0 +1,189 @@
+package com.petstore.tests.util;
+
+import com.petstore.metrics.CacheMetrics;
+import com.petstore.util.ReadThroughCache;
+import io.qameta.allure.*;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Read-Through Cache")
+public class ReadThroughCacheTest {
+
+  private static final Duration TTL = Duration.ofMinutes(1);
+
+  @Test(description = "Verify concurrent lookups of one key share a single load")
+  @Story("Single-Flight Loading")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Callers arriving while a load is in flight must wait for it instead of loading")
+  public void testConcurrentLookupsShareOneLoad() throws Exception {
+    int readers = 4;
+    CacheMetrics metrics = new CacheMetrics("coalescing");
+    ReadThroughCache<String, Object> cache = new ReadThroughCache<>(TTL, 1, metrics);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(readers);
+    try {
+      List<Future<Object>> lookups = new ArrayList<>();
+      for (int i = 0; i < readers; i++) {
+        lookups.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return cache.get(
+                      "key",
+                      () -> {
+                        loads.incrementAndGet();
+                        // Hold the load until every other reader has joined it
+                        awaitCoalesced(metrics, readers - 1);
+                        return new Object();
+                      },
+                      value -> true);
+                }));
+      }
+      start.countDown();
+      Object first = lookups.get(0).get(10, TimeUnit.SECONDS);
+      for (Future<Object> lookup : lookups) {
+        Assert.assertSame(lookup.get(10, TimeUnit.SECONDS), first);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertEquals(loads.get(), 1, "Concurrent readers should share one load");
+    Assert.assertEquals(metrics.getMisses(), 1L);
+    Assert.assertEquals(metrics.getCoalesced(), readers - 1L);
+  }
+
+  @Test(description = "Verify a failed load reaches every waiter and is not cached")
+  @Story("Single-Flight Loading")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Undeclared socket timeouts must be rethrown to waiters as is and retried later")
+  public void testFailedLoadIsSharedAndNotCached() throws Exception {
+    CacheMetrics metrics = new CacheMetrics("failures");
+    ReadThroughCache<String, String> cache = new ReadThroughCache<>(TTL, 1, metrics);
+    CountDownLatch joined = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> waiter =
+          executor.submit(
+              () -> {
+                joined.await();
+                return cache.get("key", () -> "unexpected second load", value -> true);
+              });
+      Assert.assertThrows(
+          SocketTimeoutException.class,
+          () ->
+              cache.get(
+                  "key",
+                  () -> {
+                    joined.countDown();
+                    awaitCoalesced(metrics, 1);
+                    return timeOut();
+                  },
+                  value -> true));
+
+      ExecutionException e =
+          Assert.expectThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+      Assert.assertTrue(e.getCause() instanceof SocketTimeoutException, String.valueOf(e));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertEquals(cache.size(), 0, "Failures must not be cached");
+    Assert.assertEquals(cache.get("key", () -> "reloaded", value -> true), "reloaded");
+  }
+
+  @Test(description = "Verify cached values are served until they expire or are rejected")
+  @Story("Expiry")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Values are reused within the TTL; non-cacheable and expired values are reloaded")
+  public void testValuesServedWithinTtlOnly() throws Exception {
+    CacheMetrics metrics = new CacheMetrics("expiry");
+    ReadThroughCache<String, String> cache = new ReadThroughCache<>(TTL, 2, metrics);
+    Assert.assertEquals(cache.get("cached", () -> "first", value -> true), "first");
+    Assert.assertEquals(cache.get("cached", () -> "second", value -> true), "first");
+    Assert.assertEquals(cache.get("rejected", () -> "first", value -> false), "first");
+    Assert.assertEquals(cache.get("rejected", () -> "second", value -> false), "second");
+    Assert.assertEquals(metrics.getHits(), 1L);
+    Assert.assertEquals(metrics.getMisses(), 3L);
+
+    ReadThroughCache<String, String> shortLived =
+        new ReadThroughCache<>(Duration.ofMillis(1), 1, new CacheMetrics("short-lived"));
+    shortLived.get("key", () -> "first", value -> true);
+    TimeUnit.MILLISECONDS.sleep(10);
+    Assert.assertEquals(shortLived.get("key", () -> "second", value -> true), "second");
+  }
+
+  @Test(description = "Verify the oldest entry is evicted beyond the entry limit")
+  @Story("Eviction")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Storing more keys than maxEntries must evict the oldest and count the eviction")
+  public void testOldestEntryEvicted() {
+    CacheMetrics metrics = new CacheMetrics("eviction");
+    ReadThroughCache<String, String> cache = new ReadThroughCache<>(TTL, 2, metrics);
+    cache.get("a", () -> "a1", value -> true);
+    cache.get("b", () -> "b1", value -> true);
+    cache.get("c", () -> "c1", value -> true);
+
+    Assert.assertEquals(cache.size(), 2);
+    Assert.assertEquals(metrics.getEvictions(), 1L);
+    Assert.assertEquals(cache.get("a", () -> "a2", value -> true), "a2", "a should be evicted");
+    Assert.assertEquals(cache.get("c", () -> "c2", value -> true), "c1", "c should be kept");
+  }
+
+  @Test(description = "Verify an invalidation during a load keeps its result out of the cache")
+  @Story("Invalidation")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A read that started before a write must not put its stale value back")
+  public void testInvalidationDuringLoadDiscardsResult() {
+    ReadThroughCache<String, String> cache =
+        new ReadThroughCache<>(TTL, 1, new CacheMetrics("invalidation"));
+
+    String stale =
+        cache.get(
+            "key",
+            () -> {
+              cache.invalidate("key");
+              return "before write";
+            },
+            value -> true);
+
+    Assert.assertEquals(stale, "before write", "The caller still gets its own result");
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertEquals(cache.get("key", () -> "after write", value -> true), "after write");
+
+    cache.invalidateAll();
+    Assert.assertEquals(cache.get("key", () -> "reloaded", value -> true), "reloaded");
+  }
+
+  /** Wait until the given number of lookups joined the load in flight */
+  @SneakyThrows
+  private static void awaitCoalesced(CacheMetrics metrics, long coalesced) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (metrics.getCoalesced() < coalesced) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Only " + metrics.getCoalesced() + " lookups joined the load");
+      }
+      Thread.sleep(1);
+    }
+  }
+
+  /** Throws the checked exception without declaring it, as REST Assured does */
+  @SneakyThrows
+  private static String timeOut() {
+    throw new SocketTimeoutException("Read timed out");
+  }
+}
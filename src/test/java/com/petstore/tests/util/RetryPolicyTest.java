@@ -0,0 +1,250 @@
+package com.petstore.tests.util;
+
+import com.petstore.client.StoreApiException;
+import com.petstore.client.StoreEndpoint;
+import com.petstore.metrics.RetryMetrics;
+import com.petstore.util.RetryBudget;
+import com.petstore.util.RetryPolicy;
+import io.qameta.allure.*;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Retry Policy")
+public class RetryPolicyTest {
+
+  private static final long BASE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long MAX_NANOS = TimeUnit.MILLISECONDS.toNanos(1000);
+
+  @Test(description = "Verify backoff grows exponentially up to the maximum delay")
+  @Story("Backoff")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Without jitter the delay doubles per attempt and is capped at maxDelay")
+  public void testBackoffWithoutJitterIsCappedExponential() {
+    RetryPolicy policy = backoffPolicy(false);
+
+    Assert.assertEquals(policy.backoffNanos(1), BASE_NANOS);
+    Assert.assertEquals(policy.backoffNanos(2), 2 * BASE_NANOS);
+    Assert.assertEquals(policy.backoffNanos(4), 8 * BASE_NANOS);
+    Assert.assertEquals(policy.backoffNanos(5), MAX_NANOS);
+    Assert.assertEquals(policy.backoffNanos(30), MAX_NANOS);
+  }
+
+  @Test(description = "Verify full jitter stays within zero and the capped exponential delay")
+  @Story("Backoff")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Jittered delays must never exceed the window and must spread across it")
+  public void testFullJitterStaysWithinWindow() {
+    RetryPolicy policy = backoffPolicy(true);
+
+    for (int attempt = 1; attempt <= 6; attempt++) {
+      long window = Math.min(MAX_NANOS, BASE_NANOS << (attempt - 1));
+      long min = Long.MAX_VALUE;
+      long max = 0;
+      for (int i = 0; i < 1000; i++) {
+        long delay = policy.backoffNanos(attempt);
+        Assert.assertTrue(
+            delay >= 0 && delay <= window,
+            "Attempt " + attempt + ": delay " + delay + "ns outside [0, " + window + "]");
+        min = Math.min(min, delay);
+        max = Math.max(max, delay);
+      }
+      // 1000 uniform draws all landing in one half of the window is practically impossible
+      Assert.assertTrue(min < window / 2 && max > window / 2, "Delays should spread the window");
+    }
+  }
+
+  @Test(description = "Verify which failures are classified as transient")
+  @Story("Failure Classification")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("429/5xx statuses and I/O errors anywhere in the cause chain are retryable")
+  public void testRetryableClassification() {
+    RetryPolicy policy = RetryPolicy.builder().build();
+
+    Assert.assertTrue(policy.isRetryable(statusError(503)));
+    Assert.assertTrue(policy.isRetryable(statusError(429)));
+    Assert.assertFalse(policy.isRetryable(statusError(404)));
+    Assert.assertFalse(policy.isRetryable(statusError(501)));
+    Assert.assertTrue(policy.isRetryable(new SocketTimeoutException("Read timed out")));
+    Assert.assertTrue(
+        policy.isRetryable(new RuntimeException(new SocketTimeoutException("Read timed out"))));
+    Assert.assertFalse(policy.isRetryable(new IllegalStateException("bug")));
+    // The status decides even when a retryable type is further down the chain
+    StoreApiException notFound = statusError(404);
+    notFound.initCause(new SocketTimeoutException("Read timed out"));
+    Assert.assertFalse(policy.isRetryable(notFound));
+  }
+
+  @Test(description = "Verify retryable statuses and exception types can be customised")
+  @Story("Failure Classification")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("retryOnStatus replaces the default codes, retryOn adds exception types")
+  public void testCustomClassification() {
+    RetryPolicy policy =
+        RetryPolicy.builder().retryOnStatus(404).retryOn(IllegalStateException.class).build();
+
+    Assert.assertTrue(policy.isRetryable(statusError(404)));
+    Assert.assertFalse(policy.isRetryable(statusError(503)));
+    Assert.assertTrue(policy.isRetryable(new IllegalStateException("flaky")));
+  }
+
+  @Test(description = "Verify transient failures are retried and every attempt is recorded")
+  @Story("Execution")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A call failing twice with 503 succeeds on the third attempt")
+  public void testTransientFailuresAreRetried() {
+    RetryMetrics metrics = new RetryMetrics();
+    AtomicInteger calls = new AtomicInteger();
+
+    String result =
+        fastPolicy(3, RetryBudget.unlimited())
+            .execute(
+                () -> {
+                  if (calls.incrementAndGet() < 3) {
+                    throw statusError(503);
+                  }
+                  return "ok";
+                },
+                metrics);
+
+    Assert.assertEquals(result, "ok");
+    Assert.assertEquals(calls.get(), 3);
+    Assert.assertEquals(metrics.getAttempts(1), 1L);
+    Assert.assertEquals(metrics.getAttempts(3), 1L);
+    Assert.assertEquals(metrics.getFailures(), 2L);
+    Assert.assertEquals(metrics.getRetries(), 2L);
+    Assert.assertEquals(metrics.getSuccesses(), 1L);
+  }
+
+  @Test(description = "Verify non-retryable failures and exhausted attempts are rethrown")
+  @Story("Execution")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A 404 fails on the first attempt; a persistent 503 fails after maxAttempts")
+  public void testPolicyGivesUp() {
+    RetryPolicy policy = fastPolicy(3, RetryBudget.unlimited());
+    RetryMetrics metrics = new RetryMetrics();
+    AtomicInteger calls = new AtomicInteger();
+
+    Assert.assertThrows(
+        StoreApiException.class,
+        () -> policy.execute(() -> fail(calls, statusError(404)), metrics));
+    Assert.assertEquals(calls.get(), 1);
+    Assert.assertEquals(metrics.getNonRetryableFailures(), 1L);
+
+    calls.set(0);
+    Assert.assertThrows(
+        StoreApiException.class,
+        () -> policy.execute(() -> fail(calls, statusError(503)), metrics));
+    Assert.assertEquals(calls.get(), 3);
+    Assert.assertEquals(metrics.getRetries(), 2L);
+  }
+
+  @Test(description = "Verify undeclared checked exceptions are retried and rethrown unchecked")
+  @Story("Execution")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("REST Assured rethrows socket timeouts as undeclared checked exceptions")
+  public void testUndeclaredTimeoutIsRetriedAndWrapped() {
+    AtomicInteger calls = new AtomicInteger();
+
+    UncheckedIOException e =
+        Assert.expectThrows(
+            UncheckedIOException.class,
+            () -> fastPolicy(2, RetryBudget.unlimited()).execute(() -> timeOut(calls)));
+
+    Assert.assertTrue(e.getCause() instanceof SocketTimeoutException);
+    Assert.assertEquals(calls.get(), 2);
+  }
+
+  @Test(description = "Verify an empty retry budget stops retries")
+  @Story("Retry Budget")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Once the initial tokens are spent, failures are rethrown without retrying")
+  public void testExhaustedBudgetStopsRetries() {
+    RetryPolicy policy = fastPolicy(5, new RetryBudget(0, 1, 1));
+    RetryMetrics metrics = new RetryMetrics();
+    AtomicInteger calls = new AtomicInteger();
+
+    Assert.assertThrows(
+        StoreApiException.class,
+        () -> policy.execute(() -> fail(calls, statusError(503)), metrics));
+
+    Assert.assertEquals(calls.get(), 2, "One retry token allows exactly one retry");
+    Assert.assertEquals(metrics.getRetries(), 1L);
+    Assert.assertEquals(metrics.getBudgetExhausted(), 1L);
+    Assert.assertEquals(policy.getBudget().getAvailableRetries(), 0L);
+  }
+
+  @Test(description = "Verify the retry budget refills with traffic up to its maximum")
+  @Story("Retry Budget")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Each first attempt deposits ratio tokens; the balance never exceeds maxTokens")
+  public void testBudgetRefillsWithTraffic() {
+    RetryBudget budget = new RetryBudget(0.1, 2, 3);
+
+    Assert.assertTrue(budget.tryAcquireRetry());
+    Assert.assertTrue(budget.tryAcquireRetry());
+    Assert.assertFalse(budget.tryAcquireRetry(), "Initial tokens should be spent");
+
+    for (int i = 0; i < 9; i++) {
+      budget.onRequest();
+    }
+    Assert.assertFalse(budget.tryAcquireRetry(), "Nine requests earn 0.9 tokens");
+    budget.onRequest();
+    Assert.assertTrue(budget.tryAcquireRetry(), "Ten requests earn one retry");
+
+    for (int i = 0; i < 1000; i++) {
+      budget.onRequest();
+    }
+    Assert.assertEquals(budget.getAvailableRetries(), 3L, "Balance is capped at maxTokens");
+  }
+
+  @Test(description = "Verify invalid retry budgets are rejected")
+  @Story("Retry Budget")
+  @Severity(SeverityLevel.MINOR)
+  @Description("Negative ratios or tokens and a maximum below the initial tokens are invalid")
+  public void testInvalidBudgetIsRejected() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, -1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 5, 4));
+  }
+
+  private static RetryPolicy backoffPolicy(boolean jitter) {
+    return RetryPolicy.builder()
+        .baseDelay(Duration.ofNanos(BASE_NANOS))
+        .maxDelay(Duration.ofNanos(MAX_NANOS))
+        .jitter(jitter)
+        .build();
+  }
+
+  /** Policy without backoff delays, so tests do not sleep */
+  private static RetryPolicy fastPolicy(int maxAttempts, RetryBudget budget) {
+    return RetryPolicy.builder()
+        .maxAttempts(maxAttempts)
+        .baseDelay(Duration.ZERO)
+        .maxDelay(Duration.ZERO)
+        .budget(budget)
+        .build();
+  }
+
+  private static StoreApiException statusError(int status) {
+    return new StoreApiException(StoreEndpoint.PLACE_ORDER, status, null);
+  }
+
+  private static String fail(AtomicInteger calls, RuntimeException failure) {
+    calls.incrementAndGet();
+    throw failure;
+  }
+
+  /** Throws the checked exception without declaring it, as REST Assured does */
+  @SneakyThrows
+  private static String timeOut(AtomicInteger calls) {
+    calls.incrementAndGet();
+    throw new SocketTimeoutException("Read timed out");
+  }
+}
@@ -0,0 +1,149 @@
+package com.petstore.tests.util;
+
+import com.petstore.framework.AsyncAttachmentWriter;
+import com.petstore.framework.SampledAllureFilter;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.function.Supplier;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Reporting")
+@Feature("Sampled Allure Filter")
+public class SampledAllureFilterTest {
+
+  private final AsyncAttachmentWriter writer = new AsyncAttachmentWriter(Allure.getLifecycle(), 16);
+
+  @Test(description = "Verify failed responses are attached whatever the sample rate")
+  @Story("Sampling")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("4xx and 5xx responses attach the request and the response, successes nothing")
+  public void testErrorResponsesAreAlwaysAttached() {
+    SampledAllureFilter filter = new SampledAllureFilter(0, writer);
+
+    Assert.assertEquals(send(filter, 404).getStatusCode(), 404);
+    Assert.assertEquals(filter.getAttachedCount(), 2, "Request and response of the 404");
+    send(filter, 500);
+    Assert.assertEquals(filter.getAttachedCount(), 4, "Request and response of the 500");
+
+    for (int i = 0; i < 100; i++) {
+      send(filter, 200);
+    }
+    Assert.assertEquals(filter.getAttachedCount(), 4, "Sample rate 0 attaches no successful call");
+    Assert.assertEquals(filter.getCallCount(), 102);
+  }
+
+  @Test(description = "Verify a call that throws attaches its request and rethrows")
+  @Story("Sampling")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Without a response only the request is attached; the exception is not swallowed")
+  public void testThrownExceptionsAreAttached() {
+    SampledAllureFilter filter = new SampledAllureFilter(0, writer);
+    UncheckedIOException timeout =
+        new UncheckedIOException(new SocketTimeoutException("Read timed out"));
+
+    UncheckedIOException thrown =
+        Assert.expectThrows(
+            UncheckedIOException.class,
+            () ->
+                send(
+                    filter,
+                    () -> {
+                      throw timeout;
+                    }));
+
+    Assert.assertSame(thrown, timeout);
+    Assert.assertEquals(filter.getAttachedCount(), 1, "The request only");
+  }
+
+  @Test(description = "Verify sample rate 1 attaches every successful call")
+  @Story("Sampling")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("The sample rate is the fraction of successful calls that are attached")
+  public void testFullSampleRateAttachesEverything() {
+    SampledAllureFilter filter = new SampledAllureFilter(1, writer);
+
+    for (int i = 0; i < 10; i++) {
+      send(filter, 200);
+    }
+
+    Assert.assertEquals(filter.getAttachedCount(), 20);
+  }
+
+  @Test(description = "Verify sample rates outside [0, 1] are rejected")
+  @Story("Configuration")
+  @Severity(SeverityLevel.MINOR)
+  @Description("A sample rate is a fraction of calls")
+  public void testInvalidSampleRateIsRejected() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SampledAllureFilter(-1, writer));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SampledAllureFilter(1.5, writer));
+  }
+
+  private static Response send(SampledAllureFilter filter, int statusCode) {
+    Response response =
+        new ResponseBuilder()
+            .setStatusCode(statusCode)
+            .setStatusLine("HTTP/1.1 " + statusCode)
+            .setContentType("application/json")
+            .setBody("{}")
+            .build();
+    return send(filter, () -> response);
+  }
+
+  /**
+   * GET through REST Assured, so the filter sees a complete request specification. A filter ahead
+   * of it hands it a chain that answers from {@code backend}, so nothing goes over the network.
+   */
+  private static Response send(SampledAllureFilter filter, Supplier<Response> backend) {
+    return RestAssured.given()
+        .noFilters()
+        .baseUri("http://localhost:8089")
+        .filter(
+            (requestSpec, responseSpec, ctx) ->
+                filter.filter(requestSpec, responseSpec, context(backend)))
+        .get("/v2/store/inventory");
+  }
+
+  /** The rest of the chain behind the filter, answering from {@code next} */
+  private static FilterContext context(Supplier<Response> next) {
+    return new FilterContext() {
+      @Override
+      public Response next(
+          FilterableRequestSpecification requestSpec,
+          FilterableResponseSpecification responseSpec) {
+        return next.get();
+      }
+
+      @Override
+      public Response send(RequestSender requestSender) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void setValue(String name, Object value) {}
+
+      @Override
+      public <T> T getValue(String name) {
+        return null;
+      }
+
+      @Override
+      public boolean hasValue(String name) {
+        return false;
+      }
+
+      @Override
+      public boolean hasValue(String name, Object value) {
+        return false;
+      }
+    };
+  }
+}
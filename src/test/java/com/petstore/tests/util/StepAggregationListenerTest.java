@@ -0,0 +1,89 @@
+package com.petstore.tests.util;
+
+import com.petstore.framework.StepAggregationListener;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Reporting")
+@Feature("Step Aggregation")
+public class StepAggregationListenerTest {
+
+  @Test(description = "Verify a run of steps differing only by numbers collapses into one step")
+  @Story("Aggregation")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("The first step is renamed (xN), keeps every attachment and the last stop time")
+  public void testRepeatedStepsAreCollapsed() {
+    List<StepResult> steps =
+        steps(
+            step("response time: 12ms", Status.PASSED, 100, 110),
+            step("response time: 340ms", Status.PASSED, 120, 460),
+            step("response time: 7.5ms", Status.PASSED, 470, 478));
+
+    List<StepResult> aggregated = StepAggregationListener.aggregate(steps);
+
+    Assert.assertEquals(aggregated.size(), 1);
+    StepResult step = aggregated.get(0);
+    Assert.assertEquals(step.getName(), "response time: 12ms (x3)");
+    Assert.assertEquals(step.getStart(), Long.valueOf(100));
+    Assert.assertEquals(step.getStop(), Long.valueOf(478), "The run ends with its last step");
+    Assert.assertEquals(
+        step.getAttachments().stream().map(Attachment::getName).toArray(),
+        new String[] {"response time: 12ms", "response time: 340ms", "response time: 7.5ms"});
+  }
+
+  @Test(description = "Verify steps with a different status or name are not merged")
+  @Story("Aggregation")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A failed step breaks a run of passed ones, and so does a step with another name")
+  public void testDifferentStepsAreKept() {
+    List<StepResult> steps =
+        steps(
+            step("Get order 1", Status.PASSED, 0, 10),
+            step("Get order 2", Status.FAILED, 10, 20),
+            step("Get order 3", Status.PASSED, 20, 30),
+            step("Delete order 3", Status.PASSED, 30, 40));
+
+    List<StepResult> aggregated = StepAggregationListener.aggregate(steps);
+
+    Assert.assertEquals(
+        aggregated.stream().map(StepResult::getName).toArray(),
+        new String[] {"Get order 1", "Get order 2", "Get order 3", "Delete order 3"});
+    Assert.assertEquals(aggregated.get(0).getAttachments().size(), 1);
+  }
+
+  @Test(description = "Verify repeated sub-steps are collapsed inside their parent step")
+  @Story("Aggregation")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Aggregation applies at every level, also below a single top-level step")
+  public void testNestedStepsAreCollapsed() {
+    StepResult parent = step("Sample inventory latency", Status.PASSED, 0, 100);
+    parent.setSteps(
+        steps(
+            step("Measure 1", Status.PASSED, 0, 50),
+            step("Measure 2", Status.PASSED, 50, 100)));
+
+    List<StepResult> aggregated = StepAggregationListener.aggregate(steps(parent));
+
+    List<StepResult> children = aggregated.get(0).getSteps();
+    Assert.assertEquals(children.size(), 1);
+    Assert.assertEquals(children.get(0).getName(), "Measure 1 (x2)");
+  }
+
+  /** A step with one attachment named after it */
+  private static StepResult step(String name, Status status, long start, long stop) {
+    StepResult step =
+        new StepResult().setName(name).setStatus(status).setStart(start).setStop(stop);
+    step.getAttachments().add(new Attachment().setName(name));
+    return step;
+  }
+
+  private static List<StepResult> steps(StepResult... steps) {
+    return new ArrayList<>(List.of(steps));
+  }
+}
@@ -0,0 +1,93 @@
+package com.petstore.tests.util;
+
+import com.petstore.client.ObjectMapperProvider;
+import com.petstore.client.StreamingResponseDecoder;
+import com.petstore.dto.Order;
+import com.petstore.dto.OrderStatus;
+import io.qameta.allure.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Store API")
+@Feature("Response Decoding")
+public class StreamingResponseDecoderTest {
+
+  private static final OffsetDateTime SHIP_DATE =
+      OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+  @Test(description = "Verify a Petstore order body decodes like the databind path")
+  @Story("Decoding")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("The Petstore's +0000 offset is parsed; unknown fields and nulls are skipped")
+  public void testDecodePetstoreOrder() {
+    String json =
+        "{\"id\":7,\"petId\":1,\"quantity\":2,\"shipDate\":\"2025-01-01T10:00:00.000+0000\","
+            + "\"status\":\"placed\",\"complete\":true,\"note\":\"x\",\"tags\":[{\"id\":1}],"
+            + "\"category\":null}";
+
+    Order order = decode(json);
+
+    Assert.assertEquals(
+        order,
+        Order.builder()
+            .id(7L)
+            .petId(1L)
+            .quantity(2)
+            .shipDate(SHIP_DATE)
+            .status(OrderStatus.PLACED)
+            .complete(true)
+            .build());
+    Assert.assertEquals(order, readWithDatabind(json));
+  }
+
+  @Test(description = "Verify an ISO offset ship date is normalised to UTC like the databind path")
+  @Story("Decoding")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A +HH:MM offset is parsed and the ship date moved to UTC, as Jackson does")
+  public void testDecodeOrderWithIsoOffset() {
+    String json =
+        "{\"id\":8,\"shipDate\":\"2025-01-01T12:00:00+02:00\",\"status\":\"delivered\","
+            + "\"complete\":false}";
+
+    Order order = decode(json);
+
+    Assert.assertEquals(order.getShipDate(), SHIP_DATE);
+    Assert.assertEquals(order.getShipDate().getOffset(), ZoneOffset.UTC);
+    Assert.assertNull(order.getPetId(), "Absent fields stay null");
+    Assert.assertEquals(order, readWithDatabind(json));
+  }
+
+  @Test(description = "Verify an unknown order status is rejected like the databind path")
+  @Story("Decoding")
+  @Severity(SeverityLevel.NORMAL)
+  @Description("Neither decoder maps a status outside OrderStatus; both fail with an IOException")
+  public void testUnknownStatusIsRejected() {
+    String json = "{\"id\":9,\"status\":\"shipped\"}";
+
+    Assert.assertThrows(
+        IOException.class, () -> StreamingResponseDecoder.decodeOrder(stream(json)));
+    Assert.assertThrows(
+        IOException.class,
+        () -> ObjectMapperProvider.getInstance().getOrderReader().readValue(json));
+  }
+
+  @SneakyThrows
+  private static Order decode(String json) {
+    return StreamingResponseDecoder.decodeOrder(stream(json));
+  }
+
+  @SneakyThrows
+  private static Order readWithDatabind(String json) {
+    return ObjectMapperProvider.getInstance().getOrderReader().readValue(json);
+  }
+
+  private static ByteArrayInputStream stream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
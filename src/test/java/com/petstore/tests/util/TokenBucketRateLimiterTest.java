@@ -0,0 +1,63 @@
+package com.petstore.tests.util;
+
+import com.petstore.util.TokenBucketRateLimiter;
+import io.qameta.allure.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Client Resilience")
+@Feature("Rate Limiter")
+public class TokenBucketRateLimiterTest {
+
+  private static final long PERMIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test(description = "Verify a burst goes out at once and later callers queue up in debt")
+  @Story("Reservation")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("Each caller past the burst reserves the next token and waits one permit longer")
+  public void testCallersPastTheBurstReserveInArrivalOrder() {
+    AtomicLong clock = new AtomicLong();
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+
+    Assert.assertEquals(limiter.acquire(), 0L, "A token is available without sleeping");
+    Assert.assertEquals(limiter.reserve(), 0L);
+    Assert.assertEquals(limiter.reserve(), 0L);
+    Assert.assertEquals(limiter.reserve(), PERMIT_NANOS);
+    Assert.assertEquals(limiter.reserve(), 2 * PERMIT_NANOS);
+    Assert.assertEquals(limiter.getAvailableTokens(), -2d);
+  }
+
+  @Test(description = "Verify refilled tokens pay off debt before they serve new callers")
+  @Story("Reservation")
+  @Severity(SeverityLevel.CRITICAL)
+  @Description("A newcomer waits behind reserved tokens; an idle bucket refills up to the burst")
+  public void testRefillPaysOffDebtFirst() {
+    AtomicLong clock = new AtomicLong();
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+    for (int i = 0; i < 5; i++) {
+      limiter.reserve();
+    }
+
+    clock.addAndGet(PERMIT_NANOS * 3 / 2);
+    Assert.assertEquals(limiter.getAvailableTokens(), -0.5d);
+    Assert.assertEquals(limiter.reserve(), PERMIT_NANOS * 3 / 2, "Behind half a reserved token");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    Assert.assertEquals(limiter.getAvailableTokens(), 3d, "An idle bucket holds one burst");
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(limiter.reserve(), 0L);
+    }
+    Assert.assertEquals(limiter.reserve(), PERMIT_NANOS);
+  }
+
+  @Test(description = "Verify invalid rate limits are rejected")
+  @Story("Configuration")
+  @Severity(SeverityLevel.MINOR)
+  @Description("The rate must be positive and the burst at least one token")
+  public void testInvalidSettingsAreRejected() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(10, 0));
+  }
+}